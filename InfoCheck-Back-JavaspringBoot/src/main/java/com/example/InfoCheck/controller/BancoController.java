@@ -1,14 +1,20 @@
 package com.example.InfoCheck.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.example.InfoCheck.dtos.BancoDTO;
+import com.example.InfoCheck.dtos.ContatoOficialResumoDTO;
+import com.example.InfoCheck.dtos.ContatoParecidoDTO;
 import com.example.InfoCheck.entities.Banco;
 import com.example.InfoCheck.entities.ContatoOficial;
 import com.example.InfoCheck.service.BancoService;
 import com.example.InfoCheck.service.ContatoOficialService;
+import com.example.InfoCheck.service.IndiceContatosOficiaisService;
+import com.example.InfoCheck.service.InstantaneosCatalogoService;
+import com.example.InfoCheck.util.ContatoNormalizador;
 
 import java.util.List;
 import java.util.Map;
@@ -24,10 +30,19 @@ public class BancoController {
     @Autowired
     private ContatoOficialService contatoService;
 
-    // Listar todos os bancos
+    @Autowired
+    private IndiceContatosOficiaisService indiceOficiais;
+
+    @Autowired
+    private InstantaneosCatalogoService instantaneos;
+
+    // Listar todos os bancos (JSON pronto; 304 se o ETag enviado ainda vale)
     @GetMapping
-    public List<Banco> listar() {
-        return bancoService.listarTodos();
+    public ResponseEntity<byte[]> listar(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String seNenhumCasar,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String aceitaCodificacao) {
+        return RespostaCatalogo.responder(instantaneos.bancos(), instantaneos.cacheControl(),
+                seNenhumCasar, aceitaCodificacao);
     }
 
     // Criar banco via DTO
@@ -59,16 +74,22 @@ public class BancoController {
         return ResponseEntity.ok(banco);
     }
 
-    // Autocomplete de bancos
+    // Autocomplete de bancos, mais relevantes primeiro ("itau" também acha "Itaú")
     @GetMapping("/autocomplete")
-    public List<Banco> autocomplete(@RequestParam String termo) {
-        return bancoService.buscarPorNomeContendo(termo);
+    public List<Banco> autocomplete(
+            @RequestParam String termo,
+            @RequestParam(defaultValue = "10") int limite) {
+        return bancoService.autocompletar(termo, limite);
     }
 
-    // Listar contatos de um banco
+    // Listar contatos de um banco (JSON pronto; 304 se o ETag enviado ainda vale)
     @GetMapping("/{id}/contatos")
-    public List<ContatoOficial> listarContatos(@PathVariable Integer id) {
-        return contatoService.listarPorBanco(id);
+    public ResponseEntity<byte[]> listarContatos(
+            @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String seNenhumCasar,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String aceitaCodificacao) {
+        return RespostaCatalogo.responder(instantaneos.contatosDoBanco(id), instantaneos.cacheControl(),
+                seNenhumCasar, aceitaCodificacao);
     }
 
     // Criar contato de um banco
@@ -76,4 +97,30 @@ public class BancoController {
     public ContatoOficial criarContato(@PathVariable Integer id, @RequestBody ContatoOficial contato) {
         return contatoService.salvar(id, contato);
     }
+
+    // Excluir contato de um banco (clientes sincronizados recebem a exclusão em /api/catalogo/alteracoes)
+    @DeleteMapping("/{id}/contatos/{idContato}")
+    public ResponseEntity<Void> removerContato(@PathVariable Integer id, @PathVariable Integer idContato) {
+        if (!contatoService.remover(id, idContato)) return ResponseEntity.notFound().build();
+        return ResponseEntity.noContent().build();
+    }
+
+    // Verificar se um contato é oficial - bancos e tipos de contato onde ele está cadastrado
+    @GetMapping("/contatos/oficial")
+    public List<ContatoOficialResumoDTO> buscarContatoOficial(@RequestParam String contato) {
+        return indiceOficiais.buscarOficiais(ContatoNormalizador.normalizar(contato));
+    }
+
+    // Contatos oficiais parecidos com o informado (até "distancia" dígitos/caracteres diferentes)
+    @GetMapping("/contatos/parecidos")
+    public ResponseEntity<?> buscarContatosParecidos(
+            @RequestParam String contato,
+            @RequestParam(defaultValue = "2") int distancia) {
+        try {
+            List<ContatoParecidoDTO> parecidos = indiceOficiais.buscarParecidos(contato, distancia);
+            return ResponseEntity.ok(parecidos);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
 }
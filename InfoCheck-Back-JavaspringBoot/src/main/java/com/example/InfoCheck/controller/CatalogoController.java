@@ -0,0 +1,42 @@
+package com.example.InfoCheck.controller;
+
+import org.springframework.web.bind.annotation.*;
+import com.example.InfoCheck.dtos.AlteracoesCatalogoDTO;
+import com.example.InfoCheck.service.AlteracoesCatalogoService;
+import com.example.InfoCheck.service.CacheReferenciasService;
+
+import java.util.Map;
+
+// Dados de apoio dos catálogos (bancos, tipos de golpe e contatos oficiais)
+@RestController
+@RequestMapping("/api/catalogo")
+@CrossOrigin(origins = "*")
+public class CatalogoController {
+
+    private final CacheReferenciasService cache;
+    private final AlteracoesCatalogoService alteracoes;
+
+    public CatalogoController(CacheReferenciasService cache, AlteracoesCatalogoService alteracoes) {
+        this.cache = cache;
+        this.alteracoes = alteracoes;
+    }
+
+    // Sincronização: o que mudou depois da versão "desde" (sem "desde", os catálogos inteiros)
+    @GetMapping("/alteracoes")
+    public AlteracoesCatalogoDTO alteracoes(@RequestParam(required = false) Long desde) {
+        return alteracoes.alteracoesDesde(desde);
+    }
+
+    // Acertos, faltas e remoções do cache de referências
+    @GetMapping("/cache")
+    public Map<String, Object> estatisticasCache() {
+        return cache.estatisticas();
+    }
+
+    // Descarta o cache (ex.: depois de alterar bancos ou tipos direto no banco de dados)
+    @PostMapping("/cache/limpar")
+    public Map<String, Object> limparCache() {
+        cache.limpar();
+        return cache.estatisticas();
+    }
+}
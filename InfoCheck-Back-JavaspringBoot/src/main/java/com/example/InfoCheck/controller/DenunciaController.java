@@ -1,14 +1,44 @@
 package com.example.InfoCheck.controller;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import com.example.InfoCheck.entities.Denuncia;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.example.InfoCheck.dtos.ConsultaFacetasDTO;
+import com.example.InfoCheck.dtos.ContatoDenunciadoDTO;
+import com.example.InfoCheck.dtos.ContatoTendenciaDTO;
 import com.example.InfoCheck.dtos.DenunciaDTO;
+import com.example.InfoCheck.dtos.DenunciaResumoDTO;
+import com.example.InfoCheck.dtos.EstatisticasDTO;
+import com.example.InfoCheck.dtos.FiltroContatosDTO;
+import com.example.InfoCheck.dtos.FiltroDenunciasDTO;
+import com.example.InfoCheck.dtos.PaginaDenunciasDTO;
+import com.example.InfoCheck.dtos.QuantisValorDTO;
+import com.example.InfoCheck.dtos.RegiaoDTO;
+import com.example.InfoCheck.dtos.SerieTemporalDTO;
 import com.example.InfoCheck.dtos.VerificacaoContatoDTO;
+import com.example.InfoCheck.dtos.VerificacaoLoteDTO;
 import com.example.InfoCheck.service.DenunciaService;
+import com.example.InfoCheck.service.EstatisticasDenunciasService;
+import com.example.InfoCheck.service.ExportacaoDenunciasService;
+import com.example.InfoCheck.service.FacetasDenunciasService;
+import com.example.InfoCheck.service.FiltroContatosService;
+import com.example.InfoCheck.service.ImportacaoDenunciasService;
+import com.example.InfoCheck.service.ParticionamentoDenunciasService;
+import com.example.InfoCheck.service.QuantisValorService;
+import com.example.InfoCheck.service.RegiaoDenunciasService;
+import com.example.InfoCheck.service.ResumoDiarioService;
+import com.example.InfoCheck.service.RiscoContatoService;
+import com.example.InfoCheck.service.TendenciasContatosService;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/denuncias")
@@ -16,70 +46,196 @@ import java.util.List;
 public class DenunciaController {
 
     private final DenunciaService service;
+    private final FiltroContatosService filtroContatos;
+    private final RiscoContatoService riscoContato;
+    private final TendenciasContatosService tendencias;
+    private final ParticionamentoDenunciasService particionamento;
+    private final EstatisticasDenunciasService estatisticas;
+    private final ResumoDiarioService resumoDiario;
+    private final QuantisValorService quantisValor;
+    private final FacetasDenunciasService facetas;
+    private final RegiaoDenunciasService regioes;
+    private final ImportacaoDenunciasService importacao;
+    private final ExportacaoDenunciasService exportacao;
 
-    public DenunciaController(DenunciaService service) {
+    public DenunciaController(
+            DenunciaService service,
+            FiltroContatosService filtroContatos,
+            RiscoContatoService riscoContato,
+            TendenciasContatosService tendencias,
+            ParticionamentoDenunciasService particionamento,
+            EstatisticasDenunciasService estatisticas,
+            ResumoDiarioService resumoDiario,
+            QuantisValorService quantisValor,
+            FacetasDenunciasService facetas,
+            RegiaoDenunciasService regioes,
+            ImportacaoDenunciasService importacao,
+            ExportacaoDenunciasService exportacao) {
         this.service = service;
+        this.filtroContatos = filtroContatos;
+        this.riscoContato = riscoContato;
+        this.tendencias = tendencias;
+        this.particionamento = particionamento;
+        this.estatisticas = estatisticas;
+        this.resumoDiario = resumoDiario;
+        this.quantisValor = quantisValor;
+        this.facetas = facetas;
+        this.regioes = regioes;
+        this.importacao = importacao;
+        this.exportacao = exportacao;
     }
 
     // Criar denúncia
+    // Com a ingestão assíncrona habilitada devolve 202 e um token para acompanhar a gravação
     @PostMapping
-    public Denuncia criar(@RequestBody DenunciaDTO dto) {
-        return service.criar(dto);
+    public ResponseEntity<?> criar(@RequestBody DenunciaDTO dto) {
+        if (!service.isIngestaoAssincrona()) {
+            return ResponseEntity.ok(DenunciaResumoDTO.de(service.criar(dto)));
+        }
+        try {
+            return ResponseEntity.accepted().body(service.enfileirar(dto));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Situação de uma denúncia enviada pela ingestão assíncrona
+    @GetMapping("/ingestao/{token}")
+    public ResponseEntity<?> statusIngestao(@PathVariable String token) {
+        return service.statusIngestao(token)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404).body(Map.of("message", "Token não encontrado ou expirado")));
+    }
+
+    // Contadores da fila de ingestão
+    @GetMapping("/ingestao")
+    public Map<String, Object> estatisticasIngestao() {
+        return service.estatisticasIngestao();
+    }
+
+    // Importação em massa: corpo CSV (cabeçalho com os nomes de DenunciaDTO, ',' ou ';')
+    // ou NDJSON (um objeto DenunciaDTO por linha), lido em fluxo e gravado em lotes.
+    // Leitura interrompida no meio também responde com o resultado (interrompida = true)
+    // e a contagem do que foi gravado até ali.
+    @PostMapping(value = "/importacao", consumes = { "text/csv", "application/x-ndjson" })
+    public ResponseEntity<?> importar(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream corpo) {
+        String formato = contentType.startsWith("text/csv")
+                ? ImportacaoDenunciasService.CSV
+                : ImportacaoDenunciasService.NDJSON;
+        try {
+            return ResponseEntity.ok(importacao.importar(corpo, formato));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
     // Listar todas
     @GetMapping
-    public List<Denuncia> listarTodas() {
+    public List<DenunciaResumoDTO> listarTodas() {
         return service.listarTodas();
     }
 
+    // Busca com filtros combináveis (banco, tipo, usuário, período, boletim, valor),
+    // paginada por cursor: passe o proximoCursor da resposta para obter a página seguinte
+    @GetMapping("/busca")
+    public ResponseEntity<?> buscar(
+            @ModelAttribute FiltroDenunciasDTO filtro,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limite) {
+        try {
+            PaginaDenunciasDTO pagina = service.buscar(filtro, cursor, limite);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Exportação de todas as denúncias do filtro (mesmos filtros da busca), escrita em
+    // fluxo: ?formato=ndjson (um objeto por linha) ou csv
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @ModelAttribute FiltroDenunciasDTO filtro,
+            @RequestParam(defaultValue = ExportacaoDenunciasService.NDJSON) String formato) {
+        if (!ExportacaoDenunciasService.formatoValido(formato)) {
+            // O corpo precisa ser StreamingResponseBody para o Spring escrever a resposta em fluxo
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(saida -> saida.write("{\"message\":\"Formato inválido: use csv ou ndjson\"}"
+                            .getBytes(StandardCharsets.UTF_8)));
+        }
+        boolean csv = ExportacaoDenunciasService.CSV.equals(formato);
+        StreamingResponseBody corpo = saida -> exportacao.exportar(filtro, formato, saida);
+        return ResponseEntity.ok()
+                .contentType(csv
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"denuncias." + formato + "\"")
+                .body(corpo);
+    }
+
+    // Totais e distribuições das denúncias (lidos do resumo diário)
+    @GetMapping("/estatisticas")
+    public EstatisticasDTO estatisticas() {
+        return estatisticas.calcular();
+    }
+
     // Buscar por ID do banco
     @GetMapping("/banco/{idBanco}")
-    public List<Denuncia> listarPorBanco(@PathVariable Integer idBanco) {
+    public List<DenunciaResumoDTO> listarPorBanco(@PathVariable Integer idBanco) {
         return service.listarPorBanco(idBanco);
     }
 
     // Buscar por CPF do usuário
     @GetMapping("/usuarios/cpf/{cpf}")
-    public List<Denuncia> listarPorCpf(@PathVariable String cpf) {
+    public List<DenunciaResumoDTO> listarPorCpf(@PathVariable String cpf) {
         return service.listarPorCpf(cpf);
     }
 
     // Buscar por ID do usuário (PRECISA EXISTIR NO SERVICE)
     @GetMapping("/usuarios/id/{idUsuario}")
-    public List<Denuncia> listarPorIdUsuario(@PathVariable Integer idUsuario) {
+    public List<DenunciaResumoDTO> listarPorIdUsuario(@PathVariable Integer idUsuario) {
         return service.listarPorIdUsuario(idUsuario);
     }
 
     // Buscar por tipo de golpe (PRECISA EXISTIR NO SERVICE)
     @GetMapping("/tipo/{idTipo}")
-    public List<Denuncia> listarPorTipo(@PathVariable Integer idTipo) {
+    public List<DenunciaResumoDTO> listarPorTipo(@PathVariable Integer idTipo) {
         return service.listarPorTipo(idTipo);
     }
 
     // Buscar por mês e ano (PRECISA EXISTIR NO SERVICE)
-    @GetMapping("/data/{ano}/{mes}")
-    public List<Denuncia> listarPorMesAno(@PathVariable int ano, @PathVariable int mes) {
-        return service.listarPorMesAno(ano, mes);
+    @GetMapping("/data/{ano:\\d{4}}/{mes:\\d{1,2}}")
+    public ResponseEntity<?> listarPorMesAno(@PathVariable int ano, @PathVariable int mes) {
+        try {
+            return ResponseEntity.ok(service.listarPorMesAno(ano, mes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
     // Buscar entre duas datas (PRECISA EXISTIR NO SERVICE)
-    @GetMapping("/data/{dataInicio}/{dataFim}")
-    public List<Denuncia> listarEntreDatas(
+    @GetMapping("/data/{dataInicio:\\d{4}-\\d{2}-\\d{2}}/{dataFim:\\d{4}-\\d{2}-\\d{2}}")
+    public List<DenunciaResumoDTO> listarEntreDatas(
             @PathVariable LocalDate dataInicio,
             @PathVariable LocalDate dataFim) {
         return service.listarEntreDatas(dataInicio, dataFim);
     }
 
     @GetMapping("/usuarios/{idUsuario}")
-    public ResponseEntity<List<Denuncia>> getDenunciasPorUsuario(@PathVariable Integer idUsuario) {
-        List<Denuncia> denuncias = service.buscarPorUsuario(idUsuario);
+    public ResponseEntity<List<DenunciaResumoDTO>> getDenunciasPorUsuario(@PathVariable Integer idUsuario) {
+        List<DenunciaResumoDTO> denuncias = service.buscarPorUsuario(idUsuario);
         return ResponseEntity.ok(denuncias);
     }
 
     @GetMapping("/usuarios/{idUsuario}/denuncias")
-    public ResponseEntity<List<Denuncia>> listarDenunciasPorUsuario(@PathVariable Integer idUsuario) {
-        List<Denuncia> denuncias = service.listarDenunciasPorUsuario(idUsuario);
+    public ResponseEntity<List<DenunciaResumoDTO>> listarDenunciasPorUsuario(@PathVariable Integer idUsuario) {
+        List<DenunciaResumoDTO> denuncias = service.listarDenunciasPorUsuario(idUsuario);
         return ResponseEntity.ok(denuncias);
     }
 
@@ -98,4 +254,192 @@ public class DenunciaController {
         }
     }
 
+    // Verificar vários contatos de uma vez - um resultado por contato, na ordem recebida
+    @PostMapping("/contato/lote")
+    public ResponseEntity<?> verificarContatos(@RequestBody VerificacaoLoteDTO dto) {
+        try {
+            List<VerificacaoContatoDTO> resultado = service.verificarContatos(dto.getContatos());
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body("Erro ao verificar contatos: " + e.getMessage());
+        }
+    }
+
+    // Buscar contatos denunciados por número parcial: modo=prefixo (começa com) ou trecho (contém)
+    @GetMapping("/contatos/busca")
+    public ResponseEntity<?> buscarContatos(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "trecho") String modo,
+            @RequestParam(defaultValue = "20") int limite) {
+        try {
+            List<ContatoDenunciadoDTO> resultado = service.buscarContatos(q, modo, Math.min(limite, 100));
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Contatos em alta: mais denunciados (fonte=denuncias) ou mais consultados (fonte=consultas)
+    // na janela 1h, 24h ou 7d
+    @GetMapping("/contatos/tendencias")
+    public ResponseEntity<?> tendenciasContatos(
+            @RequestParam(defaultValue = "24h") String janela,
+            @RequestParam(defaultValue = "denuncias") String fonte,
+            @RequestParam(defaultValue = "10") int limite) {
+        try {
+            List<ContatoTendenciaDTO> top = tendencias.top(janela, fonte, Math.max(1, Math.min(limite, 100)));
+            return ResponseEntity.ok(top);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Estatísticas do filtro de contatos (tamanho, ocupação, acertos) para ajuste
+    @GetMapping("/indices/filtro")
+    public FiltroContatosDTO estatisticasFiltro() {
+        return filtroContatos.estatisticas();
+    }
+
+    // Força a reconstrução do filtro de contatos a partir do banco
+    @PostMapping("/indices/filtro/reconstruir")
+    public ResponseEntity<?> reconstruirFiltro() {
+        if (!filtroContatos.isHabilitado()) {
+            return ResponseEntity.status(409).body(Map.of("message", "Filtro de contatos desabilitado"));
+        }
+        filtroContatos.reconstruir();
+        return ResponseEntity.ok(filtroContatos.estatisticas());
+    }
+
+    // Recalcula as pontuações de risco a partir do histórico de denúncias (reparo)
+    @PostMapping("/indices/risco/reconstruir")
+    public Map<String, Object> reconstruirRisco() {
+        int contatos = riscoContato.reconstruir();
+        riscoContato.carregar();
+        return Map.of("contatos", contatos);
+    }
+
+    // Série temporal de denúncias e valores em [inicio, fim] por hora/dia/semana/mês.
+    // resolucao=auto escolhe a mais fina que cabe em "pontos"
+    @GetMapping("/estatisticas/serie")
+    public ResponseEntity<?> serie(
+            @RequestParam LocalDate inicio,
+            @RequestParam LocalDate fim,
+            @RequestParam(defaultValue = "auto") String resolucao,
+            @RequestParam(required = false) Integer idBanco,
+            @RequestParam(required = false) Integer idTipo,
+            @RequestParam(defaultValue = "200") int pontos) {
+        try {
+            EstatisticasDenunciasService.Resolucao pedida = "auto".equalsIgnoreCase(resolucao)
+                    ? null
+                    : EstatisticasDenunciasService.Resolucao.de(resolucao);
+            SerieTemporalDTO serie = estatisticas.serie(inicio, fim, pedida, idBanco, idTipo, pontos);
+            return ResponseEntity.ok(serie);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Percentis do valor de prejuízo nos meses [inicio, fim] (AAAA-MM; padrão: últimos 12 meses)
+    // por dimensão global, banco ou tipo; sem "id", um resultado por banco/tipo
+    @GetMapping("/estatisticas/valores")
+    public ResponseEntity<?> quantisValor(
+            @RequestParam(defaultValue = "global") String dimensao,
+            @RequestParam(required = false) Integer id,
+            @RequestParam(required = false) String inicio,
+            @RequestParam(required = false) String fim,
+            @RequestParam(defaultValue = "0.5,0.9,0.99") List<Double> quantis) {
+        try {
+            YearMonth mesFim = fim != null ? YearMonth.parse(fim) : YearMonth.now();
+            YearMonth mesInicio = inicio != null ? YearMonth.parse(inicio) : mesFim.minusMonths(11);
+            List<QuantisValorDTO> resultado = quantisValor.consultar(dimensao, id, mesInicio, mesFim, quantis);
+            return ResponseEntity.ok(resultado);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Informe o mês no formato AAAA-MM"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Contagens por banco, tipo, mês, boletim e como soube para a combinação de filtros
+    // (OU dentro da dimensão, E entre dimensões), calculadas no índice de facetas em memória
+    @PostMapping("/facetas")
+    public ResponseEntity<?> facetas(@RequestBody(required = false) ConsultaFacetasDTO consulta) {
+        try {
+            return ResponseEntity.ok(facetas.consultar(consulta != null ? consulta : new ConsultaFacetasDTO()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Regiões (prefixo do CEP do denunciante com "nivel" dígitos) com mais denúncias nos meses
+    // [inicio, fim] (AAAA-MM; padrão: últimos 12 meses); "prefixo" restringe a uma região maior
+    @GetMapping("/regioes")
+    public ResponseEntity<?> regioes(
+            @RequestParam(defaultValue = "1") int nivel,
+            @RequestParam(required = false) String prefixo,
+            @RequestParam(required = false) String inicio,
+            @RequestParam(required = false) String fim,
+            @RequestParam(defaultValue = "50") int limite) {
+        try {
+            YearMonth mesFim = fim != null ? YearMonth.parse(fim) : YearMonth.now();
+            YearMonth mesInicio = inicio != null ? YearMonth.parse(inicio) : mesFim.minusMonths(11);
+            List<RegiaoDTO> resultado = regioes.listar(nivel, prefixo, mesInicio, mesFim, limite);
+            return ResponseEntity.ok(resultado);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Informe o mês no formato AAAA-MM"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Série mensal de denúncias de uma região (prefixo do CEP com 1 a 5 dígitos)
+    @GetMapping("/regioes/{prefixo}/meses")
+    public ResponseEntity<?> serieRegiao(
+            @PathVariable String prefixo,
+            @RequestParam(required = false) String inicio,
+            @RequestParam(required = false) String fim) {
+        try {
+            YearMonth mesFim = fim != null ? YearMonth.parse(fim) : YearMonth.now();
+            YearMonth mesInicio = inicio != null ? YearMonth.parse(inicio) : mesFim.minusMonths(11);
+            return ResponseEntity.ok(regioes.serieMensal(prefixo, mesInicio, mesFim));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Informe o mês no formato AAAA-MM"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Recalcula o resumo diário (dia x banco x tipo) a partir das denúncias
+    @PostMapping("/indices/resumo/reconstruir")
+    public Map<String, Object> reconstruirResumo() {
+        return Map.of("linhas", resumoDiario.reconstruir());
+    }
+
+    // Recalcula os esboços de quantis de valor a partir das denúncias
+    @PostMapping("/indices/quantis/reconstruir")
+    public Map<String, Object> reconstruirQuantis() {
+        return Map.of("linhas", quantisValor.reconstruir());
+    }
+
+    // Recalcula a agregação regional (prefixos de CEP) a partir das denúncias
+    @PostMapping("/indices/regioes/reconstruir")
+    public Map<String, Object> reconstruirRegioes() {
+        return Map.of("linhas", regioes.reconstruir());
+    }
+
+    // Partições mensais da tabela de denúncias (modo particionado do PostgreSQL)
+    @GetMapping("/particoes")
+    public Map<String, Object> listarParticoes() {
+        if (!particionamento.isAtivo()) {
+            return Map.of("ativo", false, "particoes", List.of());
+        }
+        return Map.of("ativo", true, "particoes", particionamento.listarParticoes().stream().map(YearMonth::toString).toList());
+    }
+
 }
@@ -0,0 +1,78 @@
+package com.example.InfoCheck.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.example.InfoCheck.service.InstantaneosCatalogoService.Instantaneo;
+
+// Resposta condicional dos catálogos: 304 quando o If-None-Match bate, senão os bytes prontos
+final class RespostaCatalogo {
+
+    private RespostaCatalogo() {
+    }
+
+    static ResponseEntity<byte[]> responder(Instantaneo inst, CacheControl cacheControl,
+                                            String seNenhumCasar, String aceitaCodificacao) {
+        boolean gzip = aceitaGzip(aceitaCodificacao);
+        String etag = gzip ? inst.etagGzip() : inst.etag();
+
+        if (casa(seNenhumCasar, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(inst.gzip());
+        }
+        return resposta.body(inst.json());
+    }
+
+    // If-None-Match usa comparação fraca: "W/" é ignorado e "*" casa com qualquer versão
+    private static boolean casa(String seNenhumCasar, String etag) {
+        if (seNenhumCasar == null || seNenhumCasar.isBlank()) {
+            return false;
+        }
+        for (String candidato : seNenhumCasar.split(",")) {
+            String c = candidato.trim();
+            if (c.startsWith("W/")) {
+                c = c.substring(2);
+            }
+            if (c.equals("*") || c.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "gzip" na lista, desde que não venha com q=0
+    private static boolean aceitaGzip(String aceitaCodificacao) {
+        if (aceitaCodificacao == null) {
+            return false;
+        }
+        for (String parte : aceitaCodificacao.toLowerCase().split(",")) {
+            String[] campos = parte.split(";");
+            if (!campos[0].trim().equals("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < campos.length; i++) {
+                String p = campos[i].trim().replace(" ", "");
+                if (p.matches("q=0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.InfoCheck.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.example.InfoCheck.entities.TipoGolpe;
+import com.example.InfoCheck.service.InstantaneosCatalogoService;
 import com.example.InfoCheck.service.TipoGolpeService;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/tipos-golpe")
@@ -14,9 +16,15 @@ public class TipoGolpeController {
     @Autowired
     private TipoGolpeService service;
 
+    @Autowired
+    private InstantaneosCatalogoService instantaneos;
+
     @GetMapping
-    public List<TipoGolpe> listar(){
-        return service.listarTodos();
+    public ResponseEntity<byte[]> listar(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String seNenhumCasar,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String aceitaCodificacao){
+        return RespostaCatalogo.responder(instantaneos.tipos(), instantaneos.cacheControl(),
+                seNenhumCasar, aceitaCodificacao);
     }
 
     @PostMapping
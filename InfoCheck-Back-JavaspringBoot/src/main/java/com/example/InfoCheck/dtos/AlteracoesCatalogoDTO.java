@@ -0,0 +1,24 @@
+package com.example.InfoCheck.dtos;
+
+import java.util.List;
+
+import com.example.InfoCheck.entities.Banco;
+import com.example.InfoCheck.entities.ContatoOficial;
+import com.example.InfoCheck.entities.TipoGolpe;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AlteracoesCatalogoDTO {
+    private long versao;                    // enviar como "desde" na próxima sincronização
+    private boolean completo;               // true: catálogo inteiro, substituir a cópia local
+    private boolean temMais;                // true: chamar de novo com a nova versão
+    private List<Banco> bancos;             // criados ou alterados (estado atual)
+    private List<TipoGolpe> tiposGolpe;
+    private List<ContatoOficial> contatos;
+    private List<Integer> bancosRemovidos;
+    private List<Integer> tiposGolpeRemovidos;
+    private List<Integer> contatosRemovidos;
+}
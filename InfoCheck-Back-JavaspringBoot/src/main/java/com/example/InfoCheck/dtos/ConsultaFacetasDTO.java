@@ -0,0 +1,15 @@
+package com.example.InfoCheck.dtos;
+
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+// Filtros das facetas: valores da mesma dimensão combinam com OU, dimensões diferentes com E.
+// Ex.: {"filtros": {"banco": ["1", "3"], "mes": ["2025-10"], "boletim": ["sim"]}}
+@Getter
+@Setter
+public class ConsultaFacetasDTO {
+    private Map<String, List<String>> filtros;
+    private Integer limite;           // valores por faceta (padrão 20)
+}
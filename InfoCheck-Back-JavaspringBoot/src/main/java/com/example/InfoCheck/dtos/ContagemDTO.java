@@ -0,0 +1,11 @@
+package com.example.InfoCheck.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ContagemDTO {
+    private String nome;
+    private long total;
+}
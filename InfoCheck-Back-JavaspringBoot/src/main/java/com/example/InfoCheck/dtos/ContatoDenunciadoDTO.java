@@ -0,0 +1,11 @@
+package com.example.InfoCheck.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ContatoDenunciadoDTO {
+    private String contato;          // contato normalizado
+    private long totalDenuncias;
+}
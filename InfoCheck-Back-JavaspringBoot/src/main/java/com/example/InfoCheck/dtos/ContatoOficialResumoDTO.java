@@ -0,0 +1,14 @@
+package com.example.InfoCheck.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ContatoOficialResumoDTO {
+    private Integer idContato;
+    private Integer idBanco;
+    private String nomeBanco;
+    private String tipoContato;
+    private String valorContato;
+}
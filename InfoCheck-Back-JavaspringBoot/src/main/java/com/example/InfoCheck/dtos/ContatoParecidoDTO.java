@@ -0,0 +1,16 @@
+package com.example.InfoCheck.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ContatoParecidoDTO {
+    private Integer idContato;
+    private Integer idBanco;
+    private String nomeBanco;
+    private String tipoContato;
+    private String valorContato;      // valor cadastrado do contato oficial
+    private int distancia;            // edições (Levenshtein) entre o contato informado e o oficial
+    private boolean oficial;          // distancia 0: o contato informado é o próprio contato oficial
+}
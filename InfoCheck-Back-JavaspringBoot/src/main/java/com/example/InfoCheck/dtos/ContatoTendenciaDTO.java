@@ -0,0 +1,13 @@
+package com.example.InfoCheck.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ContatoTendenciaDTO {
+    private String contato;          // contato normalizado
+    private long ocorrencias;        // denúncias ou consultas na janela (estimativa por cima)
+    private long erroMaximo;         // a contagem real está entre ocorrencias - erroMaximo e ocorrencias
+                                     // (inclui o que o contato pode ter tido nas fatias em que não aparece)
+}
@@ -0,0 +1,89 @@
+package com.example.InfoCheck.dtos;
+
+import com.example.InfoCheck.entities.Denuncia;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.Getter;
+
+// Denúncia como devolvida nas listagens: só os campos exibidos e referências enxutas
+// a usuário, banco e tipo (mesmos nomes de campo da entidade; do usuário só id e nome,
+// nunca cpf, senha ou endereço).
+@Getter
+public class DenunciaResumoDTO {
+
+    public record UsuarioRef(Integer id_usuario, String nome) {
+    }
+
+    public record BancoRef(Integer id_banco, String nome_banco) {
+    }
+
+    public record TipoGolpeRef(Integer id_tipo, String nome_tipo) {
+    }
+
+    private final Integer id_denuncia;
+    private final UsuarioRef usuario;
+    private final BancoRef banco;
+    private final TipoGolpeRef tipoGolpe;
+    private final String contatoDenunciado;
+    private final String descricao;
+    private final Double valor;
+    private final Boolean boletim;
+    private final LocalDate dataGolpeOcorrido;
+    private final String comoSoube;
+    private final String tipoGolpeOutro;
+    private final String nomeBancoOutro;
+    private final LocalDateTime data_denuncia;
+
+    // Usado pelas consultas JPQL "SELECT new ..." (colunas planas dos LEFT JOINs)
+    public DenunciaResumoDTO(
+            Integer idDenuncia,
+            Integer idUsuario,
+            String nomeUsuario,
+            Integer idBanco,
+            String nomeBanco,
+            Integer idTipo,
+            String nomeTipo,
+            String contatoDenunciado,
+            String descricao,
+            Double valor,
+            Boolean boletim,
+            LocalDate dataGolpeOcorrido,
+            String comoSoube,
+            String tipoGolpeOutro,
+            String nomeBancoOutro,
+            LocalDateTime dataDenuncia) {
+        this.id_denuncia = idDenuncia;
+        this.usuario = idUsuario != null ? new UsuarioRef(idUsuario, nomeUsuario) : null;
+        this.banco = idBanco != null ? new BancoRef(idBanco, nomeBanco) : null;
+        this.tipoGolpe = idTipo != null ? new TipoGolpeRef(idTipo, nomeTipo) : null;
+        this.contatoDenunciado = contatoDenunciado;
+        this.descricao = descricao;
+        this.valor = valor;
+        this.boletim = boletim;
+        this.dataGolpeOcorrido = dataGolpeOcorrido;
+        this.comoSoube = comoSoube;
+        this.tipoGolpeOutro = tipoGolpeOutro;
+        this.nomeBancoOutro = nomeBancoOutro;
+        this.data_denuncia = dataDenuncia;
+    }
+
+    public static DenunciaResumoDTO de(Denuncia d) {
+        return new DenunciaResumoDTO(
+                d.getId_denuncia(),
+                d.getUsuario() != null ? d.getUsuario().getId_usuario() : null,
+                d.getUsuario() != null ? d.getUsuario().getNome() : null,
+                d.getBanco() != null ? d.getBanco().getId_banco() : null,
+                d.getBanco() != null ? d.getBanco().getNome_banco() : null,
+                d.getTipoGolpe() != null ? d.getTipoGolpe().getId_tipo() : null,
+                d.getTipoGolpe() != null ? d.getTipoGolpe().getNome_tipo() : null,
+                d.getContatoDenunciado(),
+                d.getDescricao(),
+                d.getValor(),
+                d.getBoletim(),
+                d.getDataGolpeOcorrido(),
+                d.getComoSoube(),
+                d.getTipoGolpeOutro(),
+                d.getNomeBancoOutro(),
+                d.getData_denuncia());
+    }
+}
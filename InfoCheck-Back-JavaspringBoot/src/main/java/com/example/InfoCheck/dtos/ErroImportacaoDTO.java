@@ -0,0 +1,11 @@
+package com.example.InfoCheck.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ErroImportacaoDTO {
+    private long linha;               // linha do arquivo (a partir de 1, contando o cabeçalho do CSV)
+    private String mensagem;
+}
@@ -0,0 +1,21 @@
+package com.example.InfoCheck.dtos;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EstatisticasDTO {
+    private long totalDenuncias;
+    private long denunciasHoje;
+    private long denunciasSemana;       // desde segunda-feira
+    private long denunciasMes;          // desde o dia 1
+    private long[] porMes;              // 12 posições, ano corrente
+    private List<ContagemDTO> porBanco;     // maiores primeiro, limitado
+    private List<ContagemDTO> porTipo;
+    private List<ContagemDTO> porComoSoube;
+    private double somaValor;
+    private double mediaValor;          // média entre as denúncias com valor informado
+    private double percentualBoletim;   // 0 a 100
+}
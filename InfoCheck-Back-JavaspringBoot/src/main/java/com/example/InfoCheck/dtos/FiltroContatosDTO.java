@@ -0,0 +1,24 @@
+package com.example.InfoCheck.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class FiltroContatosDTO {
+    private boolean pronto;
+    private long capacidade;
+    private double taxaFalsoPositivoConfigurada;
+    private double taxaFalsoPositivoEstimada;
+    private long totalBits;
+    private int totalHashes;
+    private long insercoes;
+    private double taxaOcupacao;
+    private long reconstrucoes;
+
+    // Contadores de uso
+    private long consultas;
+    private long descartados;       // respondidos pelo filtro ("Sem denúncias")
+    private long possiveis;         // encaminhados à contagem
+    private long falsosPositivos;   // encaminhados, mas sem denúncia
+}
@@ -0,0 +1,24 @@
+package com.example.InfoCheck.dtos;
+
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+// Filtros opcionais das buscas de denúncias (todos combináveis; null = sem filtro)
+@Getter
+@Setter
+public class FiltroDenunciasDTO {
+    private Integer idBanco;
+    private Integer idTipo;
+    private Integer idUsuario;
+    private Boolean boletim;
+    private Double valorMin;
+    private Double valorMax;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dataInicio;     // inclusiva
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dataFim;        // inclusiva (o dia inteiro)
+}
@@ -0,0 +1,12 @@
+package com.example.InfoCheck.dtos;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PaginaDenunciasDTO {
+    private List<DenunciaResumoDTO> itens;
+    private String proximoCursor;     // enviar como "cursor" para a página seguinte; null na última
+}
@@ -0,0 +1,13 @@
+package com.example.InfoCheck.dtos;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PontoSerieDTO {
+    private LocalDateTime inicio;     // início do intervalo do ponto
+    private long total;
+    private double somaValor;
+}
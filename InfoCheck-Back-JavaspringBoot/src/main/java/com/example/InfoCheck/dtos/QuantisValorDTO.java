@@ -0,0 +1,15 @@
+package com.example.InfoCheck.dtos;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class QuantisValorDTO {
+    private String dimensao;              // global, banco ou tipo
+    private Integer id;                   // id do banco/tipo (0 = não cadastrado)
+    private String nome;
+    private long totalValores;
+    private Map<String, Double> quantis;  // "p50" -> valor (erro relativo de até 1%)
+}
@@ -0,0 +1,12 @@
+package com.example.InfoCheck.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RegiaoDTO {
+    private String prefixo;           // prefixo do CEP (nível = tamanho) ou mês AAAA-MM na série
+    private long total;
+    private double somaValor;
+}
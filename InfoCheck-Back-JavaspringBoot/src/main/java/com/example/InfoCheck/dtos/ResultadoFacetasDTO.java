@@ -0,0 +1,13 @@
+package com.example.InfoCheck.dtos;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ResultadoFacetasDTO {
+    private long total;                               // denúncias que atendem a todos os filtros
+    private Map<String, List<ValorFacetaDTO>> facetas; // contagens de cada dimensão com os filtros das demais
+}
@@ -0,0 +1,17 @@
+package com.example.InfoCheck.dtos;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ResultadoImportacaoDTO {
+    private long registros;           // registros lidos (sem o cabeçalho)
+    private long importadas;
+    private long rejeitadas;
+    private List<ErroImportacaoDTO> erros;  // limitado; o restante só entra em errosNaoListados
+    private long errosNaoListados;
+    private boolean interrompida;     // leitura parou antes do fim (o erro diz a linha); o lido até ali foi gravado
+    private long duracaoMs;
+}
@@ -0,0 +1,15 @@
+package com.example.InfoCheck.dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SerieTemporalDTO {
+    private String resolucao;         // hora, dia, semana ou mes
+    private LocalDate inicio;
+    private LocalDate fim;
+    private List<PontoSerieDTO> pontos;
+}
@@ -0,0 +1,13 @@
+package com.example.InfoCheck.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StatusIngestaoDTO {
+    private String token;
+    private String estado;            // PENDENTE, GRAVADA ou ERRO
+    private Integer idDenuncia;       // preenchido quando GRAVADA
+    private String mensagem;          // motivo quando ERRO
+}
@@ -0,0 +1,13 @@
+package com.example.InfoCheck.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ValorFacetaDTO {
+    private String valor;             // valor usado nos filtros
+    private String nome;              // rótulo para exibição
+    private long total;
+    private boolean selecionado;
+}
@@ -1,5 +1,6 @@
 package com.example.InfoCheck.dtos;
 
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,5 +11,17 @@ import lombok.Setter;
 public class VerificacaoContatoDTO {
     private String contato;
     private long totalDenuncias;
-    private String confiabilidade;
+    private String confiabilidade;    // nível pelo total histórico de denúncias
+
+    // Pontuação com decaimento exponencial (denúncias recentes pesam mais) e seu nível
+    private double pontuacaoRisco;
+    private String nivelRisco;
+
+    // Contato cadastrado como canal oficial de algum banco
+    private boolean contatoOficial;
+    private List<ContatoOficialResumoDTO> contatosOficiais;
+
+    public VerificacaoContatoDTO(String contato, long totalDenuncias, String confiabilidade) {
+        this(contato, totalDenuncias, confiabilidade, 0, null, false, List.of());
+    }
 }
@@ -0,0 +1,11 @@
+package com.example.InfoCheck.dtos;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class VerificacaoLoteDTO {
+    private List<String> contatos;   // contatos como vieram do registro de chamadas/mensagens
+}
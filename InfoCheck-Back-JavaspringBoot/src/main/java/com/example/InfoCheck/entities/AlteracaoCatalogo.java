@@ -0,0 +1,38 @@
+package com.example.InfoCheck.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// Uma linha por gravação em bancos, tipos de golpe ou contatos oficiais, na mesma transação.
+// O id é a versão do catálogo (só cresce); "removido" marca a exclusão do registro (lápide).
+@Entity
+@Table(name = "alteracoes_catalogo")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlteracaoCatalogo {
+
+    public enum Catalogo {
+        BANCO, TIPO_GOLPE, CONTATO_OFICIAL
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long versao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Catalogo catalogo;
+
+    @Column(name = "id_registro", nullable = false)
+    private Integer idRegistro;
+
+    @Column(nullable = false)
+    private Boolean removido;
+
+    @Column(name = "data_alteracao", nullable = false)
+    private LocalDateTime dataAlteracao;
+}
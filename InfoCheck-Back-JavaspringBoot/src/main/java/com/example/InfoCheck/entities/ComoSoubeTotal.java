@@ -0,0 +1,25 @@
+package com.example.InfoCheck.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Total de denúncias por resposta de "como soube" (texto sem espaços extras),
+// mantido na mesma transação que grava a denúncia.
+@Entity
+@Table(
+    name = "denuncias_como_soube",
+    indexes = @Index(name = "idx_denuncias_como_soube_total", columnList = "total")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComoSoubeTotal {
+
+    @Id
+    @Column(name = "como_soube", length = 100)
+    private String comoSoube;
+
+    @Column(nullable = false)
+    private Long total;
+}
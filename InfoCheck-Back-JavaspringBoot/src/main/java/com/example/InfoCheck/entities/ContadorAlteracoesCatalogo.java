@@ -0,0 +1,21 @@
+package com.example.InfoCheck.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Linha única (id = 1) somada por toda gravação nos catálogos antes de gerar a versão:
+// o bloqueio dela até o commit faz as versões ficarem visíveis na ordem em que foram geradas.
+@Entity
+@Table(name = "alteracoes_catalogo_contador")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContadorAlteracoesCatalogo {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long total;
+}
@@ -0,0 +1,29 @@
+package com.example.InfoCheck.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// Pontuação de risco com decaimento exponencial por contato normalizado.
+// "pontuacao" vale no instante "atualizado_em"; o valor atual é obtido aplicando o decaimento.
+@Entity
+@Table(name = "contatos_risco")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContatoRisco {
+
+    @Id
+    @Column(name = "contato_normalizado", length = 150)
+    private String contatoNormalizado;
+
+    @Column(nullable = false)
+    private Double pontuacao;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    @Column(name = "total_denuncias", nullable = false)
+    private Long totalDenuncias;
+}
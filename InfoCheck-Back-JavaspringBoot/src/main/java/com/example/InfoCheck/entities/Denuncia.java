@@ -1,5 +1,8 @@
 package com.example.InfoCheck.entities;
 
+import com.example.InfoCheck.util.CepRegiao;
+import com.example.InfoCheck.util.ContatoNormalizador;
+
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,7 +13,17 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "denuncias")
+@Table(
+    name = "denuncias",
+    indexes = {
+        @Index(name = "idx_denuncias_contato_normalizado", columnList = "contato_normalizado"),
+        // Índices compostos da busca paginada por keyset (ordem data_denuncia, id_denuncia)
+        @Index(name = "idx_denuncias_data_id", columnList = "data_denuncia, id_denuncia"),
+        @Index(name = "idx_denuncias_banco_data_id", columnList = "id_banco, data_denuncia, id_denuncia"),
+        @Index(name = "idx_denuncias_tipo_data_id", columnList = "id_tipo, data_denuncia, id_denuncia"),
+        @Index(name = "idx_denuncias_usuario_data_id", columnList = "id_usuario, data_denuncia, id_denuncia")
+    }
+)
 public class Denuncia {
 
     @Id
@@ -34,6 +47,14 @@ public class Denuncia {
     @Column(name = "contato_denunciado", nullable = false, length = 150)
     private String contatoDenunciado;
 
+    // Chave canônica do contato (mesma regra de ContatoNormalizador), indexada para a verificação
+    @Column(name = "contato_normalizado", length = 150)
+    private String contatoNormalizado;
+
+    // 5 primeiros dígitos do CEP do denunciante no momento da denúncia (agregação regional sem JOIN)
+    @Column(name = "cep_prefixo", length = 5)
+    private String cepPrefixo;
+
     @Column(name = "descricao", length = 200)
     private String descricao;
 
@@ -57,4 +78,21 @@ public class Denuncia {
 
     @Column(name = "data_denuncia")
     private LocalDateTime data_denuncia = LocalDateTime.now();
+
+    @PrePersist
+    protected void onCreate() {
+        preencherCamposDerivados();
+    }
+
+    // Também usado nas gravações em lote por JDBC, que não passam pelo @PrePersist
+    public void preencherCamposDerivados() {
+        // data_denuncia é a chave das partições mensais e não pode ficar nula
+        if (data_denuncia == null) {
+            data_denuncia = LocalDateTime.now();
+        }
+        contatoNormalizado = ContatoNormalizador.normalizar(contatoDenunciado);
+        if (cepPrefixo == null && usuario != null) {
+            cepPrefixo = CepRegiao.prefixo(usuario.getCep());
+        }
+    }
 }
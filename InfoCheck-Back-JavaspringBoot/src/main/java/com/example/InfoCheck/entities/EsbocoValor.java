@@ -0,0 +1,24 @@
+package com.example.InfoCheck.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Esboço de quantis (EsbocoQuantis serializado) dos valores de prejuízo por mês e dimensão.
+// Poucos KB por linha; meses e dimensões se combinam sem reler denuncias.
+@Entity
+@Table(name = "denuncias_esboco_valor")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EsbocoValor {
+
+    @EmbeddedId
+    private EsbocoValorId id;
+
+    @Column(name = "total", nullable = false)
+    private Long total;
+
+    @Column(name = "dados", nullable = false, length = 65536)
+    private byte[] dados;
+}
@@ -0,0 +1,38 @@
+package com.example.InfoCheck.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// Chave do esboço de valores: mês (dia 1) x dimensão (global, banco, tipo) x id na dimensão
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class EsbocoValorId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String GLOBAL = "global";
+    public static final String BANCO = "banco";
+    public static final String TIPO = "tipo";
+
+    @Column(name = "mes", nullable = false)
+    private LocalDate mes;
+
+    @Column(name = "dimensao", nullable = false, length = 10)
+    private String dimensao;
+
+    // 0 na dimensão global ou quando a denúncia não tem banco/tipo cadastrado
+    @Column(name = "id_referencia", nullable = false)
+    private Integer idReferencia;
+}
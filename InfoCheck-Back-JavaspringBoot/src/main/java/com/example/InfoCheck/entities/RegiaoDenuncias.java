@@ -0,0 +1,24 @@
+package com.example.InfoCheck.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Denúncias por prefixo de CEP do denunciante (níveis 1 a 5) e mês,
+// mantidas na mesma transação que grava a denúncia.
+@Entity
+@Table(name = "denuncias_regiao")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegiaoDenuncias {
+
+    @EmbeddedId
+    private RegiaoDenunciasId id;
+
+    @Column(nullable = false)
+    private Long total;
+
+    @Column(name = "soma_valor", nullable = false)
+    private Double somaValor;
+}
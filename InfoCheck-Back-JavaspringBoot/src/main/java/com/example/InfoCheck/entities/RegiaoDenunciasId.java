@@ -0,0 +1,33 @@
+package com.example.InfoCheck.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// Chave da agregação regional: nível (1-5 dígitos) x prefixo do CEP x mês (dia 1)
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class RegiaoDenunciasId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "nivel", nullable = false)
+    private Integer nivel;
+
+    @Column(name = "prefixo", nullable = false, length = 5)
+    private String prefixo;
+
+    @Column(name = "mes", nullable = false)
+    private LocalDate mes;
+}
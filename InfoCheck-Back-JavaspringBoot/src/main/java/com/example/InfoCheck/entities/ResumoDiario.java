@@ -0,0 +1,31 @@
+package com.example.InfoCheck.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Totais de denúncias por dia x banco x tipo, mantidos na mesma transação que grava a denúncia.
+// Relatórios e estatísticas leem daqui em vez de agregar a tabela denuncias.
+@Entity
+@Table(name = "denuncias_resumo_diario")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoDiario {
+
+    @EmbeddedId
+    private ResumoDiarioId id;
+
+    @Column(nullable = false)
+    private Long total;
+
+    @Column(name = "soma_valor", nullable = false)
+    private Double somaValor;
+
+    // Denúncias com valor informado (base da média)
+    @Column(name = "total_com_valor", nullable = false)
+    private Long totalComValor;
+
+    @Column(name = "total_boletim", nullable = false)
+    private Long totalBoletim;
+}
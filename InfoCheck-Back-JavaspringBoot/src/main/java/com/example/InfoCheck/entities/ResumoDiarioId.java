@@ -0,0 +1,35 @@
+package com.example.InfoCheck.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// Chave do resumo diário: dia x banco x tipo (0 quando a denúncia não tem banco/tipo cadastrado)
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ResumoDiarioId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int SEM_REFERENCIA = 0;
+
+    @Column(name = "dia", nullable = false)
+    private LocalDate dia;
+
+    @Column(name = "id_banco", nullable = false)
+    private Integer idBanco;
+
+    @Column(name = "id_tipo", nullable = false)
+    private Integer idTipo;
+}
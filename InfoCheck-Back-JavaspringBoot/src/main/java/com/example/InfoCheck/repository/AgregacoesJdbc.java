@@ -0,0 +1,131 @@
+package com.example.InfoCheck.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Upserts das tabelas de agregação atualizadas junto com a gravação das denúncias.
+ *
+ * SELECT ... FOR UPDATE não protege a primeira gravação de uma chave (não há linha para
+ * bloquear): duas transações criariam a mesma linha e a segunda falharia por chave
+ * duplicada, desfazendo a denúncia inteira. Aqui criação e soma são um comando só:
+ * INSERT ... ON CONFLICT no PostgreSQL e MERGE nos demais bancos (H2 local).
+ *
+ * As linhas vão ordenadas pela chave para que lotes concorrentes bloqueiem na mesma
+ * ordem. Tabelas e colunas vêm sempre de constantes do código, nunca da requisição.
+ */
+@Repository
+public class AgregacoesJdbc {
+
+    private final JdbcTemplate jdbc;
+    private volatile Boolean postgres;
+
+    public AgregacoesJdbc(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // Soma as colunas "somas" na linha de cada chave, criando a linha quando ainda não existe.
+    // Cada linha de "valores" traz as chaves e depois as somas, na ordem das colunas
+    public void somar(String tabela, List<String> chaves, List<String> somas, List<Object[]> valores) {
+        if (valores.isEmpty()) {
+            return;
+        }
+        List<String> colunas = new ArrayList<>(chaves);
+        colunas.addAll(somas);
+        List<Object[]> ordenados = ordenados(valores, chaves.size());
+        if (isPostgres()) {
+            String sql = "INSERT INTO " + tabela + " (" + String.join(", ", colunas) + ") VALUES (" + marcadores(colunas.size()) + ")"
+                    + " ON CONFLICT (" + String.join(", ", chaves) + ") DO UPDATE SET "
+                    + somas.stream().map(c -> c + " = " + tabela + "." + c + " + EXCLUDED." + c).collect(Collectors.joining(", "));
+            jdbc.batchUpdate(sql, ordenados);
+            return;
+        }
+        String sql = merge(tabela, chaves)
+                + " WHEN MATCHED THEN UPDATE SET "
+                + somas.stream().map(c -> c + " = t." + c + " + ?").collect(Collectors.joining(", "))
+                + " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", colunas) + ") VALUES (" + marcadores(colunas.size()) + ")";
+        // Parâmetros: chaves (ON), somas (UPDATE) e todas as colunas (INSERT)
+        List<Object[]> parametros = new ArrayList<>(ordenados.size());
+        for (Object[] linha : ordenados) {
+            Object[] p = new Object[chaves.size() + somas.size() + linha.length];
+            System.arraycopy(linha, 0, p, 0, chaves.size());
+            System.arraycopy(linha, chaves.size(), p, chaves.size(), somas.size());
+            System.arraycopy(linha, 0, p, chaves.size() + somas.size(), linha.length);
+            parametros.add(p);
+        }
+        jdbc.batchUpdate(sql, parametros);
+    }
+
+    // Cria as linhas que ainda não existem com os valores iniciais, sem tocar nas existentes;
+    // depois disso o SELECT ... FOR UPDATE sempre encontra a linha para bloquear
+    public void criarSeAusente(String tabela, List<String> chaves, List<String> colunas, List<Object[]> valores) {
+        if (valores.isEmpty()) {
+            return;
+        }
+        List<String> todas = new ArrayList<>(chaves);
+        todas.addAll(colunas);
+        List<Object[]> ordenados = ordenados(valores, chaves.size());
+        if (isPostgres()) {
+            String sql = "INSERT INTO " + tabela + " (" + String.join(", ", todas) + ") VALUES (" + marcadores(todas.size()) + ")"
+                    + " ON CONFLICT (" + String.join(", ", chaves) + ") DO NOTHING";
+            jdbc.batchUpdate(sql, ordenados);
+            return;
+        }
+        String sql = merge(tabela, chaves)
+                + " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", todas) + ") VALUES (" + marcadores(todas.size()) + ")";
+        // Parâmetros: chaves (ON) e todas as colunas (INSERT)
+        List<Object[]> parametros = new ArrayList<>(ordenados.size());
+        for (Object[] linha : ordenados) {
+            Object[] p = new Object[chaves.size() + linha.length];
+            System.arraycopy(linha, 0, p, 0, chaves.size());
+            System.arraycopy(linha, 0, p, chaves.size(), linha.length);
+            parametros.add(p);
+        }
+        jdbc.batchUpdate(sql, parametros);
+    }
+
+    // MERGE sem fonte de dados: os valores vão direto nas colunas do INSERT/UPDATE, que
+    // definem o tipo de cada parâmetro. Numa fonte VALUES (?, ...) o H2 trata o parâmetro
+    // como texto e um byte[] (esboço serializado) chegaria corrompido à tabela.
+    private static String merge(String tabela, List<String> chaves) {
+        return "MERGE INTO " + tabela + " t USING (VALUES (1)) s(um) ON "
+                + chaves.stream().map(c -> "t." + c + " = ?").collect(Collectors.joining(" AND "));
+    }
+
+    private static String marcadores(int quantidade) {
+        return String.join(", ", Collections.nCopies(quantidade, "?"));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static List<Object[]> ordenados(List<Object[]> valores, int totalChaves) {
+        Comparator<Object[]> ordem = (a, b) -> {
+            for (int i = 0; i < totalChaves; i++) {
+                int c = ((Comparable) a[i]).compareTo(b[i]);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return 0;
+        };
+        List<Object[]> copia = new ArrayList<>(valores);
+        copia.sort(ordem);
+        return copia;
+    }
+
+    // Cacheado na primeira chamada; também decide os caminhos próprios do PostgreSQL nos repositórios
+    public boolean isPostgres() {
+        Boolean atual = postgres;
+        if (atual == null) {
+            String produto = jdbc.execute((java.sql.Connection c) -> c.getMetaData().getDatabaseProductName());
+            atual = produto != null && produto.toLowerCase().contains("postgresql");
+            postgres = atual;
+        }
+        return atual;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.InfoCheck.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.InfoCheck.entities.AlteracaoCatalogo;
+import java.util.List;
+
+public interface AlteracaoCatalogoRepository extends JpaRepository<AlteracaoCatalogo, Long> {
+
+    // Alterações depois da versão informada, em ordem (percorre só a chave primária)
+    @Query("SELECT a FROM AlteracaoCatalogo a WHERE a.versao > :desde ORDER BY a.versao")
+    List<AlteracaoCatalogo> buscarDesde(@Param("desde") long desde, Limit limite);
+
+    @Query("SELECT COALESCE(MAX(a.versao), 0) FROM AlteracaoCatalogo a")
+    long versaoAtual();
+}
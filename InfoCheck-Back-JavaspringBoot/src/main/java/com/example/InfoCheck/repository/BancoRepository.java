@@ -5,7 +5,6 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import com.example.InfoCheck.entities.Banco;
 
-import java.util.List;
 import java.util.Optional;
 
 public interface BancoRepository extends JpaRepository<Banco, Integer> {
@@ -15,8 +14,4 @@ public interface BancoRepository extends JpaRepository<Banco, Integer> {
     Optional<Banco> findByNomeBancoIgnoreCase(@Param("nomeBanco") String nomeBanco);
 
     Optional<Banco> findByCnpj(String cnpj);
-    
-    // Buscar bancos que contenham o termo no nome (para autocomplete)
-    @Query("SELECT b FROM Banco b WHERE LOWER(b.nome_banco) LIKE LOWER(CONCAT('%', :termo, '%'))")
-    List<Banco> buscarPorNomeContendo(@Param("termo") String termo);
 }
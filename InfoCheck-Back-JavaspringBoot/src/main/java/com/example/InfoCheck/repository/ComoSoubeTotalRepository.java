@@ -0,0 +1,23 @@
+package com.example.InfoCheck.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.InfoCheck.dtos.ContagemDTO;
+import com.example.InfoCheck.entities.ComoSoubeTotal;
+import java.util.List;
+
+public interface ComoSoubeTotalRepository extends JpaRepository<ComoSoubeTotal, String> {
+
+    // Maiores grupos pelo índice de total, sem agrupar nada na leitura
+    @Query("""
+            SELECT new com.example.InfoCheck.dtos.ContagemDTO(c.comoSoube, c.total)
+            FROM ComoSoubeTotal c
+            ORDER BY c.total DESC
+            """)
+    List<ContagemDTO> contarPorComoSoube(Pageable limite);
+
+    @Query("SELECT COALESCE(SUM(c.total), 0) FROM ComoSoubeTotal c")
+    long somarTotal();
+}
@@ -0,0 +1,12 @@
+package com.example.InfoCheck.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.InfoCheck.entities.ContatoRisco;
+
+public interface ContatoRiscoRepository extends JpaRepository<ContatoRisco, String>, ContatoRiscoRepositoryCustom {
+
+    @Query("SELECT COALESCE(SUM(c.totalDenuncias), 0) FROM ContatoRisco c")
+    long somarDenuncias();
+}
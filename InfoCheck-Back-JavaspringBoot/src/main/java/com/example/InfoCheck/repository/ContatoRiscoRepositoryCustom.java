@@ -0,0 +1,19 @@
+package com.example.InfoCheck.repository;
+
+import com.example.InfoCheck.entities.ContatoRisco;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+// Leitura e gravação das pontuações por JDBC: as linhas não entram na sessão JPA,
+// que de outro modo cresceria com cada contato de uma importação longa
+public interface ContatoRiscoRepositoryCustom {
+
+    // Soma a cada contato a pontuação de um lote (valendo em atualizadoEm), decaindo as
+    // duas partes até o instante mais recente, e devolve as linhas como ficaram no banco
+    List<ContatoRisco> somar(Collection<ContatoRisco> lote, Duration meiaVida);
+
+    // INSERT em lote (reconstrução, com a tabela vazia)
+    void inserir(Collection<ContatoRisco> riscos);
+}
@@ -0,0 +1,167 @@
+package com.example.InfoCheck.repository;
+
+import com.example.InfoCheck.entities.ContatoRisco;
+import com.example.InfoCheck.util.DecaimentoExponencial;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ContatoRiscoRepositoryImpl implements ContatoRiscoRepositoryCustom {
+
+    // Contatos por consulta de bloqueio (limite de parâmetros do IN)
+    private static final int LOTE_BLOQUEIO = 500;
+
+    // PostgreSQL: o lote inteiro num comando, com as linhas em ordem de contato para que
+    // lotes concorrentes bloqueiem na mesma ordem. O decaimento é linear, então a pontuação
+    // guardada e a do lote decaem cada uma até o instante mais recente e se somam.
+    private static final String SOMAR_POSTGRES = """
+            INSERT INTO contatos_risco AS r (contato_normalizado, pontuacao, atualizado_em, total_denuncias)
+            SELECT * FROM unnest(?::varchar[], ?::float8[], ?::timestamp[], ?::int8[]) ORDER BY 1
+            ON CONFLICT (contato_normalizado) DO UPDATE SET
+                pontuacao = r.pontuacao * power(2, -GREATEST(EXTRACT(EPOCH FROM EXCLUDED.atualizado_em - r.atualizado_em), 0) * 1000 / ?)
+                          + EXCLUDED.pontuacao * power(2, -GREATEST(EXTRACT(EPOCH FROM r.atualizado_em - EXCLUDED.atualizado_em), 0) * 1000 / ?),
+                atualizado_em = GREATEST(r.atualizado_em, EXCLUDED.atualizado_em),
+                total_denuncias = r.total_denuncias + EXCLUDED.total_denuncias
+            RETURNING contato_normalizado, pontuacao, atualizado_em, total_denuncias
+            """;
+
+    private static final RowMapper<ContatoRisco> LINHA = (rs, i) -> new ContatoRisco(
+            rs.getString(1),
+            rs.getDouble(2),
+            rs.getTimestamp(3).toLocalDateTime(),
+            rs.getLong(4));
+
+    private final JdbcTemplate jdbc;
+    private final AgregacoesJdbc agregacoes;
+
+    public ContatoRiscoRepositoryImpl(JdbcTemplate jdbc, AgregacoesJdbc agregacoes) {
+        this.jdbc = jdbc;
+        this.agregacoes = agregacoes;
+    }
+
+    @Override
+    public List<ContatoRisco> somar(Collection<ContatoRisco> lote, Duration meiaVida) {
+        if (lote.isEmpty()) {
+            return List.of();
+        }
+        List<ContatoRisco> ordenados = new ArrayList<>(lote);
+        ordenados.sort(Comparator.comparing(ContatoRisco::getContatoNormalizado));
+        return agregacoes.isPostgres() ? somarPostgres(ordenados, meiaVida) : somarComBloqueio(ordenados, meiaVida);
+    }
+
+    private List<ContatoRisco> somarPostgres(List<ContatoRisco> lote, Duration meiaVida) {
+        int n = lote.size();
+        String[] contatos = new String[n];
+        Double[] pontuacoes = new Double[n];
+        Timestamp[] instantes = new Timestamp[n];
+        Long[] totais = new Long[n];
+        for (int i = 0; i < n; i++) {
+            ContatoRisco r = lote.get(i);
+            contatos[i] = r.getContatoNormalizado();
+            pontuacoes[i] = r.getPontuacao();
+            instantes[i] = timestamp(r.getAtualizadoEm());
+            totais[i] = r.getTotalDenuncias();
+        }
+        return jdbc.execute((ConnectionCallback<List<ContatoRisco>>) con -> {
+            Array[] colunas = {
+                    con.createArrayOf("varchar", contatos),
+                    con.createArrayOf("float8", pontuacoes),
+                    con.createArrayOf("timestamp", instantes),
+                    con.createArrayOf("int8", totais) };
+            try (PreparedStatement ps = con.prepareStatement(SOMAR_POSTGRES)) {
+                for (int i = 0; i < colunas.length; i++) {
+                    ps.setArray(i + 1, colunas[i]);
+                }
+                ps.setDouble(5, meiaVida.toMillis());
+                ps.setDouble(6, meiaVida.toMillis());
+                List<ContatoRisco> gravados = new ArrayList<>(n);
+                try (var rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        gravados.add(LINHA.mapRow(rs, gravados.size()));
+                    }
+                }
+                return gravados;
+            } finally {
+                for (Array coluna : colunas) {
+                    coluna.free();
+                }
+            }
+        });
+    }
+
+    // Demais bancos (H2 local): cria as linhas que faltam, bloqueia, soma em Java e grava.
+    // Sem linha o FOR UPDATE não bloquearia nada e duas primeiras denúncias do contato
+    // inseririam a mesma chave, por isso a criação vem antes do bloqueio.
+    private List<ContatoRisco> somarComBloqueio(List<ContatoRisco> lote, Duration meiaVida) {
+        List<Object[]> iniciais = new ArrayList<>(lote.size());
+        for (ContatoRisco r : lote) {
+            iniciais.add(new Object[] { r.getContatoNormalizado(), 0.0, timestamp(r.getAtualizadoEm()), 0L });
+        }
+        agregacoes.criarSeAusente("contatos_risco", List.of("contato_normalizado"),
+                List.of("pontuacao", "atualizado_em", "total_denuncias"), iniciais);
+
+        Map<String, ContatoRisco> existentes = new HashMap<>();
+        for (int i = 0; i < lote.size(); i += LOTE_BLOQUEIO) {
+            for (ContatoRisco r : bloquear(lote.subList(i, Math.min(i + LOTE_BLOQUEIO, lote.size())))) {
+                existentes.put(r.getContatoNormalizado(), r);
+            }
+        }
+
+        List<ContatoRisco> atualizados = new ArrayList<>(lote.size());
+        List<Object[]> linhas = new ArrayList<>(lote.size());
+        for (ContatoRisco delta : lote) {
+            ContatoRisco atual = existentes.get(delta.getContatoNormalizado());
+            LocalDateTime referencia = atual.getAtualizadoEm().isAfter(delta.getAtualizadoEm())
+                    ? atual.getAtualizadoEm()
+                    : delta.getAtualizadoEm();
+            double pontuacao = DecaimentoExponencial.decair(atual.getPontuacao(), atual.getAtualizadoEm(), referencia, meiaVida)
+                    + DecaimentoExponencial.decair(delta.getPontuacao(), delta.getAtualizadoEm(), referencia, meiaVida);
+            ContatoRisco somado = new ContatoRisco(delta.getContatoNormalizado(), pontuacao, referencia,
+                    atual.getTotalDenuncias() + delta.getTotalDenuncias());
+            atualizados.add(somado);
+            linhas.add(new Object[] { somado.getPontuacao(), timestamp(somado.getAtualizadoEm()),
+                    somado.getTotalDenuncias(), somado.getContatoNormalizado() });
+        }
+        jdbc.batchUpdate(
+                "UPDATE contatos_risco SET pontuacao = ?, atualizado_em = ?, total_denuncias = ? WHERE contato_normalizado = ?",
+                linhas);
+        return atualizados;
+    }
+
+    // Lê com bloqueio (SELECT ... FOR UPDATE) as linhas dos contatos, em ordem de contato
+    private List<ContatoRisco> bloquear(List<ContatoRisco> lote) {
+        String sql = "SELECT contato_normalizado, pontuacao, atualizado_em, total_denuncias FROM contatos_risco"
+                + " WHERE contato_normalizado IN (" + String.join(", ", Collections.nCopies(lote.size(), "?")) + ")"
+                + " ORDER BY contato_normalizado FOR UPDATE";
+        return jdbc.query(sql, LINHA, lote.stream().map(ContatoRisco::getContatoNormalizado).toArray());
+    }
+
+    @Override
+    public void inserir(Collection<ContatoRisco> riscos) {
+        List<Object[]> linhas = new ArrayList<>(riscos.size());
+        for (ContatoRisco r : riscos) {
+            linhas.add(new Object[] { r.getContatoNormalizado(), r.getPontuacao(), timestamp(r.getAtualizadoEm()), r.getTotalDenuncias() });
+        }
+        jdbc.batchUpdate(
+                "INSERT INTO contatos_risco (contato_normalizado, pontuacao, atualizado_em, total_denuncias) VALUES (?, ?, ?, ?)",
+                linhas);
+    }
+
+    private static Timestamp timestamp(LocalDateTime quando) {
+        return Timestamp.valueOf(quando);
+    }
+}
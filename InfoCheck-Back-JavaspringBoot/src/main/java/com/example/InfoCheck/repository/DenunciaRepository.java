@@ -1,59 +1,204 @@
 package com.example.InfoCheck.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.example.InfoCheck.dtos.DenunciaResumoDTO;
 import com.example.InfoCheck.entities.Denuncia;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface DenunciaRepository extends JpaRepository<Denuncia, Integer> {
+public interface DenunciaRepository extends JpaRepository<Denuncia, Integer>, DenunciaRepositoryCustom {
+
+        // Projeção das listagens: uma única consulta com LEFT JOIN, sem carregar entidades
+        String SELECT_RESUMO = """
+                        SELECT new com.example.InfoCheck.dtos.DenunciaResumoDTO(
+                            d.id_denuncia, u.id_usuario, u.nome, b.id_banco, b.nome_banco, t.id_tipo, t.nome_tipo,
+                            d.contatoDenunciado, d.descricao, d.valor, d.boletim, d.dataGolpeOcorrido,
+                            d.comoSoube, d.tipoGolpeOutro, d.nomeBancoOutro, d.data_denuncia)
+                        FROM Denuncia d
+                        LEFT JOIN d.usuario u
+                        LEFT JOIN d.banco b
+                        LEFT JOIN d.tipoGolpe t
+                        """;
+
+        // Listar todas
+        @Query(SELECT_RESUMO)
+        List<DenunciaResumoDTO> findAllResumo();
 
         // Buscar por ID do banco
-        @Query("SELECT d FROM Denuncia d WHERE d.banco.id_banco = :idBanco")
-        List<Denuncia> findByBancoId(@Param("idBanco") Integer idBanco);
+        @Query(SELECT_RESUMO + "WHERE b.id_banco = :idBanco")
+        List<DenunciaResumoDTO> findByBancoId(@Param("idBanco") Integer idBanco);
 
         // Buscar por CPF do usuário
-        @Query("SELECT d FROM Denuncia d WHERE d.usuario.cpf = :cpf")
-        List<Denuncia> findByUsuarioCpf(@Param("cpf") String cpf);
+        @Query(SELECT_RESUMO + "WHERE u.cpf = :cpf")
+        List<DenunciaResumoDTO> findByUsuarioCpf(@Param("cpf") String cpf);
 
         // Buscar por ID do usuário
-        @Query("SELECT d FROM Denuncia d WHERE d.usuario.id_usuario = :idUsuario")
-        List<Denuncia> findByUsuarioId(@Param("idUsuario") Integer idUsuario);
+        @Query(SELECT_RESUMO + "WHERE u.id_usuario = :idUsuario")
+        List<DenunciaResumoDTO> findByUsuarioId(@Param("idUsuario") Integer idUsuario);
 
         // Buscar por ID do tipo de golpe
-        @Query("SELECT d FROM Denuncia d WHERE d.tipoGolpe.id_tipo = :idTipo")
-        List<Denuncia> findByTipoId(@Param("idTipo") Integer idTipo);
+        @Query(SELECT_RESUMO + "WHERE t.id_tipo = :idTipo")
+        List<DenunciaResumoDTO> findByTipoId(@Param("idTipo") Integer idTipo);
+
+        // Buscar por período [inicio, fim) direto sobre data_denuncia, para usar o índice
+        // (e a poda de partições); o mês é [dia 1, dia 1 do mês seguinte)
+        @Query(SELECT_RESUMO + """
+                        WHERE d.data_denuncia >= :inicio
+                        AND d.data_denuncia < :fim
+                        """)
+        List<DenunciaResumoDTO> findBetweenDates(
+                        @Param("inicio") LocalDateTime inicio,
+                        @Param("fim") LocalDateTime fim);
+
+        @Query(SELECT_RESUMO + "WHERE u.id_usuario = :idUsuario ORDER BY d.data_denuncia DESC")
+        List<DenunciaResumoDTO> findByUsuarioOrderByDataDenunciaDesc(@Param("idUsuario") Integer idUsuario);
+
+        // [como soube, total] com o texto como gravado; base da reconstrução de denuncias_como_soube
+        @Query("SELECT d.comoSoube, COUNT(d) FROM Denuncia d GROUP BY d.comoSoube")
+        List<Object[]> contarPorComoSoube();
 
-        // Buscar por mês e ano usando data_denuncia
+        // Denúncias cobertas pelo resumo diário (mesmo filtro da reconstrução)
+        @Query("SELECT COUNT(d) FROM Denuncia d WHERE d.data_denuncia IS NOT NULL")
+        long contarComData();
+
+        // [dia, id banco (0 = sem), id tipo (0 = sem), total, soma valor, com valor, com boletim]
+        // Base da reconstrução de denuncias_resumo_diario
         @Query("""
-                        SELECT d FROM Denuncia d
-                        WHERE YEAR(d.data_denuncia) = :ano
-                        AND MONTH(d.data_denuncia) = :mes
+                        SELECT CAST(d.data_denuncia AS LocalDate), COALESCE(b.id_banco, 0), COALESCE(t.id_tipo, 0),
+                               COUNT(d), COALESCE(SUM(d.valor), 0), COUNT(d.valor),
+                               SUM(CASE WHEN d.boletim = true THEN 1 ELSE 0 END)
+                        FROM Denuncia d LEFT JOIN d.banco b LEFT JOIN d.tipoGolpe t
+                        WHERE d.data_denuncia IS NOT NULL
+                        GROUP BY CAST(d.data_denuncia AS LocalDate), COALESCE(b.id_banco, 0), COALESCE(t.id_tipo, 0)
                         """)
-        List<Denuncia> findByAnoMes(
-                        @Param("ano") int ano,
-                        @Param("mes") int mes);
+        List<Object[]> agregarPorDiaBancoTipo();
 
-        // Buscar entre duas datas (com data_denuncia)
+        // [dia, hora, total, soma valor] no intervalo [inicio, fim); só para séries curtas por hora
         @Query("""
-                        SELECT d FROM Denuncia d
-                        WHERE d.data_denuncia BETWEEN :inicio AND :fim
+                        SELECT CAST(d.data_denuncia AS LocalDate), HOUR(d.data_denuncia), COUNT(d), COALESCE(SUM(d.valor), 0)
+                        FROM Denuncia d LEFT JOIN d.banco b LEFT JOIN d.tipoGolpe t
+                        WHERE d.data_denuncia >= :inicio AND d.data_denuncia < :fim
+                        AND (:idBanco IS NULL OR COALESCE(b.id_banco, 0) = :idBanco)
+                        AND (:idTipo IS NULL OR COALESCE(t.id_tipo, 0) = :idTipo)
+                        GROUP BY CAST(d.data_denuncia AS LocalDate), HOUR(d.data_denuncia)
                         """)
-        List<Denuncia> findBetweenDates(
+        List<Object[]> somarPorHora(
                         @Param("inicio") LocalDateTime inicio,
-                        @Param("fim") LocalDateTime fim);
+                        @Param("fim") LocalDateTime fim,
+                        @Param("idBanco") Integer idBanco,
+                        @Param("idTipo") Integer idTipo);
+
+        // [id, data, id banco (0 = sem), id tipo (0 = sem), valor] das denúncias com valor,
+        // em páginas por id (reconstrução dos esboços de quantis)
+        @Query("""
+                        SELECT d.id_denuncia, d.data_denuncia, COALESCE(b.id_banco, 0), COALESCE(t.id_tipo, 0), d.valor
+                        FROM Denuncia d LEFT JOIN d.banco b LEFT JOIN d.tipoGolpe t
+                        WHERE d.valor IS NOT NULL AND d.data_denuncia IS NOT NULL AND d.id_denuncia > :aposId
+                        ORDER BY d.id_denuncia
+                        """)
+        List<Object[]> findValoresPorBancoTipo(@Param("aposId") Integer aposId, Pageable lote);
+
+        // Denúncias cobertas pelos esboços de quantis (mesmo filtro da reconstrução)
+        @Query("SELECT COUNT(d) FROM Denuncia d WHERE d.valor IS NOT NULL AND d.data_denuncia IS NOT NULL")
+        long contarComValor();
+
+        // [id, id banco (0 = sem), id tipo (0 = sem), data, boletim, como soube] em ordem de id,
+        // para a carga do índice de facetas em lotes
+        @Query("""
+                        SELECT d.id_denuncia, COALESCE(b.id_banco, 0), COALESCE(t.id_tipo, 0),
+                               d.data_denuncia, d.boletim, d.comoSoube
+                        FROM Denuncia d LEFT JOIN d.banco b LEFT JOIN d.tipoGolpe t
+                        WHERE d.id_denuncia > :aposId
+                        ORDER BY d.id_denuncia
+                        """)
+        List<Object[]> findFacetas(@Param("aposId") Integer aposId, Pageable lote);
+
+        // [id, prefixo CEP (5 dígitos), data, valor] das denúncias com região, em páginas por id
+        // (reconstrução da agregação regional)
+        @Query("""
+                        SELECT d.id_denuncia, d.cepPrefixo, d.data_denuncia, d.valor FROM Denuncia d
+                        WHERE d.cepPrefixo IS NOT NULL AND d.data_denuncia IS NOT NULL AND d.id_denuncia > :aposId
+                        ORDER BY d.id_denuncia
+                        """)
+        List<Object[]> findRegioes(@Param("aposId") Integer aposId, Pageable lote);
 
-        @Query("SELECT d FROM Denuncia d WHERE d.usuario.id_usuario = :idUsuario ORDER BY d.data_denuncia DESC")
-        List<Denuncia> findByUsuarioOrderByDataDenunciaDesc(@Param("idUsuario") Integer idUsuario);
+        // Denúncias cobertas pela agregação regional (mesmo filtro da reconstrução)
+        @Query("SELECT COUNT(d) FROM Denuncia d WHERE d.cepPrefixo IS NOT NULL AND d.data_denuncia IS NOT NULL")
+        long contarComRegiao();
 
-        // Contar denúncias por contato denunciado (normalizado removendo espaços, pontos, parênteses e traços)
+        // Contar denúncias pelo contato normalizado (coluna indexada contato_normalizado)
+        long countByContatoNormalizado(String contatoNormalizado);
+
+        // Total de denúncias por contato normalizado (carga do índice em memória)
+        @Query("""
+                SELECT d.contatoNormalizado, COUNT(d) FROM Denuncia d
+                WHERE d.contatoNormalizado IS NOT NULL
+                GROUP BY d.contatoNormalizado
+                """)
+        List<Object[]> contarPorContatoNormalizado();
+
+        // Total por contato, só para os contatos informados (verificação em lote)
+        @Query("""
+                SELECT d.contatoNormalizado, COUNT(d) FROM Denuncia d
+                WHERE d.contatoNormalizado IN :contatos
+                GROUP BY d.contatoNormalizado
+                """)
+        List<Object[]> contarPorContatosNormalizados(@Param("contatos") Collection<String> contatos);
+
+        // [id, contato, data] do histórico em páginas por id, para recalcular a pontuação de risco
+        // (a soma com decaimento não depende da ordem dos eventos)
+        @Query("""
+                SELECT d.id_denuncia, d.contatoNormalizado, d.data_denuncia FROM Denuncia d
+                WHERE d.contatoNormalizado IS NOT NULL AND d.data_denuncia IS NOT NULL AND d.id_denuncia > :aposId
+                ORDER BY d.id_denuncia
+                """)
+        List<Object[]> findHistoricoContatos(@Param("aposId") Integer aposId, Pageable lote);
+
+        // Denúncias cobertas pelas pontuações de risco (mesmo filtro do histórico)
         @Query("""
                 SELECT COUNT(d) FROM Denuncia d
-                WHERE LOWER(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(d.contatoDenunciado, ' ', ''), '-', ''), '.', ''), '(', ''), ')', ''))
-                      = LOWER(:contatoNormalizado)
+                WHERE d.contatoNormalizado IS NOT NULL AND d.data_denuncia IS NOT NULL
                 """)
-        long countByContatoNormalizado(@Param("contatoNormalizado") String contatoNormalizado);
+        long contarHistoricoContatos();
+
+        @Query("""
+                SELECT d.contatoNormalizado, d.data_denuncia FROM Denuncia d
+                WHERE d.contatoNormalizado IS NOT NULL AND d.data_denuncia >= :desde
+                """)
+        List<Object[]> findContatosDesde(@Param("desde") LocalDateTime desde);
+
+        @Query("SELECT DISTINCT d.contatoNormalizado FROM Denuncia d WHERE d.contatoNormalizado IS NOT NULL")
+        List<String> findContatosNormalizadosDistintos();
+
+        // Denúncias antigas ainda sem contato_normalizado (para o preenchimento em lotes)
+        @Query("SELECT d.id_denuncia, d.contatoDenunciado FROM Denuncia d WHERE d.contatoNormalizado IS NULL ORDER BY d.id_denuncia")
+        List<Object[]> findSemContatoNormalizado(Pageable pageable);
+
+        // Denúncias antigas ainda sem cep_prefixo, com o CEP atual do denunciante, a data e o valor
+        // (preenchimento em lotes, somado à agregação regional)
+        @Query("""
+                        SELECT d.id_denuncia, u.cep, d.data_denuncia, d.valor FROM Denuncia d JOIN d.usuario u
+                        WHERE d.cepPrefixo IS NULL AND u.cep IS NOT NULL AND d.id_denuncia > :aposId
+                        ORDER BY d.id_denuncia
+                        """)
+        List<Object[]> findSemCepPrefixo(@Param("aposId") Integer aposId, Pageable pageable);
+
+        @Modifying
+        @Query("UPDATE Denuncia d SET d.cepPrefixo = :cepPrefixo WHERE d.id_denuncia = :id")
+        int atualizarCepPrefixo(
+                        @Param("id") Integer id,
+                        @Param("cepPrefixo") String cepPrefixo);
+
+        @Modifying
+        @Query("UPDATE Denuncia d SET d.contatoNormalizado = :contatoNormalizado WHERE d.id_denuncia = :id")
+        int atualizarContatoNormalizado(
+                        @Param("id") Integer id,
+                        @Param("contatoNormalizado") String contatoNormalizado);
 
 }
@@ -0,0 +1,28 @@
+package com.example.InfoCheck.repository;
+
+import com.example.InfoCheck.dtos.DenunciaResumoDTO;
+import com.example.InfoCheck.dtos.FiltroDenunciasDTO;
+import com.example.InfoCheck.entities.Denuncia;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Consultas com filtros dinâmicos (JPQL montado só com os filtros informados)
+public interface DenunciaRepositoryCustom {
+
+    // Página por keyset: ordem data_denuncia DESC, id_denuncia DESC, começando depois do cursor
+    List<DenunciaResumoDTO> buscarPagina(
+            FiltroDenunciasDTO filtro,
+            LocalDateTime cursorData,
+            Integer cursorId,
+            int limite);
+
+    // Denúncias sem data_denuncia (fora da ordem por data) com os demais filtros,
+    // em ordem de id a partir de "aposId"; filtro por período não as inclui
+    List<DenunciaResumoDTO> buscarPaginaSemData(FiltroDenunciasDTO filtro, Integer aposId, int limite);
+
+    // Gravação em lote por JDBC, preenchendo id_denuncia em cada denúncia. No PostgreSQL
+    // reserva os ids na sequência e grava por COPY; nos demais bancos (H2 local), INSERT em
+    // lote com os ids IDENTITY devolvidos. Deve rodar dentro de uma transação.
+    void inserirEmLote(List<Denuncia> denuncias);
+}
@@ -0,0 +1,261 @@
+package com.example.InfoCheck.repository;
+
+import com.example.InfoCheck.dtos.DenunciaResumoDTO;
+import com.example.InfoCheck.dtos.FiltroDenunciasDTO;
+import com.example.InfoCheck.entities.Denuncia;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class DenunciaRepositoryImpl implements DenunciaRepositoryCustom {
+
+    private static final String INSERT = """
+            INSERT INTO denuncias (id_usuario, id_banco, id_tipo, contato_denunciado, contato_normalizado,
+                                   cep_prefixo, descricao, valor, boletim, data_golpe_ocorrido, como_soube,
+                                   tipo_golpe_outro, nome_banco_outro, data_denuncia)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // COPY com os ids já reservados na sequência: as colunas na ordem de linhaCsv
+    private static final String COPY = """
+            COPY denuncias (id_denuncia, id_usuario, id_banco, id_tipo, contato_denunciado, contato_normalizado,
+                            cep_prefixo, descricao, valor, boletim, data_golpe_ocorrido, como_soube,
+                            tipo_golpe_outro, nome_banco_outro, data_denuncia)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private static final String RESERVAR_IDS =
+            "SELECT nextval(pg_get_serial_sequence('denuncias', 'id_denuncia')) FROM generate_series(1, ?)";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final JdbcTemplate jdbc;
+    private final AgregacoesJdbc agregacoes;
+
+    public DenunciaRepositoryImpl(JdbcTemplate jdbc, AgregacoesJdbc agregacoes) {
+        this.jdbc = jdbc;
+        this.agregacoes = agregacoes;
+    }
+
+    @Override
+    public void inserirEmLote(List<Denuncia> denuncias) {
+        if (denuncias.isEmpty()) {
+            return;
+        }
+        // Denúncias gravadas pela sessão JPA precisam estar no banco antes do lote
+        em.flush();
+        denuncias.forEach(Denuncia::preencherCamposDerivados);
+
+        if (agregacoes.isPostgres()) {
+            copiar(denuncias);
+            return;
+        }
+
+        KeyHolder chaves = new GeneratedKeyHolder();
+        jdbc.batchUpdate(
+                con -> con.prepareStatement(INSERT, new String[] { "id_denuncia" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Denuncia d = denuncias.get(i);
+                        ps.setInt(1, d.getUsuario().getId_usuario());
+                        definir(ps, 2, d.getBanco() != null ? d.getBanco().getId_banco() : null, Types.INTEGER);
+                        definir(ps, 3, d.getTipoGolpe() != null ? d.getTipoGolpe().getId_tipo() : null, Types.INTEGER);
+                        ps.setString(4, d.getContatoDenunciado());
+                        definir(ps, 5, d.getContatoNormalizado(), Types.VARCHAR);
+                        definir(ps, 6, d.getCepPrefixo(), Types.VARCHAR);
+                        definir(ps, 7, d.getDescricao(), Types.VARCHAR);
+                        definir(ps, 8, d.getValor(), Types.DOUBLE);
+                        definir(ps, 9, d.getBoletim(), Types.BOOLEAN);
+                        definir(ps, 10, d.getDataGolpeOcorrido(), Types.DATE);
+                        definir(ps, 11, d.getComoSoube(), Types.VARCHAR);
+                        definir(ps, 12, d.getTipoGolpeOutro(), Types.VARCHAR);
+                        definir(ps, 13, d.getNomeBancoOutro(), Types.VARCHAR);
+                        definir(ps, 14, d.getData_denuncia(), Types.TIMESTAMP);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return denuncias.size();
+                    }
+                },
+                chaves);
+
+        List<Map<String, Object>> ids = chaves.getKeyList();
+        if (ids.size() != denuncias.size()) {
+            throw new IllegalStateException("O banco devolveu " + ids.size() + " ids para " + denuncias.size() + " denúncias");
+        }
+        for (int i = 0; i < denuncias.size(); i++) {
+            Object id = ids.get(i).values().iterator().next();
+            denuncias.get(i).setId_denuncia(((Number) Objects.requireNonNull(id)).intValue());
+        }
+    }
+
+    // PostgreSQL: reserva os ids numa consulta só e manda o lote inteiro por COPY,
+    // sem uma linha de INSERT (nem RETURNING) por denúncia
+    private void copiar(List<Denuncia> denuncias) {
+        List<Long> ids = jdbc.queryForList(RESERVAR_IDS, Long.class, denuncias.size());
+        StringBuilder csv = new StringBuilder(denuncias.size() * 128);
+        for (int i = 0; i < denuncias.size(); i++) {
+            Denuncia d = denuncias.get(i);
+            d.setId_denuncia(ids.get(i).intValue());
+            linhaCsv(csv, d);
+        }
+        Long copiadas = jdbc.execute((ConnectionCallback<Long>) con -> {
+            try {
+                return con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (copiadas == null || copiadas != denuncias.size()) {
+            throw new IllegalStateException("COPY gravou " + copiadas + " de " + denuncias.size() + " denúncias");
+        }
+    }
+
+    private static void linhaCsv(StringBuilder csv, Denuncia d) {
+        campoCsv(csv, d.getId_denuncia(), false);
+        campoCsv(csv, d.getUsuario().getId_usuario(), false);
+        campoCsv(csv, d.getBanco() != null ? d.getBanco().getId_banco() : null, false);
+        campoCsv(csv, d.getTipoGolpe() != null ? d.getTipoGolpe().getId_tipo() : null, false);
+        campoCsv(csv, d.getContatoDenunciado(), false);
+        campoCsv(csv, d.getContatoNormalizado(), false);
+        campoCsv(csv, d.getCepPrefixo(), false);
+        campoCsv(csv, d.getDescricao(), false);
+        campoCsv(csv, d.getValor(), false);
+        campoCsv(csv, d.getBoletim(), false);
+        campoCsv(csv, d.getDataGolpeOcorrido(), false);
+        campoCsv(csv, d.getComoSoube(), false);
+        campoCsv(csv, d.getTipoGolpeOutro(), false);
+        campoCsv(csv, d.getNomeBancoOutro(), false);
+        campoCsv(csv, d.getData_denuncia(), true);
+    }
+
+    // No CSV do COPY, campo vazio sem aspas é NULL; texto vai sempre entre aspas
+    // (assim "" é string vazia) com as aspas internas duplicadas
+    private static void campoCsv(StringBuilder csv, Object valor, boolean ultimo) {
+        if (valor instanceof String texto) {
+            csv.append('"').append(texto.replace("\"", "\"\"")).append('"');
+        } else if (valor != null) {
+            csv.append(valor);
+        }
+        csv.append(ultimo ? '\n' : ',');
+    }
+
+    private static void definir(PreparedStatement ps, int indice, Object valor, int tipo) throws SQLException {
+        if (valor == null) {
+            ps.setNull(indice, tipo);
+        } else {
+            ps.setObject(indice, valor);
+        }
+    }
+
+    @Override
+    public List<DenunciaResumoDTO> buscarPagina(
+            FiltroDenunciasDTO filtro,
+            LocalDateTime cursorData,
+            Integer cursorId,
+            int limite) {
+        List<String> condicoes = new ArrayList<>();
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        // Denúncias sem data não entram na ordenação por data
+        condicoes.add("d.data_denuncia IS NOT NULL");
+        aplicarFiltros(filtro, condicoes, parametros);
+
+        // Seek: só linhas depois da última da página anterior (usa o índice, sem OFFSET)
+        if (cursorData != null && cursorId != null) {
+            condicoes.add("(d.data_denuncia < :cursorData OR (d.data_denuncia = :cursorData AND d.id_denuncia < :cursorId))");
+            parametros.put("cursorData", cursorData);
+            parametros.put("cursorId", cursorId);
+        }
+
+        TypedQuery<DenunciaResumoDTO> query = criarConsulta(condicoes, parametros, "d.data_denuncia DESC, d.id_denuncia DESC");
+        query.setMaxResults(limite);
+        return query.getResultList();
+    }
+
+    @Override
+    public List<DenunciaResumoDTO> buscarPaginaSemData(FiltroDenunciasDTO filtro, Integer aposId, int limite) {
+        List<String> condicoes = new ArrayList<>();
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        condicoes.add("d.data_denuncia IS NULL");
+        aplicarFiltros(filtro, condicoes, parametros);
+        if (aposId != null) {
+            condicoes.add("d.id_denuncia > :aposId");
+            parametros.put("aposId", aposId);
+        }
+
+        TypedQuery<DenunciaResumoDTO> query = criarConsulta(condicoes, parametros, "d.id_denuncia");
+        query.setMaxResults(limite);
+        return query.getResultList();
+    }
+
+    private TypedQuery<DenunciaResumoDTO> criarConsulta(List<String> condicoes, Map<String, Object> parametros, String ordem) {
+        String jpql = DenunciaRepository.SELECT_RESUMO
+                + "WHERE " + String.join(" AND ", condicoes)
+                + " ORDER BY " + ordem;
+        TypedQuery<DenunciaResumoDTO> query = em.createQuery(jpql, DenunciaResumoDTO.class);
+        parametros.forEach(query::setParameter);
+        return query;
+    }
+
+    private static void aplicarFiltros(FiltroDenunciasDTO filtro, List<String> condicoes, Map<String, Object> parametros) {
+        if (filtro == null) {
+            return;
+        }
+        if (filtro.getIdBanco() != null) {
+            condicoes.add("b.id_banco = :idBanco");
+            parametros.put("idBanco", filtro.getIdBanco());
+        }
+        if (filtro.getIdTipo() != null) {
+            condicoes.add("t.id_tipo = :idTipo");
+            parametros.put("idTipo", filtro.getIdTipo());
+        }
+        if (filtro.getIdUsuario() != null) {
+            condicoes.add("u.id_usuario = :idUsuario");
+            parametros.put("idUsuario", filtro.getIdUsuario());
+        }
+        if (filtro.getBoletim() != null) {
+            condicoes.add("d.boletim = :boletim");
+            parametros.put("boletim", filtro.getBoletim());
+        }
+        if (filtro.getValorMin() != null) {
+            condicoes.add("d.valor >= :valorMin");
+            parametros.put("valorMin", filtro.getValorMin());
+        }
+        if (filtro.getValorMax() != null) {
+            condicoes.add("d.valor <= :valorMax");
+            parametros.put("valorMax", filtro.getValorMax());
+        }
+        // Intervalo semiaberto [início do dia inicial, início do dia seguinte ao final)
+        if (filtro.getDataInicio() != null) {
+            condicoes.add("d.data_denuncia >= :dataInicio");
+            parametros.put("dataInicio", filtro.getDataInicio().atStartOfDay());
+        }
+        if (filtro.getDataFim() != null) {
+            condicoes.add("d.data_denuncia < :dataFim");
+            parametros.put("dataFim", filtro.getDataFim().plusDays(1).atStartOfDay());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.InfoCheck.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.InfoCheck.entities.EsbocoValor;
+import com.example.InfoCheck.entities.EsbocoValorId;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EsbocoValorRepository extends JpaRepository<EsbocoValor, EsbocoValorId>, EsbocoValorRepositoryCustom {
+
+    // [dimensão, valores contados]; cada denúncia com valor entra uma vez em cada dimensão
+    @Query("SELECT e.id.dimensao, SUM(e.total) FROM EsbocoValor e GROUP BY e.id.dimensao")
+    List<Object[]> somarTotalPorDimensao();
+
+    // Esboços de uma dimensão nos meses [inicio, fim); idReferencia null = todos os ids
+    @Query("""
+            SELECT e FROM EsbocoValor e
+            WHERE e.id.dimensao = :dimensao
+            AND e.id.mes >= :inicio AND e.id.mes < :fim
+            AND (:idReferencia IS NULL OR e.id.idReferencia = :idReferencia)
+            """)
+    List<EsbocoValor> findPorPeriodo(
+            @Param("dimensao") String dimensao,
+            @Param("inicio") LocalDate inicio,
+            @Param("fim") LocalDate fim,
+            @Param("idReferencia") Integer idReferencia);
+}
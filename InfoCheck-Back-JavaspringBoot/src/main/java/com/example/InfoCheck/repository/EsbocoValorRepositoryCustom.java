@@ -0,0 +1,21 @@
+package com.example.InfoCheck.repository;
+
+import com.example.InfoCheck.entities.EsbocoValor;
+import com.example.InfoCheck.entities.EsbocoValorId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Atualização incremental dos esboços por JDBC, fora da sessão JPA
+public interface EsbocoValorRepositoryCustom {
+
+    // Lê com bloqueio de linha para a atualização incremental não perder valores concorrentes
+    Optional<EsbocoValor> bloquear(EsbocoValorId id);
+
+    // UPDATE em lote de total e dados das linhas já existentes
+    void atualizar(List<EsbocoValor> esbocos);
+
+    // INSERT em lote (reconstrução, com a tabela vazia), sem merge nem SELECT por linha
+    void inserir(Collection<EsbocoValor> esbocos);
+}
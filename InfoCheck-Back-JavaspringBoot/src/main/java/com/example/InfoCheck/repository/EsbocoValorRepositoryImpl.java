@@ -0,0 +1,56 @@
+package com.example.InfoCheck.repository;
+
+import com.example.InfoCheck.entities.EsbocoValor;
+import com.example.InfoCheck.entities.EsbocoValorId;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public class EsbocoValorRepositoryImpl implements EsbocoValorRepositoryCustom {
+
+    private final JdbcTemplate jdbc;
+
+    public EsbocoValorRepositoryImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public Optional<EsbocoValor> bloquear(EsbocoValorId id) {
+        return jdbc.query(
+                "SELECT total, dados FROM denuncias_esboco_valor"
+                        + " WHERE mes = ? AND dimensao = ? AND id_referencia = ? FOR UPDATE",
+                (rs, i) -> new EsbocoValor(id, rs.getLong(1), rs.getBytes(2)),
+                Date.valueOf(id.getMes()), id.getDimensao(), id.getIdReferencia())
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public void atualizar(List<EsbocoValor> esbocos) {
+        List<Object[]> linhas = new ArrayList<>(esbocos.size());
+        for (EsbocoValor e : esbocos) {
+            EsbocoValorId id = e.getId();
+            linhas.add(new Object[] { e.getTotal(), e.getDados(), Date.valueOf(id.getMes()), id.getDimensao(), id.getIdReferencia() });
+        }
+        jdbc.batchUpdate(
+                "UPDATE denuncias_esboco_valor SET total = ?, dados = ? WHERE mes = ? AND dimensao = ? AND id_referencia = ?",
+                linhas);
+    }
+
+    @Override
+    public void inserir(Collection<EsbocoValor> esbocos) {
+        List<Object[]> linhas = new ArrayList<>(esbocos.size());
+        for (EsbocoValor e : esbocos) {
+            EsbocoValorId id = e.getId();
+            linhas.add(new Object[] { Date.valueOf(id.getMes()), id.getDimensao(), id.getIdReferencia(), e.getTotal(), e.getDados() });
+        }
+        jdbc.batchUpdate(
+                "INSERT INTO denuncias_esboco_valor (mes, dimensao, id_referencia, total, dados) VALUES (?, ?, ?, ?, ?)",
+                linhas);
+    }
+}
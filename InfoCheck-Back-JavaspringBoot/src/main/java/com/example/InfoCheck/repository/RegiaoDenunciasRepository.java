@@ -0,0 +1,49 @@
+package com.example.InfoCheck.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.InfoCheck.dtos.RegiaoDTO;
+import com.example.InfoCheck.entities.RegiaoDenuncias;
+import com.example.InfoCheck.entities.RegiaoDenunciasId;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RegiaoDenunciasRepository extends JpaRepository<RegiaoDenuncias, RegiaoDenunciasId> {
+
+    // Cada denúncia soma 1 numa linha de nível 1: o total desse nível é o de denúncias agregadas
+    @Query("SELECT COALESCE(SUM(r.total), 0) FROM RegiaoDenuncias r WHERE r.id.nivel = 1")
+    long somarTotal();
+
+    // Prefixos de um nível nos meses [inicio, fim), restritos aos que começam com "dentroDe"
+    @Query("""
+            SELECT new com.example.InfoCheck.dtos.RegiaoDTO(r.id.prefixo, SUM(r.total), SUM(r.somaValor))
+            FROM RegiaoDenuncias r
+            WHERE r.id.nivel = :nivel
+            AND r.id.mes >= :inicio AND r.id.mes < :fim
+            AND r.id.prefixo LIKE :dentroDe
+            GROUP BY r.id.prefixo
+            ORDER BY SUM(r.total) DESC
+            """)
+    List<RegiaoDTO> somarPorPrefixo(
+            @Param("nivel") Integer nivel,
+            @Param("inicio") LocalDate inicio,
+            @Param("fim") LocalDate fim,
+            @Param("dentroDe") String dentroDe,
+            Pageable limite);
+
+    // Linhas mensais de um prefixo nos meses [inicio, fim)
+    @Query("""
+            SELECT r FROM RegiaoDenuncias r
+            WHERE r.id.nivel = :nivel AND r.id.prefixo = :prefixo
+            AND r.id.mes >= :inicio AND r.id.mes < :fim
+            ORDER BY r.id.mes
+            """)
+    List<RegiaoDenuncias> findMeses(
+            @Param("nivel") Integer nivel,
+            @Param("prefixo") String prefixo,
+            @Param("inicio") LocalDate inicio,
+            @Param("fim") LocalDate fim);
+}
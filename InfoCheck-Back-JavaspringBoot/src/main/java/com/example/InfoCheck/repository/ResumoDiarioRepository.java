@@ -0,0 +1,70 @@
+package com.example.InfoCheck.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.InfoCheck.dtos.ContagemDTO;
+import com.example.InfoCheck.entities.ResumoDiario;
+import com.example.InfoCheck.entities.ResumoDiarioId;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ResumoDiarioRepository extends JpaRepository<ResumoDiario, ResumoDiarioId> {
+
+    // [total, soma valor, com valor, com boletim, hoje, semana, mês]
+    @Query("""
+            SELECT COALESCE(SUM(r.total), 0), COALESCE(SUM(r.somaValor), 0),
+                   COALESCE(SUM(r.totalComValor), 0), COALESCE(SUM(r.totalBoletim), 0),
+                   COALESCE(SUM(CASE WHEN r.id.dia >= :hoje THEN r.total ELSE 0 END), 0),
+                   COALESCE(SUM(CASE WHEN r.id.dia >= :semana THEN r.total ELSE 0 END), 0),
+                   COALESCE(SUM(CASE WHEN r.id.dia >= :mes THEN r.total ELSE 0 END), 0)
+            FROM ResumoDiario r
+            """)
+    List<Object[]> totais(
+            @Param("hoje") LocalDate hoje,
+            @Param("semana") LocalDate semana,
+            @Param("mes") LocalDate mes);
+
+    @Query("SELECT COALESCE(SUM(r.total), 0) FROM ResumoDiario r")
+    long somarTotal();
+
+    // [mês (1-12), total] no intervalo [inicio, fim)
+    @Query("""
+            SELECT MONTH(r.id.dia), SUM(r.total) FROM ResumoDiario r
+            WHERE r.id.dia >= :inicio AND r.id.dia < :fim
+            GROUP BY MONTH(r.id.dia)
+            """)
+    List<Object[]> contarPorMes(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    @Query("""
+            SELECT new com.example.InfoCheck.dtos.ContagemDTO(COALESCE(b.nome_banco, 'Outros'), SUM(r.total))
+            FROM ResumoDiario r LEFT JOIN Banco b ON b.id_banco = r.id.idBanco
+            GROUP BY r.id.idBanco, b.nome_banco
+            ORDER BY SUM(r.total) DESC
+            """)
+    List<ContagemDTO> contarPorBanco(Pageable limite);
+
+    @Query("""
+            SELECT new com.example.InfoCheck.dtos.ContagemDTO(COALESCE(t.nome_tipo, 'Outros'), SUM(r.total))
+            FROM ResumoDiario r LEFT JOIN TipoGolpe t ON t.id_tipo = r.id.idTipo
+            GROUP BY r.id.idTipo, t.nome_tipo
+            ORDER BY SUM(r.total) DESC
+            """)
+    List<ContagemDTO> contarPorTipo(Pageable limite);
+
+    // [dia, total, soma valor] no intervalo [inicio, fim), com filtros opcionais
+    @Query("""
+            SELECT r.id.dia, SUM(r.total), SUM(r.somaValor) FROM ResumoDiario r
+            WHERE r.id.dia >= :inicio AND r.id.dia < :fim
+            AND (:idBanco IS NULL OR r.id.idBanco = :idBanco)
+            AND (:idTipo IS NULL OR r.id.idTipo = :idTipo)
+            GROUP BY r.id.dia
+            """)
+    List<Object[]> somarPorDia(
+            @Param("inicio") LocalDate inicio,
+            @Param("fim") LocalDate fim,
+            @Param("idBanco") Integer idBanco,
+            @Param("idTipo") Integer idTipo);
+}
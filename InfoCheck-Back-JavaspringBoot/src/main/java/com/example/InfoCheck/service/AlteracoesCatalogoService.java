@@ -0,0 +1,202 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.dtos.AlteracoesCatalogoDTO;
+import com.example.InfoCheck.entities.AlteracaoCatalogo;
+import com.example.InfoCheck.entities.AlteracaoCatalogo.Catalogo;
+import com.example.InfoCheck.entities.Banco;
+import com.example.InfoCheck.entities.ContatoOficial;
+import com.example.InfoCheck.entities.TipoGolpe;
+import com.example.InfoCheck.repository.AgregacoesJdbc;
+import com.example.InfoCheck.repository.AlteracaoCatalogoRepository;
+import com.example.InfoCheck.repository.BancoRepository;
+import com.example.InfoCheck.repository.ContatoOficialRepository;
+import com.example.InfoCheck.repository.TipoGolpeRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Sincronização incremental dos catálogos (bancos, tipos de golpe e contatos oficiais)
+ * para clientes que guardam uma cópia local.
+ *
+ * Toda gravação nesses catálogos passa por aqui e registra, na mesma transação, uma
+ * linha em alteracoes_catalogo cujo id é a nova versão. O cliente envia a última
+ * versão que recebeu e leva só o estado atual do que mudou depois dela, mais os ids
+ * excluídos; o custo acompanha o número de alterações, não o tamanho dos catálogos.
+ * Sem versão (primeira sincronização) vai o catálogo inteiro.
+ *
+ * A versão vem de uma IDENTITY, atribuída no INSERT e não no commit: com duas gravações
+ * simultâneas, a de versão maior poderia aparecer antes da menor e o cliente, já com a
+ * maior, pularia a outra para sempre. Por isso cada gravação primeiro soma a linha única
+ * de alteracoes_catalogo_contador, que fica bloqueada até o commit: uma versão só é gerada
+ * depois que a anterior foi confirmada (ou desfeita), e elas aparecem em ordem.
+ */
+@Service
+public class AlteracoesCatalogoService {
+
+    private final AlteracaoCatalogoRepository repo;
+    private final BancoRepository bancoRepo;
+    private final TipoGolpeRepository tipoGolpeRepo;
+    private final ContatoOficialRepository contatoRepo;
+    private final AgregacoesJdbc agregacoes;
+    private final TransactionTemplate escrita;
+    private final TransactionTemplate leitura;
+    private final int tamanhoLote;
+
+    public AlteracoesCatalogoService(
+            AlteracaoCatalogoRepository repo,
+            BancoRepository bancoRepo,
+            TipoGolpeRepository tipoGolpeRepo,
+            ContatoOficialRepository contatoRepo,
+            AgregacoesJdbc agregacoes,
+            PlatformTransactionManager transactionManager,
+            @Value("${infocheck.catalogo.sincronizacao.lote:1000}") int tamanhoLote) {
+        this.repo = repo;
+        this.bancoRepo = bancoRepo;
+        this.tipoGolpeRepo = tipoGolpeRepo;
+        this.contatoRepo = contatoRepo;
+        this.agregacoes = agregacoes;
+        this.escrita = new TransactionTemplate(transactionManager);
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+    }
+
+    // ==========================================
+    // 🔹 REGISTRO
+    // ==========================================
+
+    // Grava o registro e a alteração juntos; os caches devem ser invalidados depois do retorno
+    public <T> T salvar(Catalogo catalogo, Supplier<T> gravacao, Function<T, Integer> id) {
+        return escrita.execute(status -> {
+            T salvo = gravacao.get();
+            registrar(catalogo, id.apply(salvo), false);
+            return salvo;
+        });
+    }
+
+    // Exclui o registro e deixa a lápide para os clientes apagarem a cópia local.
+    // A exclusão devolve false quando não havia o que excluir: nada é registrado
+    public boolean remover(Catalogo catalogo, Integer id, BooleanSupplier exclusao) {
+        return Boolean.TRUE.equals(escrita.execute(status -> {
+            if (!exclusao.getAsBoolean()) {
+                return false;
+            }
+            registrar(catalogo, id, true);
+            return true;
+        }));
+    }
+
+    private void registrar(Catalogo catalogo, Integer id, boolean removido) {
+        // Bloqueia o contador até o commit (criando a linha na primeira vez): serializa a geração das versões
+        agregacoes.somar("alteracoes_catalogo_contador", List.of("id"), List.of("total"),
+                List.<Object[]>of(new Object[] { 1, 1L }));
+        repo.save(AlteracaoCatalogo.builder()
+                .catalogo(catalogo)
+                .idRegistro(id)
+                .removido(removido)
+                .dataAlteracao(LocalDateTime.now())
+                .build());
+    }
+
+    // ==========================================
+    // 🔹 SINCRONIZAÇÃO
+    // ==========================================
+    public AlteracoesCatalogoDTO alteracoesDesde(Long desde) {
+        return leitura.execute(status -> {
+            long atual = repo.versaoAtual();
+            // Versão maior que a do servidor (base recriada): o cliente recomeça do zero
+            if (desde == null || desde < 0 || desde > atual) {
+                return completo(atual);
+            }
+            return incremental(desde);
+        });
+    }
+
+    // Versão lida antes dos registros: o que mudar no meio volta na próxima sincronização
+    private AlteracoesCatalogoDTO completo(long versao) {
+        return new AlteracoesCatalogoDTO(
+                versao, true, false,
+                ordenar(bancoRepo.findAll(), Banco::getId_banco),
+                // Todos os ids, como no incremental: a cópia do cliente espelha a tabela e cada
+                // alteração ou lápide se refere a um id que ele recebeu
+                ordenar(tipoGolpeRepo.findAll(), TipoGolpe::getId_tipo),
+                ordenar(contatoRepo.findAll(), ContatoOficial::getId_contato),
+                List.of(), List.of(), List.of());
+    }
+
+    private AlteracoesCatalogoDTO incremental(long desde) {
+        List<AlteracaoCatalogo> lote = repo.buscarDesde(desde, Limit.of(tamanhoLote + 1));
+        boolean temMais = lote.size() > tamanhoLote;
+        if (temMais) {
+            lote = lote.subList(0, tamanhoLote);
+        }
+        if (lote.isEmpty()) {
+            return new AlteracoesCatalogoDTO(desde, false, false,
+                    List.of(), List.of(), List.of(), List.of(), List.of(), List.of());
+        }
+
+        // Só o último estado de cada registro alterado mais de uma vez no lote
+        Map<Catalogo, Map<Integer, Boolean>> ultimos = new EnumMap<>(Catalogo.class);
+        for (AlteracaoCatalogo a : lote) {
+            ultimos.computeIfAbsent(a.getCatalogo(), k -> new LinkedHashMap<>())
+                    .put(a.getIdRegistro(), a.getRemovido());
+        }
+
+        List<Integer> bancosRemovidos = new ArrayList<>();
+        List<Integer> tiposRemovidos = new ArrayList<>();
+        List<Integer> contatosRemovidos = new ArrayList<>();
+        List<Banco> bancos = atuais(ultimos.get(Catalogo.BANCO), bancoRepo, Banco::getId_banco, bancosRemovidos);
+        List<TipoGolpe> tipos = atuais(ultimos.get(Catalogo.TIPO_GOLPE), tipoGolpeRepo, TipoGolpe::getId_tipo, tiposRemovidos);
+        List<ContatoOficial> contatos = atuais(ultimos.get(Catalogo.CONTATO_OFICIAL), contatoRepo,
+                ContatoOficial::getId_contato, contatosRemovidos);
+
+        return new AlteracoesCatalogoDTO(
+                lote.get(lote.size() - 1).getVersao(), false, temMais,
+                bancos, tipos, contatos, bancosRemovidos, tiposRemovidos, contatosRemovidos);
+    }
+
+    // Estado atual dos registros alterados, numa consulta; os que não existem mais vão para "removidos"
+    private static <T> List<T> atuais(Map<Integer, Boolean> alterados, JpaRepository<T, Integer> repositorio,
+                                      Function<T, Integer> id, List<Integer> removidos) {
+        if (alterados == null) {
+            return List.of();
+        }
+        List<Integer> vivos = new ArrayList<>();
+        alterados.forEach((registro, removido) -> {
+            if (removido) {
+                removidos.add(registro);
+            } else {
+                vivos.add(registro);
+            }
+        });
+
+        List<T> encontrados = vivos.isEmpty() ? List.of() : repositorio.findAllById(vivos);
+        Set<Integer> achados = new HashSet<>();
+        encontrados.forEach(e -> achados.add(id.apply(e)));
+        vivos.stream().filter(v -> !achados.contains(v)).forEach(removidos::add);
+        removidos.sort(Comparator.naturalOrder());
+        return ordenar(encontrados, id);
+    }
+
+    private static <T> List<T> ordenar(List<T> lista, Function<T, Integer> id) {
+        return lista.stream().sorted(Comparator.comparing(id)).toList();
+    }
+}
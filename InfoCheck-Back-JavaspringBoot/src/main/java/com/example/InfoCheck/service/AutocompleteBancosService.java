@@ -0,0 +1,94 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.entities.Banco;
+import com.example.InfoCheck.util.IndiceAutocomplete;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Autocomplete de bancos em memória, sem diferenciar acentos ("itau" acha "Itaú").
+ *
+ * Além do nome, cada banco é indexado pelos apelidos que dá para tirar do cadastro:
+ * a sigla do nome ("Caixa Econômica Federal" -> "cef") e o domínio do site oficial
+ * ("https://www.bb.com.br" -> "bb"). O índice é montado a partir do cache de
+ * referências e trocado inteiro quando um banco é criado ou alterado.
+ */
+@Service
+public class AutocompleteBancosService {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteBancosService.class);
+
+    // Partes de domínio que não identificam o banco
+    private static final Set<String> DOMINIO_GENERICO = Set.of("www", "com", "br", "net", "org", "banco", "html");
+
+    private final CacheReferenciasService cache;
+
+    private volatile IndiceAutocomplete<Banco> indice;
+
+    public AutocompleteBancosService(CacheReferenciasService cache) {
+        this.cache = cache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        reconstruir();
+    }
+
+    // Monta um índice novo e troca a referência: buscas em andamento seguem no anterior
+    public synchronized void reconstruir() {
+        IndiceAutocomplete<Banco> novo = new IndiceAutocomplete<>();
+        for (Banco banco : cache.listarBancos()) {
+            novo.adicionar(banco, List.of(banco.getNome_banco()), apelidos(banco));
+        }
+        indice = novo;
+        log.info("Autocomplete de bancos montado: {} bancos", novo.tamanho());
+    }
+
+    public List<Banco> buscar(String termo, int limite) {
+        IndiceAutocomplete<Banco> atual = indice;
+        if (atual == null) {
+            reconstruir();
+            atual = indice;
+        }
+        return atual.buscar(termo, Math.max(1, Math.min(limite, 50)));
+    }
+
+    private static List<String> apelidos(Banco banco) {
+        List<String> apelidos = new ArrayList<>();
+        String sigla = IndiceAutocomplete.sigla(banco.getNome_banco());
+        if (!sigla.isEmpty()) {
+            apelidos.add(sigla);
+        }
+        String host = host(banco.getSite_oficial());
+        if (host != null) {
+            for (String parte : host.split("\\.")) {
+                if (parte.length() >= 2 && !DOMINIO_GENERICO.contains(parte)) {
+                    apelidos.add(parte);
+                }
+            }
+        }
+        return apelidos;
+    }
+
+    private static String host(String site) {
+        if (site == null || site.isBlank()) {
+            return null;
+        }
+        try {
+            String url = site.contains("://") ? site.trim() : "https://" + site.trim();
+            String host = URI.create(url).getHost();
+            return host != null ? host.toLowerCase() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.example.InfoCheck.dtos.BancoDTO;
+import com.example.InfoCheck.entities.AlteracaoCatalogo.Catalogo;
 import com.example.InfoCheck.entities.Banco;
 import com.example.InfoCheck.repository.BancoRepository;
 
@@ -15,24 +16,37 @@ public class BancoService {
     @Autowired
     private BancoRepository repo;
 
+    @Autowired
+    private CacheReferenciasService cache;
+
+    @Autowired
+    private AutocompleteBancosService autocomplete;
+
+    @Autowired
+    private AlteracoesCatalogoService alteracoes;
+
     public List<Banco> listarTodos() {
-        return repo.findAll();
+        return cache.listarBancos();
     }
 
     public Banco salvar(Banco banco) {
-        return repo.save(banco);
+        Banco salvo = alteracoes.salvar(Catalogo.BANCO, () -> repo.save(banco), Banco::getId_banco);
+        cache.bancoAlterado(salvo.getId_banco());
+        autocomplete.reconstruir();
+        return salvo;
     }
 
     public Banco buscarPorId(Integer id) {
-        return repo.findById(id).orElse(null);
+        return cache.banco(id);
     }
 
     public Banco buscarPorNome(String nome) {
         return repo.findByNomeBancoIgnoreCase(nome).orElse(null);
     }
 
-    public List<Banco> buscarPorNomeContendo(String termo) {
-        return repo.buscarPorNomeContendo(termo);
+    // Índice em memória: sem acento, por prefixo, palavra ou trecho, e pelos apelidos
+    public List<Banco> autocompletar(String termo, int limite) {
+        return autocomplete.buscar(termo, limite);
     }
 
     public Banco criar(BancoDTO dto) {
@@ -56,6 +70,9 @@ public class BancoService {
         banco.setDescricao(dto.getDescricao());
         banco.setNome_banco(nome);
         banco.setSite_oficial(dto.getSite_oficial());
-        return repo.save(banco);
+        Banco salvo = alteracoes.salvar(Catalogo.BANCO, () -> repo.save(banco), Banco::getId_banco);
+        cache.bancoAlterado(salvo.getId_banco());
+        autocomplete.reconstruir();
+        return salvo;
     }
 }
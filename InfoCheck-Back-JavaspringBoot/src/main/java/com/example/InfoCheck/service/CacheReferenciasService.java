@@ -0,0 +1,210 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.entities.Banco;
+import com.example.InfoCheck.entities.ContatoOficial;
+import com.example.InfoCheck.entities.TipoGolpe;
+import com.example.InfoCheck.repository.BancoRepository;
+import com.example.InfoCheck.repository.ContatoOficialRepository;
+import com.example.InfoCheck.repository.TipoGolpeRepository;
+import com.example.InfoCheck.util.CacheLimitado;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache das tabelas de referência quase estáticas: bancos, tipos de golpe e
+ * contatos oficiais por banco.
+ *
+ * Buscas por id usam caches LRU limitados; as listas completas (a de tipos já
+ * ordenada e sem nomes repetidos) são montadas uma vez por alteração. Os serviços
+ * que gravam nessas tabelas chamam os métodos "alterado" depois de salvar, o que
+ * também avança o contador de versão do catálogo afetado.
+ *
+ * As entidades devolvidas são compartilhadas entre requisições: não devem ser alteradas.
+ */
+@Service
+public class CacheReferenciasService {
+
+    private final BancoRepository bancoRepo;
+    private final TipoGolpeRepository tipoGolpeRepo;
+    private final ContatoOficialRepository contatoRepo;
+
+    private final CacheLimitado<Integer, Banco> bancos;
+    private final CacheLimitado<Integer, TipoGolpe> tipos;
+    private final CacheLimitado<Integer, List<ContatoOficial>> contatosPorBanco;
+    private final Lista<Banco> listaBancos;
+    private final Lista<TipoGolpe> listaTipos;
+
+    // Versão de cada catálogo: avança a cada alteração (usada nos instantâneos HTTP)
+    private final AtomicLong versaoBancos = new AtomicLong();
+    private final AtomicLong versaoTipos = new AtomicLong();
+    private final AtomicLong versaoContatos = new AtomicLong();
+
+    // Lista completa guardada até a próxima alteração
+    private static class Lista<T> {
+
+        // Versão e lista trocadas juntas: sem lista = precisa montar
+        private record Estado<T>(long versao, List<T> lista) {
+        }
+
+        private final Supplier<List<T>> montar;
+        private final AtomicReference<Estado<T>> estado = new AtomicReference<>(new Estado<>(0, null));
+        private final LongAdder acertos = new LongAdder();
+        private final LongAdder montagens = new LongAdder();
+
+        Lista(Supplier<List<T>> montar) {
+            this.montar = montar;
+        }
+
+        List<T> obter() {
+            Estado<T> lido = estado.get();
+            if (lido.lista() != null) {
+                acertos.increment();
+                return lido.lista();
+            }
+            montagens.increment();
+            List<T> lista = List.copyOf(montar.get());
+            // Só guarda se ninguém invalidou durante a montagem: uma alteração no meio troca
+            // o estado e o compareAndSet falha (a próxima leitura remonta)
+            estado.compareAndSet(lido, new Estado<>(lido.versao(), lista));
+            return lista;
+        }
+
+        void invalidar() {
+            estado.updateAndGet(e -> new Estado<>(e.versao() + 1, null));
+        }
+
+        Map<String, Object> estatisticas() {
+            Map<String, Object> dados = new LinkedHashMap<>();
+            List<T> lista = estado.get().lista();
+            dados.put("itens", lista != null ? lista.size() : 0);
+            dados.put("acertos", acertos.sum());
+            dados.put("montagens", montagens.sum());
+            return dados;
+        }
+    }
+
+    public CacheReferenciasService(
+            BancoRepository bancoRepo,
+            TipoGolpeRepository tipoGolpeRepo,
+            ContatoOficialRepository contatoRepo,
+            @Value("${infocheck.catalogo.cache.maximo:1000}") int maximo) {
+        this.bancoRepo = bancoRepo;
+        this.tipoGolpeRepo = tipoGolpeRepo;
+        this.contatoRepo = contatoRepo;
+        this.bancos = new CacheLimitado<>(maximo);
+        this.tipos = new CacheLimitado<>(maximo);
+        this.contatosPorBanco = new CacheLimitado<>(maximo);
+        this.listaBancos = new Lista<>(bancoRepo::findAll);
+        this.listaTipos = new Lista<>(this::montarListaTipos);
+    }
+
+    // ==========================================
+    // 🔹 LEITURA
+    // ==========================================
+    public Banco banco(Integer id) {
+        return id == null ? null : bancos.obter(id, k -> bancoRepo.findById(k).orElse(null));
+    }
+
+    public TipoGolpe tipo(Integer id) {
+        return id == null ? null : tipos.obter(id, k -> tipoGolpeRepo.findById(k).orElse(null));
+    }
+
+    public List<ContatoOficial> contatosDoBanco(Integer idBanco) {
+        return contatosPorBanco.obter(idBanco, k -> List.copyOf(contatoRepo.findByBancoId(k)));
+    }
+
+    public List<Banco> listarBancos() {
+        return listaBancos.obter();
+    }
+
+    // Ordenada por nome e sem nomes repetidos (ignorando maiúsculas e espaços nas pontas)
+    public List<TipoGolpe> listarTipos() {
+        return listaTipos.obter();
+    }
+
+    private List<TipoGolpe> montarListaTipos() {
+        Map<String, TipoGolpe> unicos = new LinkedHashMap<>();
+        tipoGolpeRepo.findAll().stream()
+                .filter(t -> t.getNome_tipo() != null)
+                .sorted(Comparator.comparing(TipoGolpe::getNome_tipo, String.CASE_INSENSITIVE_ORDER))
+                .forEach(t -> unicos.putIfAbsent(t.getNome_tipo().trim().toUpperCase(), t));
+        return new ArrayList<>(unicos.values());
+    }
+
+    public long versaoBancos() {
+        return versaoBancos.get();
+    }
+
+    public long versaoTipos() {
+        return versaoTipos.get();
+    }
+
+    // Uma versão só para os contatos de todos os bancos
+    public long versaoContatos() {
+        return versaoContatos.get();
+    }
+
+    // ==========================================
+    // 🔹 INVALIDAÇÃO
+    // ==========================================
+    public void bancoAlterado(Integer idBanco) {
+        if (idBanco != null) {
+            bancos.invalidar(idBanco);
+            // Os contatos oficiais trazem o banco junto
+            contatosPorBanco.invalidar(idBanco);
+        }
+        listaBancos.invalidar();
+        versaoBancos.incrementAndGet();
+        versaoContatos.incrementAndGet();
+    }
+
+    public void tipoAlterado(Integer idTipo) {
+        if (idTipo != null) {
+            tipos.invalidar(idTipo);
+        }
+        listaTipos.invalidar();
+        versaoTipos.incrementAndGet();
+    }
+
+    public void contatosAlterados(Integer idBanco) {
+        contatosPorBanco.invalidar(idBanco);
+        versaoContatos.incrementAndGet();
+    }
+
+    public void limpar() {
+        bancos.limpar();
+        tipos.limpar();
+        contatosPorBanco.limpar();
+        listaBancos.invalidar();
+        listaTipos.invalidar();
+        versaoBancos.incrementAndGet();
+        versaoTipos.incrementAndGet();
+        versaoContatos.incrementAndGet();
+    }
+
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> dados = new LinkedHashMap<>();
+        dados.put("bancos", bancos.estatisticas());
+        dados.put("tiposGolpe", tipos.estatisticas());
+        dados.put("contatosPorBanco", contatosPorBanco.estatisticas());
+        dados.put("listaBancos", listaBancos.estatisticas());
+        dados.put("listaTipos", listaTipos.estatisticas());
+        Map<String, Object> versoes = new LinkedHashMap<>();
+        versoes.put("bancos", versaoBancos.get());
+        versoes.put("tiposGolpe", versaoTipos.get());
+        versoes.put("contatos", versaoContatos.get());
+        dados.put("versoes", versoes);
+        return dados;
+    }
+}
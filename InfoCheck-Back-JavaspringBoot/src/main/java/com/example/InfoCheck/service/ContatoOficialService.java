@@ -3,12 +3,13 @@ package com.example.InfoCheck.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.example.InfoCheck.entities.AlteracaoCatalogo.Catalogo;
 import com.example.InfoCheck.entities.ContatoOficial;
 import com.example.InfoCheck.entities.Banco;
 import com.example.InfoCheck.repository.ContatoOficialRepository;
-import com.example.InfoCheck.repository.BancoRepository;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class ContatoOficialService {
@@ -17,20 +18,71 @@ public class ContatoOficialService {
     private ContatoOficialRepository repo;
 
     @Autowired
-    private BancoRepository bancoRepo;
+    private CacheReferenciasService cache;
+
+    @Autowired
+    private IndiceContatosOficiaisService indiceOficiais;
+
+    @Autowired
+    private AlteracoesCatalogoService alteracoes;
+
+    // Banco do contato antes da alteração (null se ele não tinha banco)
+    private record Anterior(Integer idBanco) {
+    }
 
     // Listar todos os contatos de um banco
     public List<ContatoOficial> listarPorBanco(Integer idBanco) {
-        return repo.findByBancoId(idBanco);
+        return cache.contatosDoBanco(idBanco);
     }
 
     // Salvar um contato associado a um banco
     public ContatoOficial salvar(Integer idBanco, ContatoOficial contato) {
-        Banco banco = bancoRepo.findById(idBanco).orElse(null);
+        Banco banco = cache.banco(idBanco);
         if (banco == null) {
             throw new RuntimeException("Banco não encontrado com ID: " + idBanco);
         }
         contato.setBanco(banco);
-        return repo.save(contato);
+        // Com id de um contato existente o save altera esse contato: o banco de antes é lido
+        // na transação da gravação (e antes do save, que copia o banco novo para a entidade lida)
+        AtomicReference<Anterior> anterior = new AtomicReference<>();
+        ContatoOficial salvo = alteracoes.salvar(Catalogo.CONTATO_OFICIAL, () -> {
+            if (contato.getId_contato() != null) {
+                repo.findById(contato.getId_contato()).ifPresent(c ->
+                        anterior.set(new Anterior(c.getBanco() != null ? c.getBanco().getId_banco() : null)));
+            }
+            return repo.save(contato);
+        }, ContatoOficial::getId_contato);
+        if (anterior.get() == null) {
+            indiceOficiais.adicionar(salvo);
+        } else {
+            // O valor antigo precisa sair do índice e a BK-tree não tem remoção
+            indiceOficiais.carregar();
+            Integer idBancoAnterior = anterior.get().idBanco();
+            if (idBancoAnterior != null && !idBancoAnterior.equals(idBanco)) {
+                cache.contatosAlterados(idBancoAnterior);
+            }
+        }
+        cache.contatosAlterados(idBanco);
+        return salvo;
+    }
+
+    // Excluir um contato do banco; false se não existir ou for de outro banco
+    public boolean remover(Integer idBanco, Integer idContato) {
+        // Leitura e exclusão na mesma transação que registra a lápide
+        boolean removido = alteracoes.remover(Catalogo.CONTATO_OFICIAL, idContato, () -> {
+            ContatoOficial contato = repo.findById(idContato).orElse(null);
+            if (contato == null || contato.getBanco() == null || !idBanco.equals(contato.getBanco().getId_banco())) {
+                return false;
+            }
+            repo.delete(contato);
+            return true;
+        });
+        if (!removido) {
+            return false;
+        }
+        // A BK-tree não tem remoção: o índice é remontado (exclusões são raras)
+        indiceOficiais.carregar();
+        cache.contatosAlterados(idBanco);
+        return true;
     }
 }
@@ -1,39 +1,167 @@
 package com.example.InfoCheck.service;
 
+import com.example.InfoCheck.dtos.ContatoDenunciadoDTO;
+import com.example.InfoCheck.dtos.ContatoOficialResumoDTO;
 import com.example.InfoCheck.dtos.DenunciaDTO;
+import com.example.InfoCheck.dtos.DenunciaResumoDTO;
+import com.example.InfoCheck.dtos.FiltroDenunciasDTO;
+import com.example.InfoCheck.dtos.PaginaDenunciasDTO;
+import com.example.InfoCheck.dtos.StatusIngestaoDTO;
 import com.example.InfoCheck.dtos.VerificacaoContatoDTO;
 import com.example.InfoCheck.entities.Banco;
+import com.example.InfoCheck.entities.ContatoRisco;
 import com.example.InfoCheck.entities.Denuncia;
 import com.example.InfoCheck.entities.TipoGolpe;
 import com.example.InfoCheck.entities.Usuario;
-import com.example.InfoCheck.repository.BancoRepository;
 import com.example.InfoCheck.repository.DenunciaRepository;
-import com.example.InfoCheck.repository.TipoGolpeRepository;
 import com.example.InfoCheck.repository.UsuarioRepository;
+import com.example.InfoCheck.util.ContatoNormalizador;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class DenunciaService {
 
+    private static final Logger log = LoggerFactory.getLogger(DenunciaService.class);
+
+    // Tamanho do lote usado no preenchimento de contato_normalizado das denúncias antigas
+    private static final int LOTE_NORMALIZACAO = 500;
+
+    // Maior página aceita na busca paginada
+    private static final int MAXIMO_PAGINA = 100;
+
     private final DenunciaRepository denunciaRepo;
     private final UsuarioRepository usuarioRepo;
-    private final BancoRepository bancoRepo;
-    private final TipoGolpeRepository tipoGolpeRepo;
+    private final CacheReferenciasService cache;
+    private final IndiceContatosService indiceContatos;
+    private final FiltroContatosService filtroContatos;
+    private final IndiceContatosOficiaisService indiceOficiais;
+    private final RiscoContatoService riscoContato;
+    private final TendenciasContatosService tendencias;
+    private final ResumoDiarioService resumoDiario;
+    private final QuantisValorService quantisValor;
+    private final FacetasDenunciasService facetas;
+    private final RegiaoDenunciasService regioes;
+    private final IngestaoDenunciasService ingestao;
+    private final ParticionamentoDenunciasService particionamento;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${infocheck.contatos.lote.maximo:1000}")
+    private int maximoLoteVerificacao;
 
     public DenunciaService(
             DenunciaRepository denunciaRepo,
             UsuarioRepository usuarioRepo,
-            BancoRepository bancoRepo,
-            TipoGolpeRepository tipoGolpeRepo) {
+            CacheReferenciasService cache,
+            IndiceContatosService indiceContatos,
+            FiltroContatosService filtroContatos,
+            IndiceContatosOficiaisService indiceOficiais,
+            RiscoContatoService riscoContato,
+            TendenciasContatosService tendencias,
+            ResumoDiarioService resumoDiario,
+            QuantisValorService quantisValor,
+            FacetasDenunciasService facetas,
+            RegiaoDenunciasService regioes,
+            IngestaoDenunciasService ingestao,
+            ParticionamentoDenunciasService particionamento,
+            PlatformTransactionManager transactionManager) {
         this.denunciaRepo = denunciaRepo;
         this.usuarioRepo = usuarioRepo;
-        this.bancoRepo = bancoRepo;
-        this.tipoGolpeRepo = tipoGolpeRepo;
+        this.cache = cache;
+        this.indiceContatos = indiceContatos;
+        this.filtroContatos = filtroContatos;
+        this.indiceOficiais = indiceOficiais;
+        this.riscoContato = riscoContato;
+        this.tendencias = tendencias;
+        this.resumoDiario = resumoDiario;
+        this.quantisValor = quantisValor;
+        this.facetas = facetas;
+        this.regioes = regioes;
+        this.ingestao = ingestao;
+        this.particionamento = particionamento;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ==========================================
+    // 🔹 INICIALIZAÇÃO
+    // ==========================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        preencherContatosNormalizados();
+        indiceContatos.carregar();
+        filtroContatos.carregar();
+        riscoContato.carregar();
+        tendencias.carregar();
+        resumoDiario.carregar();
+        quantisValor.carregar();
+        facetas.carregar();
+        regioes.carregar();
+        ingestao.iniciar(this::gravarLote);
+        particionamento.aoDesanexar(this::recarregarDerivados);
+    }
+
+    // Depois que partições antigas saem da tabela as agregações gravadas e os índices
+    // em memória ainda contam aquelas denúncias: recalcula tudo a partir da tabela
+    public void recarregarDerivados() {
+        resumoDiario.reconstruir();
+        quantisValor.reconstruir();
+        regioes.reconstruir();
+        riscoContato.reconstruir();
+        riscoContato.carregar();
+        indiceContatos.carregar();
+        filtroContatos.reconstruir();
+        facetas.carregar();
+        log.info("Agregações e índices de denúncias recalculados");
+    }
+
+    // Calcula contato_normalizado das denúncias gravadas antes da coluna existir
+    // (ou inseridas por SQL direto, como o data.sql), em lotes curtos.
+    public int preencherContatosNormalizados() {
+        int total = 0;
+        while (true) {
+            Integer atualizados = transactionTemplate.execute(status -> {
+                List<Object[]> pendentes = denunciaRepo.findSemContatoNormalizado(PageRequest.of(0, LOTE_NORMALIZACAO));
+                for (Object[] linha : pendentes) {
+                    denunciaRepo.atualizarContatoNormalizado(
+                            (Integer) linha[0],
+                            ContatoNormalizador.normalizar((String) linha[1]));
+                }
+                return pendentes.size();
+            });
+            if (atualizados == null || atualizados == 0) {
+                break;
+            }
+            total += atualizados;
+        }
+        if (total > 0) {
+            log.info("contato_normalizado preenchido em {} denúncias", total);
+        }
+        return total;
     }
 
     // ==========================================
@@ -45,6 +173,17 @@ public class DenunciaService {
         Usuario usuario = usuarioRepo.findById(dto.getIdUsuario())
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
+        // Banco e tipo vêm do cache de referências
+        Denuncia denuncia = montar(dto, usuario, cache.banco(dto.getIdBanco()), cache.tipo(dto.getIdTipoGolpe()));
+
+        return transactionTemplate.execute(status -> {
+            Denuncia salva = denunciaRepo.save(denuncia);
+            registrarDerivados(List.of(salva));
+            return salva;
+        });
+    }
+
+    static Denuncia montar(DenunciaDTO dto, Usuario usuario, Banco banco, TipoGolpe tipo) {
         Denuncia denuncia = new Denuncia();
 
         denuncia.setUsuario(usuario);
@@ -59,9 +198,6 @@ public class DenunciaService {
         // TIPO DE GOLPE
         // ============================
         if (dto.getIdTipoGolpe() != null) {
-            TipoGolpe tipo = tipoGolpeRepo.findById(dto.getIdTipoGolpe())
-                    .orElse(null);
-
             denuncia.setTipoGolpe(tipo);
             denuncia.setTipoGolpeOutro(null);
         } else {
@@ -73,62 +209,223 @@ public class DenunciaService {
         // BANCO
         // ============================
         if (dto.getIdBanco() != null) {
-            Banco banco = bancoRepo.findById(dto.getIdBanco())
-                    .orElse(null);
-
             denuncia.setBanco(banco);
             denuncia.setNomeBancoOutro(null);
         } else {
             denuncia.setBanco(null);
             denuncia.setNomeBancoOutro(dto.getNomeBancoOutro());
         }
+        return denuncia;
+    }
+
+    // ==========================================
+    // 🔹 INGESTÃO ASSÍNCRONA
+    // ==========================================
+    public boolean isIngestaoAssincrona() {
+        return ingestao.isHabilitada();
+    }
+
+    // Validação barata antes de enfileirar; usuário, banco e tipo são resolvidos na gravação do lote
+    public StatusIngestaoDTO enfileirar(DenunciaDTO dto) {
+        if (dto.getIdUsuario() == null) {
+            throw new IllegalArgumentException("Informe o usuário da denúncia");
+        }
+        if (dto.getContatoDenunciado() == null || dto.getContatoDenunciado().isBlank()) {
+            throw new IllegalArgumentException("Informe o contato denunciado");
+        }
+        return ingestao.enfileirar(dto);
+    }
+
+    public Optional<StatusIngestaoDTO> statusIngestao(String token) {
+        return ingestao.consultar(token);
+    }
+
+    public Map<String, Object> estatisticasIngestao() {
+        return ingestao.estatisticas();
+    }
+
+    // Grava um lote da fila: referências buscadas uma vez por lote, um INSERT em lote
+    // e os dados derivados na mesma transação
+    void gravarLote(List<IngestaoDenunciasService.Pedido> pedidos) {
+        Set<Integer> idsUsuarios = new HashSet<>();
+        for (IngestaoDenunciasService.Pedido p : pedidos) {
+            idsUsuarios.add(p.dto().getIdUsuario());
+        }
+        Map<Integer, Usuario> usuarios = new HashMap<>();
+        usuarioRepo.findAllById(idsUsuarios).forEach(u -> usuarios.put(u.getId_usuario(), u));
+
+        List<IngestaoDenunciasService.Pedido> validos = new ArrayList<>(pedidos.size());
+        List<Denuncia> denuncias = new ArrayList<>(pedidos.size());
+        for (IngestaoDenunciasService.Pedido p : pedidos) {
+            Usuario usuario = usuarios.get(p.dto().getIdUsuario());
+            if (usuario == null) {
+                ingestao.falhar(p.token(), "Usuário não encontrado");
+                continue;
+            }
+            validos.add(p);
+            denuncias.add(montar(p.dto(), usuario, cache.banco(p.dto().getIdBanco()), cache.tipo(p.dto().getIdTipoGolpe())));
+        }
+        if (denuncias.isEmpty()) {
+            return;
+        }
+
+        List<String> erros = gravarEmLote(denuncias);
+        for (int i = 0; i < validos.size(); i++) {
+            if (erros.get(i) == null) {
+                ingestao.concluir(validos.get(i).token(), denuncias.get(i).getId_denuncia());
+            } else {
+                ingestao.falhar(validos.get(i).token(), erros.get(i));
+            }
+        }
+    }
+
+    // Grava as denúncias com um INSERT em lote e os dados derivados na mesma transação.
+    // Se o lote falhar, tenta uma a uma para isolar a falha. Devolve, na mesma ordem,
+    // null para cada denúncia gravada ou a mensagem de erro.
+    List<String> gravarEmLote(List<Denuncia> denuncias) {
+        List<String> erros = new ArrayList<>(Collections.nCopies(denuncias.size(), (String) null));
+        try {
+            inserir(denuncias);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de {} denúncias, gravando uma a uma", denuncias.size(), e);
+            for (int i = 0; i < denuncias.size(); i++) {
+                Denuncia d = denuncias.get(i);
+                d.setId_denuncia(null);
+                try {
+                    inserir(List.of(d));
+                } catch (RuntimeException erro) {
+                    erros.set(i, "Erro ao gravar a denúncia");
+                }
+            }
+        }
+        return erros;
+    }
+
+    private void inserir(List<Denuncia> denuncias) {
+        transactionTemplate.executeWithoutResult(status -> {
+            denunciaRepo.inserirEmLote(denuncias);
+            registrarDerivados(denuncias);
+        });
+    }
+
+    // Atualiza os dados derivados das denúncias recém-gravadas. Tabelas derivadas
+    // entram na transação corrente; índices em memória só depois do commit.
+    private void registrarDerivados(List<Denuncia> denuncias) {
+        resumoDiario.registrar(denuncias);
+        quantisValor.registrar(denuncias);
+        regioes.registrar(denuncias);
+        // Pontuações por JDBC (bloqueio, leitura e UPDATE em lote), fora da sessão JPA
+        List<ContatoRisco> riscos = riscoContato.registrar(denuncias);
 
-        return denunciaRepo.save(denuncia);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Denuncia d : denuncias) {
+                    indiceContatos.registrar(d.getContatoNormalizado());
+                    filtroContatos.adicionar(d.getContatoNormalizado());
+                    tendencias.registrarDenuncia(d.getContatoNormalizado());
+                }
+                riscoContato.publicar(riscos);
+                facetas.registrar(denuncias);
+            }
+        });
     }
 
     // ==========================================
     // 🔹 LISTAR
     // ==========================================
-    public List<Denuncia> listarTodas() {
-        return denunciaRepo.findAll();
+    public List<DenunciaResumoDTO> listarTodas() {
+        return denunciaRepo.findAllResumo();
     }
 
-    public List<Denuncia> listarPorBanco(Integer idBanco) {
+    public List<DenunciaResumoDTO> listarPorBanco(Integer idBanco) {
         return denunciaRepo.findByBancoId(idBanco);
     }
 
-    public List<Denuncia> listarPorCpf(String cpf) {
+    public List<DenunciaResumoDTO> listarPorCpf(String cpf) {
         return denunciaRepo.findByUsuarioCpf(cpf);
     }
 
-    public List<Denuncia> listarPorIdUsuario(Integer idUsuario) {
+    public List<DenunciaResumoDTO> listarPorIdUsuario(Integer idUsuario) {
         return denunciaRepo.findByUsuarioId(idUsuario);
     }
 
-    public List<Denuncia> listarPorTipo(Integer idTipo) {
+    public List<DenunciaResumoDTO> listarPorTipo(Integer idTipo) {
         return denunciaRepo.findByTipoId(idTipo);
     }
 
+    // ==========================================
+    // 🔹 BUSCA FILTRADA E PAGINADA (KEYSET)
+    // ==========================================
+    public PaginaDenunciasDTO buscar(FiltroDenunciasDTO filtro, String cursor, int limite) {
+        int tamanho = Math.max(1, Math.min(limite, MAXIMO_PAGINA));
+        LocalDateTime cursorData = null;
+        Integer cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] partes = decodificarCursor(cursor);
+            cursorData = LocalDateTime.parse(partes[0]);
+            cursorId = Integer.valueOf(partes[1]);
+        }
+
+        // Busca um item a mais só para saber se existe próxima página
+        List<DenunciaResumoDTO> itens = denunciaRepo.buscarPagina(filtro, cursorData, cursorId, tamanho + 1);
+        String proximoCursor = null;
+        if (itens.size() > tamanho) {
+            itens = itens.subList(0, tamanho);
+            DenunciaResumoDTO ultimo = itens.get(tamanho - 1);
+            proximoCursor = codificarCursor(ultimo.getData_denuncia(), ultimo.getId_denuncia());
+        }
+        return new PaginaDenunciasDTO(new ArrayList<>(itens), proximoCursor);
+    }
+
+    // Cursor opaco: "<data_denuncia ISO>|<id_denuncia>" em Base64 URL-safe
+    private static String codificarCursor(LocalDateTime data, Integer id) {
+        String valor = data + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodificarCursor(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.split("\\|");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            LocalDateTime.parse(partes[0]);
+            Integer.valueOf(partes[1]);
+            return partes;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
     // ==========================================
     // 🔹 BUSCA POR DATA
     // ==========================================
-    public List<Denuncia> listarPorMesAno(int ano, int mes) {
-        return denunciaRepo.findByAnoMes(ano, mes);
+    public List<DenunciaResumoDTO> listarPorMesAno(int ano, int mes) {
+        if (mes < 1 || mes > 12) {
+            throw new IllegalArgumentException("Mês inválido: " + mes);
+        }
+        YearMonth mesAno = YearMonth.of(ano, mes);
+        return denunciaRepo.findBetweenDates(
+                mesAno.atDay(1).atStartOfDay(),
+                mesAno.plusMonths(1).atDay(1).atStartOfDay());
     }
 
-    public List<Denuncia> listarEntreDatas(LocalDate inicio, LocalDate fim) {
+    public List<DenunciaResumoDTO> listarEntreDatas(LocalDate inicio, LocalDate fim) {
 
+        // Fim exclusivo no início do dia seguinte: inclui o dia final inteiro
         LocalDateTime inicioDT = inicio.atStartOfDay();
-        LocalDateTime fimDT = fim.atTime(23, 59, 59);
+        LocalDateTime fimDT = fim.plusDays(1).atStartOfDay();
 
         return denunciaRepo.findBetweenDates(inicioDT, fimDT);
     }
 
-    public List<Denuncia> buscarPorUsuario(Integer idUsuario) {
+    public List<DenunciaResumoDTO> buscarPorUsuario(Integer idUsuario) {
         return denunciaRepo.findByUsuarioId(idUsuario);
     }
 
-    public List<Denuncia> listarDenunciasPorUsuario(Integer idUsuario) {
+    public List<DenunciaResumoDTO> listarDenunciasPorUsuario(Integer idUsuario) {
         return denunciaRepo.findByUsuarioOrderByDataDenunciaDesc(idUsuario);
     }
 
@@ -139,23 +436,90 @@ public class DenunciaService {
         // Normalizar contato: remover espaços e caracteres especiais
         String contatoNormalizado = normalizarContato(contato);
         
-        // Contar denúncias
-        long totalDenuncias = denunciaRepo.countByContatoNormalizado(contatoNormalizado);
+        // Contar denúncias: o filtro de Bloom descarta contatos nunca denunciados;
+        // os demais vão ao índice em memória (banco só enquanto o índice não estiver carregado)
+        long totalDenuncias = 0;
+        if (!filtroContatos.descarta(contatoNormalizado)) {
+            totalDenuncias = indiceContatos.isPronto()
+                    ? indiceContatos.contar(contatoNormalizado)
+                    : denunciaRepo.countByContatoNormalizado(contatoNormalizado);
+            filtroContatos.registrarResultado(totalDenuncias);
+        }
         
         // Determinar nível de confiabilidade
         String confiabilidade = determinarConfiabilidade(totalDenuncias);
         
-        return new VerificacaoContatoDTO(contatoNormalizado, totalDenuncias, confiabilidade);
+        return completarVerificacao(new VerificacaoContatoDTO(contatoNormalizado, totalDenuncias, confiabilidade));
     }
 
-    private String normalizarContato(String contato) {
-        if (contato == null) {
-            return "";
+    // Verificação em lote: normaliza tudo, resolve os contatos distintos de uma vez
+    // (filtro + índice, ou uma única consulta agrupada) e devolve um resultado por entrada
+    public List<VerificacaoContatoDTO> verificarContatos(List<String> contatos) {
+        if (contatos == null || contatos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um contato");
+        }
+        if (contatos.size() > maximoLoteVerificacao) {
+            throw new IllegalArgumentException("Máximo de " + maximoLoteVerificacao + " contatos por lote");
+        }
+
+        List<String> normalizados = new ArrayList<>(contatos.size());
+        Set<String> distintos = new LinkedHashSet<>();
+        for (String contato : contatos) {
+            String normalizado = normalizarContato(contato);
+            normalizados.add(normalizado);
+            if (!normalizado.isEmpty()) {
+                distintos.add(normalizado);
+            }
+        }
+
+        Map<String, Long> totais = new HashMap<>();
+        List<String> paraConsultar = new ArrayList<>();
+        for (String contato : distintos) {
+            if (filtroContatos.descarta(contato)) {
+                totais.put(contato, 0L);
+            } else if (indiceContatos.isPronto()) {
+                totais.put(contato, indiceContatos.contar(contato));
+            } else {
+                paraConsultar.add(contato);
+            }
+        }
+        if (!paraConsultar.isEmpty()) {
+            for (Object[] linha : denunciaRepo.contarPorContatosNormalizados(paraConsultar)) {
+                totais.put((String) linha[0], ((Number) linha[1]).longValue());
+            }
+        }
+
+        List<VerificacaoContatoDTO> resultado = new ArrayList<>(normalizados.size());
+        for (String normalizado : normalizados) {
+            long total = totais.getOrDefault(normalizado, 0L);
+            resultado.add(completarVerificacao(new VerificacaoContatoDTO(normalizado, total, determinarConfiabilidade(total))));
         }
-        // Remove espaços, traços, parênteses e normaliza
-        return contato.trim()
-                     .replaceAll("[\\s\\-\\(\\)\\.]", "")
-                     .toLowerCase();
+        return resultado;
+    }
+
+    // Acrescenta a pontuação de risco com decaimento e se o contato é um canal oficial
+    // de banco (consultas a mapas em memória); conta a consulta nas tendências
+    private VerificacaoContatoDTO completarVerificacao(VerificacaoContatoDTO verificacao) {
+        tendencias.registrarConsulta(verificacao.getContato());
+
+        RiscoContatoService.Risco risco = riscoContato.avaliar(verificacao.getContato());
+        verificacao.setPontuacaoRisco(risco.pontuacao());
+        verificacao.setNivelRisco(risco.nivel());
+
+        List<ContatoOficialResumoDTO> oficiais = indiceOficiais.buscarOficiais(verificacao.getContato());
+        verificacao.setContatoOficial(!oficiais.isEmpty());
+        verificacao.setContatosOficiais(oficiais);
+        return verificacao;
+    }
+
+    // Busca por número parcial (prefixo ou trecho) nos contatos já denunciados
+    public List<ContatoDenunciadoDTO> buscarContatos(String termo, String modo, int limite) {
+        boolean somentePrefixo = "prefixo".equalsIgnoreCase(modo);
+        return indiceContatos.buscar(normalizarContato(termo), somentePrefixo, limite);
+    }
+
+    private String normalizarContato(String contato) {
+        return ContatoNormalizador.normalizar(contato);
     }
 
     private String determinarConfiabilidade(long totalDenuncias) {
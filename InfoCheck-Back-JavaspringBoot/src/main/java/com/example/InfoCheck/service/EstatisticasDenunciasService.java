@@ -0,0 +1,204 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.dtos.ContagemDTO;
+import com.example.InfoCheck.dtos.EstatisticasDTO;
+import com.example.InfoCheck.dtos.PontoSerieDTO;
+import com.example.InfoCheck.dtos.SerieTemporalDTO;
+import com.example.InfoCheck.repository.ComoSoubeTotalRepository;
+import com.example.InfoCheck.repository.DenunciaRepository;
+import com.example.InfoCheck.repository.ResumoDiarioRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Estatísticas das denúncias lidas do resumo diário (dia x banco x tipo) e dos totais
+ * por "como soube": o custo depende de dias x dimensões, não do número de denúncias.
+ * A resposta tem tamanho fixo (listas limitadas aos maiores grupos).
+ *
+ * As séries temporais escolhem a resolução para caber no limite de pontos; dia,
+ * semana e mês saem do resumo diário, e só a resolução por hora (intervalos curtos)
+ * agrupa a tabela denuncias.
+ */
+@Service
+public class EstatisticasDenunciasService {
+
+    // Grupos devolvidos por dimensão (banco, tipo, como soube)
+    private static final int MAXIMO_GRUPOS = 10;
+
+    // Resoluções da série, da mais fina para a mais grossa
+    public enum Resolucao {
+        HORA, DIA, SEMANA, MES;
+
+        LocalDateTime truncar(LocalDateTime quando) {
+            return switch (this) {
+                case HORA -> quando.truncatedTo(ChronoUnit.HOURS);
+                case DIA -> quando.toLocalDate().atStartOfDay();
+                case SEMANA -> quando.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+                case MES -> quando.toLocalDate().withDayOfMonth(1).atStartOfDay();
+            };
+        }
+
+        LocalDateTime proximo(LocalDateTime inicio) {
+            return switch (this) {
+                case HORA -> inicio.plusHours(1);
+                case DIA -> inicio.plusDays(1);
+                case SEMANA -> inicio.plusWeeks(1);
+                case MES -> inicio.plusMonths(1);
+            };
+        }
+
+        // Pontos necessários para cobrir [inicio, fim)
+        long pontos(LocalDateTime inicio, LocalDateTime fim) {
+            LocalDateTime primeiro = truncar(inicio);
+            LocalDateTime ultimo = truncar(fim.minusNanos(1));
+            return switch (this) {
+                case HORA -> ChronoUnit.HOURS.between(primeiro, ultimo) + 1;
+                case DIA -> ChronoUnit.DAYS.between(primeiro, ultimo) + 1;
+                case SEMANA -> ChronoUnit.WEEKS.between(primeiro, ultimo) + 1;
+                case MES -> ChronoUnit.MONTHS.between(primeiro, ultimo) + 1;
+            };
+        }
+
+        public static Resolucao de(String valor) {
+            try {
+                return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Resolução inválida: use auto, hora, dia, semana ou mes");
+            }
+        }
+    }
+
+    private final DenunciaRepository denunciaRepo;
+    private final ResumoDiarioRepository resumoRepo;
+    private final ComoSoubeTotalRepository comoSoubeRepo;
+    private final int maximoPontos;
+
+    public EstatisticasDenunciasService(
+            DenunciaRepository denunciaRepo,
+            ResumoDiarioRepository resumoRepo,
+            ComoSoubeTotalRepository comoSoubeRepo,
+            @Value("${infocheck.denuncias.serie.maximo-pontos:500}") int maximoPontos) {
+        this.denunciaRepo = denunciaRepo;
+        this.resumoRepo = resumoRepo;
+        this.comoSoubeRepo = comoSoubeRepo;
+        this.maximoPontos = maximoPontos;
+    }
+
+    @Transactional(readOnly = true)
+    public EstatisticasDTO calcular() {
+        LocalDate hoje = LocalDate.now();
+        LocalDate inicioSemana = hoje.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate inicioMes = hoje.withDayOfMonth(1);
+
+        Object[] totais = resumoRepo.totais(hoje, inicioSemana, inicioMes).get(0);
+        long total = numero(totais[0]);
+        long comValor = numero(totais[2]);
+        long comBoletim = numero(totais[3]);
+
+        long[] porMes = new long[12];
+        LocalDate inicioAno = hoje.withDayOfYear(1);
+        for (Object[] linha : resumoRepo.contarPorMes(inicioAno, inicioAno.plusYears(1))) {
+            porMes[((Number) linha[0]).intValue() - 1] = numero(linha[1]);
+        }
+
+        Pageable limite = PageRequest.of(0, MAXIMO_GRUPOS);
+        List<ContagemDTO> porBanco = resumoRepo.contarPorBanco(limite);
+        List<ContagemDTO> porTipo = resumoRepo.contarPorTipo(limite);
+        List<ContagemDTO> porComoSoube = comoSoubeRepo.contarPorComoSoube(limite);
+
+        return new EstatisticasDTO(
+                total,
+                numero(totais[4]),
+                numero(totais[5]),
+                numero(totais[6]),
+                porMes,
+                porBanco,
+                porTipo,
+                porComoSoube,
+                ((Number) totais[1]).doubleValue(),
+                comValor == 0 ? 0 : ((Number) totais[1]).doubleValue() / comValor,
+                total == 0 ? 0 : comBoletim * 100.0 / total);
+    }
+
+    // ==========================================
+    // 🔹 SÉRIE TEMPORAL
+    // ==========================================
+
+    // resolucao null = automática (a mais fina que cabe em "pontos"); uma resolução
+    // pedida que não cabe é trocada pela próxima mais grossa que caiba
+    @Transactional(readOnly = true)
+    public SerieTemporalDTO serie(
+            LocalDate inicio,
+            LocalDate fim,
+            Resolucao resolucao,
+            Integer idBanco,
+            Integer idTipo,
+            int pontos) {
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("A data final deve ser igual ou posterior à inicial");
+        }
+        int limite = Math.max(1, Math.min(pontos, maximoPontos));
+        LocalDateTime de = inicio.atStartOfDay();
+        LocalDateTime ate = fim.plusDays(1).atStartOfDay();
+
+        Resolucao escolhida = null;
+        for (Resolucao r : Resolucao.values()) {
+            if ((resolucao == null || r.compareTo(resolucao) >= 0) && r.pontos(de, ate) <= limite) {
+                escolhida = r;
+                break;
+            }
+        }
+        if (escolhida == null) {
+            throw new IllegalArgumentException("Intervalo longo demais para " + limite + " pontos");
+        }
+
+        // Pontos vazios entram com zero para a série ficar contínua
+        Map<LocalDateTime, double[]> acumulado = new LinkedHashMap<>();
+        for (LocalDateTime p = escolhida.truncar(de); p.isBefore(ate); p = escolhida.proximo(p)) {
+            acumulado.put(p, new double[2]);
+        }
+
+        if (escolhida == Resolucao.HORA) {
+            for (Object[] linha : denunciaRepo.somarPorHora(de, ate, idBanco, idTipo)) {
+                LocalDateTime hora = ((LocalDate) linha[0]).atTime(((Number) linha[1]).intValue(), 0);
+                somar(acumulado, hora, linha[2], linha[3]);
+            }
+        } else {
+            for (Object[] linha : resumoRepo.somarPorDia(inicio, fim.plusDays(1), idBanco, idTipo)) {
+                somar(acumulado, escolhida.truncar(((LocalDate) linha[0]).atStartOfDay()), linha[1], linha[2]);
+            }
+        }
+
+        List<PontoSerieDTO> serie = new ArrayList<>(acumulado.size());
+        acumulado.forEach((p, v) -> serie.add(new PontoSerieDTO(p, (long) v[0], v[1])));
+        return new SerieTemporalDTO(escolhida.name().toLowerCase(Locale.ROOT), inicio, fim, serie);
+    }
+
+    private static void somar(Map<LocalDateTime, double[]> acumulado, LocalDateTime ponto, Object total, Object valor) {
+        double[] v = acumulado.get(ponto);
+        if (v != null) {
+            v[0] += ((Number) total).doubleValue();
+            v[1] += valor == null ? 0 : ((Number) valor).doubleValue();
+        }
+    }
+
+    // SUM de tabela vazia vem null
+    private static long numero(Object valor) {
+        return valor == null ? 0 : ((Number) valor).longValue();
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.dtos.DenunciaResumoDTO;
+import com.example.InfoCheck.dtos.FiltroDenunciasDTO;
+import com.example.InfoCheck.repository.DenunciaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Exportação de denúncias em NDJSON ou CSV escrita direto na resposta.
+ *
+ * As linhas são lidas em lotes pela mesma busca por cursor (keyset) da listagem
+ * paginada, cada lote numa transação curta de leitura: a memória fica em um lote
+ * e a conexão (o pool padrão tem uma só) é devolvida entre um lote e outro, em vez
+ * de ficar presa a um cursor no banco enquanto o cliente baixa o arquivo.
+ *
+ * Denúncias sem data_denuncia ficam fora da ordem por data e saem no fim, em ordem
+ * de id, quando o filtro não tem período.
+ */
+@Service
+public class ExportacaoDenunciasService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final String CABECALHO_CSV = "idDenuncia,dataDenuncia,idUsuario,idBanco,nomeBanco,idTipoGolpe,"
+            + "nomeTipoGolpe,contatoDenunciado,descricao,valor,boletim,dataGolpeOcorrido,comoSoube,tipoGolpeOutro,nomeBancoOutro";
+
+    private final DenunciaRepository denunciaRepo;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate leitura;
+    private final int tamanhoLote;
+
+    public ExportacaoDenunciasService(
+            DenunciaRepository denunciaRepo,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${infocheck.denuncias.exportacao.lote:1000}") int tamanhoLote) {
+        this.denunciaRepo = denunciaRepo;
+        this.objectMapper = objectMapper;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+    }
+
+    public static boolean formatoValido(String formato) {
+        return CSV.equals(formato) || NDJSON.equals(formato);
+    }
+
+    // Escreve todas as denúncias do filtro, da mais recente para a mais antiga e depois as sem data
+    public void exportar(FiltroDenunciasDTO filtro, String formato, OutputStream saida) throws IOException {
+        if (!formatoValido(formato)) {
+            throw new IllegalArgumentException("Formato inválido: use csv ou ndjson");
+        }
+        boolean csv = CSV.equals(formato);
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 1 << 16);
+        if (csv) {
+            escritor.write(CABECALHO_CSV);
+            escritor.write('\n');
+        }
+
+        LocalDateTime cursorData = null;
+        Integer cursorId = null;
+        while (true) {
+            LocalDateTime data = cursorData;
+            Integer id = cursorId;
+            List<DenunciaResumoDTO> lote = leitura.execute(status ->
+                    denunciaRepo.buscarPagina(filtro, data, id, tamanhoLote));
+            if (lote == null || lote.isEmpty()) {
+                break;
+            }
+            escreverLote(escritor, lote, csv);
+            if (lote.size() < tamanhoLote) {
+                break;
+            }
+            DenunciaResumoDTO ultimo = lote.get(lote.size() - 1);
+            cursorData = ultimo.getData_denuncia();
+            cursorId = ultimo.getId_denuncia();
+        }
+
+        if (filtro == null || (filtro.getDataInicio() == null && filtro.getDataFim() == null)) {
+            Integer aposId = null;
+            while (true) {
+                Integer id = aposId;
+                List<DenunciaResumoDTO> lote = leitura.execute(status ->
+                        denunciaRepo.buscarPaginaSemData(filtro, id, tamanhoLote));
+                if (lote == null || lote.isEmpty()) {
+                    break;
+                }
+                escreverLote(escritor, lote, csv);
+                if (lote.size() < tamanhoLote) {
+                    break;
+                }
+                aposId = lote.get(lote.size() - 1).getId_denuncia();
+            }
+        }
+        escritor.flush();
+    }
+
+    private void escreverLote(Writer escritor, List<DenunciaResumoDTO> lote, boolean csv) throws IOException {
+        for (DenunciaResumoDTO d : lote) {
+            if (csv) {
+                escreverCsv(escritor, d);
+            } else {
+                escritor.write(objectMapper.writeValueAsString(d));
+                escritor.write('\n');
+            }
+        }
+        // Entrega o lote ao cliente; um cliente lento segura só esta thread, não a conexão
+        escritor.flush();
+    }
+
+    private static void escreverCsv(Writer escritor, DenunciaResumoDTO d) throws IOException {
+        boolean temBanco = d.getBanco() != null;
+        boolean temTipo = d.getTipoGolpe() != null;
+        Object[] campos = {
+                d.getId_denuncia(),
+                d.getData_denuncia(),
+                d.getUsuario() != null ? d.getUsuario().id_usuario() : null,
+                temBanco ? d.getBanco().id_banco() : null,
+                temBanco ? d.getBanco().nome_banco() : null,
+                temTipo ? d.getTipoGolpe().id_tipo() : null,
+                temTipo ? d.getTipoGolpe().nome_tipo() : null,
+                d.getContatoDenunciado(),
+                d.getDescricao(),
+                d.getValor(),
+                d.getBoletim(),
+                d.getDataGolpeOcorrido(),
+                d.getComoSoube(),
+                d.getTipoGolpeOutro(),
+                d.getNomeBancoOutro()
+        };
+        for (int i = 0; i < campos.length; i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            if (campos[i] != null) {
+                escritor.write(campoCsv(campos[i].toString()));
+            }
+        }
+        escritor.write('\n');
+    }
+
+    // Aspas só quando o texto tem vírgula, aspas ou quebra de linha (RFC 4180)
+    private static String campoCsv(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + valor.replace("\"", "\"\"") + '"';
+            }
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.dtos.ConsultaFacetasDTO;
+import com.example.InfoCheck.dtos.ResultadoFacetasDTO;
+import com.example.InfoCheck.dtos.ValorFacetaDTO;
+import com.example.InfoCheck.entities.Banco;
+import com.example.InfoCheck.entities.Denuncia;
+import com.example.InfoCheck.entities.TipoGolpe;
+import com.example.InfoCheck.repository.DenunciaRepository;
+import com.example.InfoCheck.util.BitmapComprimido;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de facetas em memória: para cada valor de cada dimensão (banco, tipo, mês,
+ * boletim, como soube), um bitmap comprimido com os ids das denúncias.
+ *
+ * Um filtro vira OU dos bitmaps dos valores escolhidos em cada dimensão e E entre
+ * as dimensões. A contagem de cada faceta usa os filtros de todas as outras
+ * dimensões (seleção múltipla), sem consultar o banco.
+ */
+@Service
+public class FacetasDenunciasService {
+
+    private static final Logger log = LoggerFactory.getLogger(FacetasDenunciasService.class);
+
+    public static final String BANCO = "banco";
+    public static final String TIPO = "tipo";
+    public static final String MES = "mes";
+    public static final String BOLETIM = "boletim";
+    public static final String COMO_SOUBE = "comoSoube";
+    private static final List<String> DIMENSOES = List.of(BANCO, TIPO, MES, BOLETIM, COMO_SOUBE);
+
+    private static final String NAO_INFORMADO = "Não informado";
+    private static final int LOTE_CARGA = 5000;
+    private static final int LIMITE_PADRAO = 20;
+
+    private final DenunciaRepository denunciaRepo;
+    private final CacheReferenciasService cache;
+    private final boolean habilitado;
+
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+    private Indice indice = new Indice();
+    private volatile boolean pronto = false;
+
+    // Denúncias registradas enquanto a carga está em andamento
+    private volatile Queue<Linha> pendentesCarga;
+
+    private record Linha(int id, int idBanco, int idTipo, LocalDateTime data, Boolean boletim, String comoSoube) {
+    }
+
+    // dimensão -> valor -> ids das denúncias
+    private static class Indice {
+        final BitmapComprimido todos = new BitmapComprimido();
+        final Map<String, Map<String, BitmapComprimido>> dimensoes = new LinkedHashMap<>();
+        int maiorId;
+
+        Indice() {
+            for (String dimensao : DIMENSOES) {
+                dimensoes.put(dimensao, new HashMap<>());
+            }
+        }
+
+        void adicionar(Linha linha) {
+            if (todos.contem(linha.id())) {
+                return;
+            }
+            todos.adicionar(linha.id());
+            maiorId = Math.max(maiorId, linha.id());
+            valor(BANCO, String.valueOf(linha.idBanco())).adicionar(linha.id());
+            valor(TIPO, String.valueOf(linha.idTipo())).adicionar(linha.id());
+            valor(MES, linha.data() != null ? YearMonth.from(linha.data()).toString() : NAO_INFORMADO).adicionar(linha.id());
+            valor(BOLETIM, linha.boletim() == null ? NAO_INFORMADO : linha.boletim() ? "sim" : "nao").adicionar(linha.id());
+            valor(COMO_SOUBE, rotuloComoSoube(linha.comoSoube())).adicionar(linha.id());
+        }
+
+        BitmapComprimido valor(String dimensao, String valor) {
+            return dimensoes.get(dimensao).computeIfAbsent(valor, v -> new BitmapComprimido());
+        }
+    }
+
+    public FacetasDenunciasService(
+            DenunciaRepository denunciaRepo,
+            CacheReferenciasService cache,
+            @Value("${infocheck.denuncias.facetas.habilitado:true}") boolean habilitado) {
+        this.denunciaRepo = denunciaRepo;
+        this.cache = cache;
+        this.habilitado = habilitado;
+    }
+
+    // ==========================================
+    // 🔹 CARGA
+    // ==========================================
+    public synchronized void carregar() {
+        if (!habilitado) {
+            return;
+        }
+        pendentesCarga = new ConcurrentLinkedQueue<>();
+        Indice novo = new Indice();
+
+        // Lotes por id crescente: cada consulta segura a conexão só por um lote
+        int aposId = 0;
+        while (true) {
+            List<Object[]> lote = denunciaRepo.findFacetas(aposId, PageRequest.of(0, LOTE_CARGA));
+            for (Object[] l : lote) {
+                novo.adicionar(new Linha(
+                        (Integer) l[0],
+                        ((Number) l[1]).intValue(),
+                        ((Number) l[2]).intValue(),
+                        (LocalDateTime) l[3],
+                        (Boolean) l[4],
+                        (String) l[5]));
+            }
+            if (lote.size() < LOTE_CARGA) {
+                break;
+            }
+            aposId = (Integer) lote.get(lote.size() - 1)[0];
+        }
+
+        trava.writeLock().lock();
+        try {
+            Queue<Linha> pendentes = pendentesCarga;
+            pendentesCarga = null;
+            pendentes.forEach(novo::adicionar);
+            indice = novo;
+            pronto = true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+        log.info("Índice de facetas carregado: {} denúncias", novo.todos.cardinalidade());
+    }
+
+    // ==========================================
+    // 🔹 ATUALIZAÇÃO
+    // ==========================================
+
+    // Chamado depois do commit das denúncias
+    public void registrar(List<Denuncia> denuncias) {
+        if (!habilitado) {
+            return;
+        }
+        trava.writeLock().lock();
+        try {
+            for (Denuncia d : denuncias) {
+                Linha linha = new Linha(
+                        d.getId_denuncia(),
+                        d.getBanco() != null ? d.getBanco().getId_banco() : 0,
+                        d.getTipoGolpe() != null ? d.getTipoGolpe().getId_tipo() : 0,
+                        d.getData_denuncia(),
+                        d.getBoletim(),
+                        d.getComoSoube());
+                Queue<Linha> pendentes = pendentesCarga;
+                if (pendentes != null) {
+                    pendentes.add(linha);
+                }
+                indice.adicionar(linha);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    // ==========================================
+    // 🔹 CONSULTA
+    // ==========================================
+    public ResultadoFacetasDTO consultar(ConsultaFacetasDTO consulta) {
+        if (!pronto) {
+            throw new IllegalStateException("Índice de facetas indisponível");
+        }
+        Map<String, List<String>> filtros = consulta.getFiltros() != null ? consulta.getFiltros() : Map.of();
+        for (String dimensao : filtros.keySet()) {
+            if (!DIMENSOES.contains(dimensao)) {
+                throw new IllegalArgumentException("Dimensão inválida: " + dimensao + " (use " + String.join(", ", DIMENSOES) + ")");
+            }
+        }
+        int limite = consulta.getLimite() != null && consulta.getLimite() > 0 ? consulta.getLimite() : LIMITE_PADRAO;
+
+        Map<String, Map<String, Long>> contagens = new LinkedHashMap<>();
+        long total;
+        trava.readLock().lock();
+        try {
+            // OU dos valores escolhidos em cada dimensão filtrada
+            Map<String, BitmapComprimido> porDimensao = new HashMap<>();
+            filtros.forEach((dimensao, valores) -> {
+                if (valores != null && !valores.isEmpty()) {
+                    BitmapComprimido uniao = new BitmapComprimido();
+                    for (String valor : valores) {
+                        BitmapComprimido ids = indice.dimensoes.get(dimensao).get(valor);
+                        if (ids != null) {
+                            uniao = BitmapComprimido.ou(uniao, ids);
+                        }
+                    }
+                    porDimensao.put(dimensao, uniao);
+                }
+            });
+
+            total = combinar(porDimensao, null).cardinalidade();
+            for (String dimensao : DIMENSOES) {
+                // Cada faceta ignora o próprio filtro para mostrar as alternativas
+                BitmapComprimido base = combinar(porDimensao, dimensao);
+                Map<String, Long> valores = new HashMap<>();
+                indice.dimensoes.get(dimensao).forEach((valor, ids) ->
+                        valores.put(valor, BitmapComprimido.cardinalidadeE(base, ids)));
+                contagens.put(dimensao, valores);
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+
+        Map<String, List<ValorFacetaDTO>> facetas = new LinkedHashMap<>();
+        contagens.forEach((dimensao, valores) -> {
+            List<String> selecionados = filtros.getOrDefault(dimensao, List.of());
+            List<ValorFacetaDTO> lista = new ArrayList<>();
+            valores.forEach((valor, quantidade) -> {
+                boolean selecionado = selecionados.contains(valor);
+                if (quantidade > 0 || selecionado) {
+                    lista.add(new ValorFacetaDTO(valor, rotulo(dimensao, valor), quantidade, selecionado));
+                }
+            });
+            lista.sort(Comparator.comparingLong(ValorFacetaDTO::getTotal).reversed()
+                    .thenComparing(ValorFacetaDTO::getValor));
+            facetas.put(dimensao, lista.size() > limite ? new ArrayList<>(lista.subList(0, limite)) : lista);
+        });
+        return new ResultadoFacetasDTO(total, facetas);
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    // E dos filtros de todas as dimensões, exceto "ignorar"
+    private BitmapComprimido combinar(Map<String, BitmapComprimido> porDimensao, String ignorar) {
+        BitmapComprimido resultado = indice.todos;
+        for (Map.Entry<String, BitmapComprimido> filtro : porDimensao.entrySet()) {
+            if (!filtro.getKey().equals(ignorar)) {
+                resultado = BitmapComprimido.e(resultado, filtro.getValue());
+            }
+        }
+        return resultado;
+    }
+
+    // Nomes de banco e tipo vêm do cache de referências; 0 é "sem banco/tipo"
+    private String rotulo(String dimensao, String valor) {
+        return switch (dimensao) {
+            case BANCO -> {
+                Banco banco = "0".equals(valor) ? null : cache.banco(Integer.valueOf(valor));
+                yield banco != null ? banco.getNome_banco() : "Outros";
+            }
+            case TIPO -> {
+                TipoGolpe tipo = "0".equals(valor) ? null : cache.tipo(Integer.valueOf(valor));
+                yield tipo != null ? tipo.getNome_tipo() : "Outros";
+            }
+            case BOLETIM -> "sim".equals(valor) ? "Com boletim" : "nao".equals(valor) ? "Sem boletim" : NAO_INFORMADO;
+            default -> valor;
+        };
+    }
+
+    // Espaços extras não criam valores diferentes para o mesmo texto
+    static String rotuloComoSoube(String comoSoube) {
+        if (comoSoube == null || comoSoube.isBlank()) {
+            return NAO_INFORMADO;
+        }
+        return comoSoube.trim().replaceAll("\\s+", " ");
+    }
+}
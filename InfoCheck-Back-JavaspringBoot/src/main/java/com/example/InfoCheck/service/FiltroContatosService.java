@@ -0,0 +1,207 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.dtos.FiltroContatosDTO;
+import com.example.InfoCheck.repository.DenunciaRepository;
+import com.example.InfoCheck.util.FiltroBloom;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Filtro de Bloom com todos os contatos normalizados já denunciados.
+ * Consultado antes de qualquer contagem: se o filtro diz que o contato não está lá,
+ * a resposta "Sem denúncias" sai sem tocar no índice nem no banco.
+ *
+ * Quando o número de contatos passa da capacidade, o filtro é reconstruído em
+ * segundo plano com o dobro do tamanho, mantendo a taxa de falso positivo.
+ */
+@Service
+public class FiltroContatosService {
+
+    private static final Logger log = LoggerFactory.getLogger(FiltroContatosService.class);
+
+    private final DenunciaRepository denunciaRepo;
+    private final boolean habilitado;
+    private final long capacidadeInicial;
+    private final double taxaFalsoPositivo;
+
+    private volatile FiltroBloom filtro;
+    private volatile boolean pronto = false;
+
+    // Contatos adicionados durante uma reconstrução, reaplicados no filtro novo
+    private volatile Queue<String> pendentesReconstrucao;
+    private final AtomicBoolean reconstruindo = new AtomicBoolean(false);
+
+    // adicionar() segura a leitura; a reconstrução segura a escrita para ligar a fila e
+    // para reaplicá-la e trocar o filtro, então nenhum contato fica só no filtro velho
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "filtro-contatos");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final LongAdder consultas = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+    private final LongAdder possiveis = new LongAdder();
+    private final LongAdder falsosPositivos = new LongAdder();
+    private final LongAdder reconstrucoes = new LongAdder();
+
+    public FiltroContatosService(
+            DenunciaRepository denunciaRepo,
+            @Value("${infocheck.contatos.filtro.habilitado:true}") boolean habilitado,
+            @Value("${infocheck.contatos.filtro.capacidade:100000}") long capacidadeInicial,
+            @Value("${infocheck.contatos.filtro.taxa-falso-positivo:0.01}") double taxaFalsoPositivo) {
+        this.denunciaRepo = denunciaRepo;
+        this.habilitado = habilitado;
+        this.capacidadeInicial = capacidadeInicial;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.filtro = new FiltroBloom(capacidadeInicial, taxaFalsoPositivo);
+    }
+
+    // ==========================================
+    // 🔹 CONSTRUÇÃO
+    // ==========================================
+    public void carregar() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    // Com o filtro desabilitado nada é adicionado a ele: não pode passar a responder
+    public void reconstruir() {
+        if (!habilitado || !reconstruindo.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            lock.writeLock().lock();
+            try {
+                pendentesReconstrucao = new ConcurrentLinkedQueue<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            List<String> contatos = denunciaRepo.findContatosNormalizadosDistintos();
+
+            // Folga de 2x para não saturar logo após a reconstrução
+            long capacidade = Math.max(capacidadeInicial, contatos.size() * 2L);
+            FiltroBloom novo = new FiltroBloom(capacidade, taxaFalsoPositivo);
+            contatos.forEach(novo::adicionar);
+
+            lock.writeLock().lock();
+            try {
+                pendentesReconstrucao.forEach(novo::adicionar);
+                filtro = novo;
+                pendentesReconstrucao = null;
+                pronto = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            reconstrucoes.increment();
+            log.info("Filtro de contatos construído: {} contatos, capacidade {}, {} bits",
+                    contatos.size(), capacidade, novo.getTotalBits());
+        } finally {
+            reconstruindo.set(false);
+        }
+    }
+
+    public void reconstruirEmSegundoPlano() {
+        if (!reconstruindo.get()) {
+            executor.submit(() -> {
+                try {
+                    reconstruir();
+                } catch (Exception e) {
+                    log.error("Erro ao reconstruir filtro de contatos", e);
+                }
+            });
+        }
+    }
+
+    // ==========================================
+    // 🔹 CONSULTA E ATUALIZAÇÃO
+    // ==========================================
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    // true quando o contato certamente nunca foi denunciado
+    public boolean descarta(String contatoNormalizado) {
+        if (!pronto) {
+            return false;
+        }
+        consultas.increment();
+        if (filtro.podeConter(contatoNormalizado)) {
+            possiveis.increment();
+            return false;
+        }
+        descartados.increment();
+        return true;
+    }
+
+    // Informa o resultado da contagem de um contato que passou pelo filtro
+    public void registrarResultado(long totalDenuncias) {
+        if (pronto && totalDenuncias == 0) {
+            falsosPositivos.increment();
+        }
+    }
+
+    public void adicionar(String contatoNormalizado) {
+        if (!habilitado || contatoNormalizado == null) {
+            return;
+        }
+        FiltroBloom atual;
+        lock.readLock().lock();
+        try {
+            Queue<String> pendentes = pendentesReconstrucao;
+            if (pendentes != null) {
+                pendentes.add(contatoNormalizado);
+            }
+            atual = filtro;
+            // Contato repetido não muda nenhum bit; só conta inserções novas para a capacidade
+            if (!atual.podeConter(contatoNormalizado)) {
+                atual.adicionar(contatoNormalizado);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (atual.isSaturado()) {
+            reconstruirEmSegundoPlano();
+        }
+    }
+
+    public FiltroContatosDTO estatisticas() {
+        FiltroBloom atual = filtro;
+        return new FiltroContatosDTO(
+                pronto,
+                atual.getCapacidade(),
+                taxaFalsoPositivo,
+                atual.getTaxaFalsoPositivoEstimada(),
+                atual.getTotalBits(),
+                atual.getTotalHashes(),
+                atual.getInsercoes(),
+                atual.getTaxaOcupacao(),
+                reconstrucoes.sum(),
+                consultas.sum(),
+                descartados.sum(),
+                possiveis.sum(),
+                falsosPositivos.sum());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
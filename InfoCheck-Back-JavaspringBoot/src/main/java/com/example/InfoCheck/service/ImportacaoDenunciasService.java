@@ -0,0 +1,365 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.dtos.DenunciaDTO;
+import com.example.InfoCheck.dtos.ErroImportacaoDTO;
+import com.example.InfoCheck.dtos.ResultadoImportacaoDTO;
+import com.example.InfoCheck.entities.Denuncia;
+import com.example.InfoCheck.entities.Usuario;
+import com.example.InfoCheck.repository.UsuarioRepository;
+import com.example.InfoCheck.util.LeitorCsv;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importação em massa de denúncias (CSV ou NDJSON) lendo o corpo da requisição
+ * em fluxo: só um lote fica em memória por vez.
+ *
+ * Cada lote resolve usuários com uma consulta e bancos e tipos pelo cache de
+ * referências, e grava com o mesmo INSERT em lote da ingestão
+ * assíncrona (dados derivados na mesma transação). Registros inválidos não param a
+ * importação: entram na lista de erros com o número da linha.
+ *
+ * Um erro que impede continuar a leitura (aspas não fechadas, conexão interrompida)
+ * não descarta o que já foi lido: os registros lidos até ali são gravados e o resultado
+ * volta marcado como interrompido, com a linha do erro, para o envio recomeçar dali
+ * sem duplicar o que já entrou.
+ */
+@Service
+public class ImportacaoDenunciasService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoDenunciasService.class);
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    // Colunas aceitas no cabeçalho do CSV (mesmos nomes do JSON de DenunciaDTO)
+    private static final List<String> COLUNAS = List.of(
+            "idUsuario", "idBanco", "idTipoGolpe", "contatoDenunciado", "descricao", "valor",
+            "boletim", "dataGolpeOcorrido", "comoSoube", "tipoGolpeOutro", "nomeBancoOutro");
+
+    // Maior cabeçalho aceito no CSV (os nomes de todas as colunas cabem com folga)
+    private static final int TAMANHO_MAXIMO_CABECALHO = 4096;
+
+    private record Registro(long linha, DenunciaDTO dto) {
+    }
+
+    private final DenunciaService denunciaService;
+    private final UsuarioRepository usuarioRepo;
+    private final CacheReferenciasService cache;
+    private final ObjectMapper objectMapper;
+    private final int tamanhoLote;
+    private final int maximoErros;
+
+    public ImportacaoDenunciasService(
+            DenunciaService denunciaService,
+            UsuarioRepository usuarioRepo,
+            CacheReferenciasService cache,
+            ObjectMapper objectMapper,
+            @Value("${infocheck.denuncias.importacao.lote:1000}") int tamanhoLote,
+            @Value("${infocheck.denuncias.importacao.maximo-erros:1000}") int maximoErros) {
+        this.denunciaService = denunciaService;
+        this.usuarioRepo = usuarioRepo;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+        this.maximoErros = Math.max(0, maximoErros);
+    }
+
+    // Estado de uma importação em andamento
+    private class Importacao {
+        final List<Registro> lote = new ArrayList<>(tamanhoLote);
+        final List<ErroImportacaoDTO> erros = new ArrayList<>();
+        long registros;
+        long importadas;
+        long rejeitadas;
+        long naoListados;
+        boolean interrompida;
+
+        void adicionar(Registro registro) {
+            registros++;
+            lote.add(registro);
+            if (lote.size() >= tamanhoLote) {
+                gravar();
+            }
+        }
+
+        void erro(long linha, String mensagem) {
+            rejeitadas++;
+            if (erros.size() < maximoErros) {
+                erros.add(new ErroImportacaoDTO(linha, mensagem));
+            } else {
+                naoListados++;
+            }
+        }
+
+        // Erro que para a leitura: sempre listado, mesmo com a lista de erros cheia
+        void interromper(long linha, String motivo) {
+            interrompida = true;
+            erros.add(new ErroImportacaoDTO(linha,
+                    "Leitura interrompida: " + motivo + ". Nada foi lido a partir desta linha"));
+        }
+
+        void gravar() {
+            if (lote.isEmpty()) {
+                return;
+            }
+            Set<Integer> idsUsuarios = new HashSet<>();
+            for (Registro r : lote) {
+                if (r.dto().getIdUsuario() != null) {
+                    idsUsuarios.add(r.dto().getIdUsuario());
+                }
+            }
+            Map<Integer, Usuario> usuarios = new HashMap<>();
+            usuarioRepo.findAllById(idsUsuarios).forEach(u -> usuarios.put(u.getId_usuario(), u));
+
+            List<Registro> validos = new ArrayList<>(lote.size());
+            List<Denuncia> denuncias = new ArrayList<>(lote.size());
+            for (Registro r : lote) {
+                DenunciaDTO dto = r.dto();
+                String problema = validar(dto, usuarios);
+                if (problema != null) {
+                    erro(r.linha(), problema);
+                    continue;
+                }
+                validos.add(r);
+                denuncias.add(DenunciaService.montar(
+                        dto, usuarios.get(dto.getIdUsuario()), cache.banco(dto.getIdBanco()), cache.tipo(dto.getIdTipoGolpe())));
+            }
+            lote.clear();
+            if (denuncias.isEmpty()) {
+                return;
+            }
+
+            List<String> falhas = denunciaService.gravarEmLote(denuncias);
+            for (int i = 0; i < falhas.size(); i++) {
+                if (falhas.get(i) == null) {
+                    importadas++;
+                } else {
+                    erro(validos.get(i).linha(), falhas.get(i));
+                }
+            }
+        }
+
+        String validar(DenunciaDTO dto, Map<Integer, Usuario> usuarios) {
+            if (dto.getIdUsuario() == null) {
+                return "idUsuario é obrigatório";
+            }
+            if (!usuarios.containsKey(dto.getIdUsuario())) {
+                return "Usuário " + dto.getIdUsuario() + " não encontrado";
+            }
+            if (dto.getContatoDenunciado() == null || dto.getContatoDenunciado().isBlank()) {
+                return "contatoDenunciado é obrigatório";
+            }
+            if (dto.getIdBanco() != null && cache.banco(dto.getIdBanco()) == null) {
+                return "Banco " + dto.getIdBanco() + " não encontrado";
+            }
+            if (dto.getIdTipoGolpe() != null && cache.tipo(dto.getIdTipoGolpe()) == null) {
+                return "Tipo de golpe " + dto.getIdTipoGolpe() + " não encontrado";
+            }
+            return null;
+        }
+
+        ResultadoImportacaoDTO resultado(long inicio) {
+            return new ResultadoImportacaoDTO(
+                    registros, importadas, rejeitadas, erros, naoListados, interrompida,
+                    System.currentTimeMillis() - inicio);
+        }
+    }
+
+    // ==========================================
+    // 🔹 IMPORTAR
+    // ==========================================
+    public ResultadoImportacaoDTO importar(InputStream corpo, String formato) {
+        if (!CSV.equals(formato) && !NDJSON.equals(formato)) {
+            throw new IllegalArgumentException("Formato inválido: use csv ou ndjson");
+        }
+        long inicio = System.currentTimeMillis();
+        Importacao importacao = new Importacao();
+        try {
+            Reader leitor = semBom(new InputStreamReader(corpo, StandardCharsets.UTF_8));
+            if (CSV.equals(formato)) {
+                importarCsv(leitor, importacao);
+            } else {
+                importarNdjson(leitor, importacao);
+            }
+        } catch (IOException e) {
+            importacao.interromper(1, "erro ao ler o arquivo enviado");
+        }
+        // Também depois de uma interrupção: o que foi lido até ela é gravado e contado
+        importacao.gravar();
+
+        ResultadoImportacaoDTO resultado = importacao.resultado(inicio);
+        log.info("Importação de denúncias ({}): {} registros, {} importadas, {} rejeitadas em {} ms{}",
+                formato, resultado.getRegistros(), resultado.getImportadas(), resultado.getRejeitadas(), resultado.getDuracaoMs(),
+                resultado.isInterrompida() ? " (leitura interrompida)" : "");
+        return resultado;
+    }
+
+    private void importarNdjson(Reader leitor, Importacao importacao) {
+        BufferedReader linhas = new BufferedReader(leitor);
+        long numero = 0;
+        String linha;
+        try {
+            while ((linha = linhas.readLine()) != null) {
+                numero++;
+                if (linha.isBlank()) {
+                    continue;
+                }
+                try {
+                    importacao.adicionar(new Registro(numero, objectMapper.readValue(linha, DenunciaDTO.class)));
+                } catch (JsonProcessingException e) {
+                    importacao.registros++;
+                    importacao.erro(numero, "JSON inválido: " + e.getOriginalMessage());
+                }
+            }
+        } catch (IOException e) {
+            importacao.interromper(numero + 1, "erro ao ler o arquivo enviado");
+        }
+    }
+
+    private void importarCsv(Reader leitor, Importacao importacao) {
+        BufferedReader entrada = new BufferedReader(leitor);
+        LeitorCsv csv = null;
+        try {
+            char separador = separador(entrada);
+            csv = new LeitorCsv(entrada, separador);
+            int[] colunas = colunas(csv.proximo());
+
+            List<String> campos;
+            while ((campos = csv.proximo()) != null) {
+                try {
+                    if (campos.size() != colunas.length) {
+                        throw new IllegalArgumentException(
+                                "Esperadas " + colunas.length + " colunas, encontradas " + campos.size());
+                    }
+                    DenunciaDTO dto = new DenunciaDTO();
+                    for (int i = 0; i < colunas.length; i++) {
+                        preencher(dto, COLUNAS.get(colunas[i]), campos.get(i).trim());
+                    }
+                    importacao.adicionar(new Registro(csv.getLinha(), dto));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    importacao.registros++;
+                    importacao.erro(csv.getLinha(), e.getMessage());
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Cabeçalho inválido ou registro que não dá para delimitar (aspas não fechadas)
+            importacao.interromper(csv == null ? 1 : Math.max(1, csv.getLinha()), e.getMessage());
+        } catch (IOException e) {
+            importacao.interromper(csv == null ? 1 : Math.max(1, csv.getLinha()), "erro ao ler o arquivo enviado");
+        }
+    }
+
+    // Separador pelo cabeçalho: planilhas em português costumam exportar com ';'.
+    // Lê no máximo TAMANHO_MAXIMO_CABECALHO caracteres, dentro do limite do mark.
+    private static char separador(BufferedReader entrada) throws IOException {
+        entrada.mark(TAMANHO_MAXIMO_CABECALHO + 1);
+        StringBuilder primeiraLinha = new StringBuilder();
+        int c;
+        while ((c = entrada.read()) >= 0 && c != '\n' && c != '\r') {
+            if (primeiraLinha.length() == TAMANHO_MAXIMO_CABECALHO) {
+                throw new IllegalArgumentException("Cabeçalho com mais de " + TAMANHO_MAXIMO_CABECALHO + " caracteres");
+            }
+            primeiraLinha.append((char) c);
+        }
+        entrada.reset();
+        if (c < 0 && primeiraLinha.isEmpty()) {
+            throw new IllegalArgumentException("Arquivo vazio");
+        }
+        return primeiraLinha.indexOf(";") >= 0 && primeiraLinha.indexOf(",") < 0 ? ';' : ',';
+    }
+
+    // Posição de cada coluna do cabeçalho em COLUNAS
+    private static int[] colunas(List<String> cabecalho) {
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("Arquivo vazio");
+        }
+        int[] colunas = new int[cabecalho.size()];
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas[i] = COLUNAS.indexOf(cabecalho.get(i).trim());
+            if (colunas[i] < 0) {
+                throw new IllegalArgumentException("Coluna desconhecida: " + cabecalho.get(i).trim()
+                        + " (use " + String.join(", ", COLUNAS) + ")");
+            }
+        }
+        return colunas;
+    }
+
+    private static void preencher(DenunciaDTO dto, String coluna, String valor) {
+        if (valor.isEmpty()) {
+            return;
+        }
+        switch (coluna) {
+            case "idUsuario" -> dto.setIdUsuario(inteiro(coluna, valor));
+            case "idBanco" -> dto.setIdBanco(inteiro(coluna, valor));
+            case "idTipoGolpe" -> dto.setIdTipoGolpe(inteiro(coluna, valor));
+            case "contatoDenunciado" -> dto.setContatoDenunciado(valor);
+            case "descricao" -> dto.setDescricao(valor);
+            case "valor" -> dto.setValor(decimal(valor));
+            case "boletim" -> dto.setBoletim(booleano(valor));
+            case "dataGolpeOcorrido" -> dto.setDataGolpeOcorrido(LocalDate.parse(valor));
+            case "comoSoube" -> dto.setComoSoube(valor);
+            case "tipoGolpeOutro" -> dto.setTipoGolpeOutro(valor);
+            case "nomeBancoOutro" -> dto.setNomeBancoOutro(valor);
+            default -> throw new IllegalArgumentException("Coluna desconhecida: " + coluna);
+        }
+    }
+
+    private static Integer inteiro(String coluna, String valor) {
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(coluna + " inválido: " + valor);
+        }
+    }
+
+    // Aceita "1234.56" e "1234,56"
+    private static Double decimal(String valor) {
+        String normalizado = valor.indexOf('.') < 0 ? valor.replace(',', '.') : valor;
+        try {
+            return Double.valueOf(normalizado);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("valor inválido: " + valor);
+        }
+    }
+
+    private static Boolean booleano(String valor) {
+        return switch (valor.toLowerCase(Locale.ROOT)) {
+            case "true", "sim", "s", "1" -> true;
+            case "false", "nao", "não", "n", "0" -> false;
+            default -> throw new IllegalArgumentException("boletim inválido: " + valor);
+        };
+    }
+
+    // Ignora o BOM que o Excel coloca no início de arquivos UTF-8
+    private static Reader semBom(Reader leitor) throws IOException {
+        PushbackReader entrada = new PushbackReader(leitor, 1);
+        int primeiro = entrada.read();
+        if (primeiro >= 0 && primeiro != '\uFEFF') {
+            entrada.unread(primeiro);
+        }
+        return entrada;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.dtos.ContatoOficialResumoDTO;
+import com.example.InfoCheck.dtos.ContatoParecidoDTO;
+import com.example.InfoCheck.entities.ContatoOficial;
+import com.example.InfoCheck.repository.ContatoOficialRepository;
+import com.example.InfoCheck.util.ArvoreBK;
+import com.example.InfoCheck.util.ContatoNormalizador;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice em memória dos contatos oficiais dos bancos, pelo valor normalizado.
+ * Uma BK-tree responde "quais contatos oficiais estão a até N edições deste número"
+ * sem comparar com todos os contatos cadastrados, e um mapa hash responde
+ * "este contato é oficial?" com uma única consulta.
+ */
+@Service
+public class IndiceContatosOficiaisService {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceContatosOficiaisService.class);
+
+    // Distância máxima aceita na busca por contatos parecidos
+    public static final int DISTANCIA_MAXIMA = 3;
+
+    // Dados do contato oficial guardados no índice (sem a entidade JPA)
+    public record Oficial(Integer idContato, Integer idBanco, String nomeBanco, String tipoContato, String valorContato) {
+    }
+
+    @Autowired
+    private ContatoOficialRepository repo;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private ArvoreBK<Oficial> arvore = new ArvoreBK<>();
+    private volatile Map<String, List<Oficial>> porValor = new ConcurrentHashMap<>();
+
+    // carregar() e adicionar() não se sobrepõem: um contato gravado durante a recarga
+    // entra depois da troca, no índice novo
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        ArvoreBK<Oficial> nova = new ArvoreBK<>();
+        Map<String, List<Oficial>> novoPorValor = new ConcurrentHashMap<>();
+        List<ContatoOficial> contatos = repo.findAll();
+        for (ContatoOficial contato : contatos) {
+            adicionarEm(nova, novoPorValor, contato);
+        }
+
+        lock.writeLock().lock();
+        try {
+            arvore = nova;
+            porValor = novoPorValor;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de contatos oficiais carregado: {} contatos", contatos.size());
+    }
+
+    // Chamado depois que um contato oficial novo é gravado (alterações recarregam o índice)
+    public synchronized void adicionar(ContatoOficial contato) {
+        lock.writeLock().lock();
+        try {
+            adicionarEm(arvore, porValor, contato);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Contatos oficiais com exatamente este valor normalizado (lista vazia se não for oficial)
+    public List<ContatoOficialResumoDTO> buscarOficiais(String contatoNormalizado) {
+        List<Oficial> oficiais = porValor.get(contatoNormalizado);
+        if (oficiais == null) {
+            return List.of();
+        }
+        return oficiais.stream()
+                .map(o -> new ContatoOficialResumoDTO(o.idContato(), o.idBanco(), o.nomeBanco(), o.tipoContato(), o.valorContato()))
+                .toList();
+    }
+
+    // Contatos oficiais a até "distancia" edições do contato informado, mais próximos primeiro
+    public List<ContatoParecidoDTO> buscarParecidos(String contato, int distancia) {
+        String normalizado = ContatoNormalizador.normalizar(contato);
+        if (normalizado.isEmpty()) {
+            throw new IllegalArgumentException("Contato não pode ser vazio");
+        }
+        int limite = Math.max(0, Math.min(distancia, DISTANCIA_MAXIMA));
+
+        List<ArvoreBK.Resultado<Oficial>> resultados;
+        lock.readLock().lock();
+        try {
+            resultados = arvore.buscar(normalizado, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return resultados.stream()
+                .sorted(Comparator.comparingInt((ArvoreBK.Resultado<Oficial> r) -> r.distancia())
+                        .thenComparing(r -> r.valor().nomeBanco(), Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(r -> new ContatoParecidoDTO(
+                        r.valor().idContato(),
+                        r.valor().idBanco(),
+                        r.valor().nomeBanco(),
+                        r.valor().tipoContato(),
+                        r.valor().valorContato(),
+                        r.distancia(),
+                        r.distancia() == 0))
+                .toList();
+    }
+
+    private static void adicionarEm(ArvoreBK<Oficial> destino, Map<String, List<Oficial>> porValor, ContatoOficial contato) {
+        String normalizado = ContatoNormalizador.normalizar(contato.getValor_contato());
+        if (normalizado.isEmpty()) {
+            return;
+        }
+        Oficial oficial = paraOficial(contato);
+        destino.adicionar(normalizado, oficial);
+        porValor.computeIfAbsent(normalizado, k -> new CopyOnWriteArrayList<>()).add(oficial);
+    }
+
+    private static Oficial paraOficial(ContatoOficial contato) {
+        return new Oficial(
+                contato.getId_contato(),
+                contato.getBanco() != null ? contato.getBanco().getId_banco() : null,
+                contato.getBanco() != null ? contato.getBanco().getNome_banco() : null,
+                contato.getTipo_contato(),
+                contato.getValor_contato());
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.dtos.ContatoDenunciadoDTO;
+import com.example.InfoCheck.repository.DenunciaRepository;
+import com.example.InfoCheck.util.IndiceTrechos;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória contato normalizado -> total de denúncias.
+ *
+ * Os contatos são distribuídos em shards (ConcurrentHashMap independentes) pelo hash,
+ * então leituras e incrementos simultâneos raramente disputam o mesmo shard e a
+ * verificação de contato não precisa de conexão com o banco.
+ *
+ * Mantém também um índice de n-gramas dos contatos para a busca por número parcial
+ * (prefixo ou trecho), sem LIKE '%x%' no banco.
+ */
+@Service
+public class IndiceContatosService {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceContatosService.class);
+
+    // Buscas por trecho devem ter pelo menos este tamanho
+    public static final int TAMANHO_MINIMO_BUSCA = 3;
+
+    // Candidatos pontuados por busca; termos curtos (ex.: "119") casam com boa parte do índice
+    private static final int MAXIMO_CANDIDATOS = 10_000;
+
+    // Rodadas de recontagem dos contatos gravados durante a carga; a última roda com a escrita bloqueada
+    private static final int RODADAS_RECONTAGEM = 3;
+
+    private final DenunciaRepository denunciaRepo;
+    private final TransactionTemplate leituraConsistente;
+    private final boolean habilitado;
+    private final int totalShards;
+
+    private volatile ConcurrentHashMap<String, Long>[] shards;
+    private volatile IndiceTrechos trechos = new IndiceTrechos(TAMANHO_MINIMO_BUSCA);
+    private volatile boolean pronto = false;
+
+    // Contatos de denúncias criadas enquanto a carga está em andamento
+    private volatile Queue<String> pendentesCarga;
+
+    // registrar() segura a leitura (vários ao mesmo tempo); a carga segura a escrita só para
+    // ligar e esvaziar a fila e trocar os mapas, então nenhum incremento cai no mapa velho
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public IndiceContatosService(
+            DenunciaRepository denunciaRepo,
+            PlatformTransactionManager transactionManager,
+            @Value("${infocheck.contatos.indice.habilitado:true}") boolean habilitado,
+            @Value("${infocheck.contatos.indice.shards:0}") int shards) {
+        this.denunciaRepo = denunciaRepo;
+        this.habilitado = habilitado;
+        this.totalShards = potenciaDeDois(shards > 0 ? shards : Runtime.getRuntime().availableProcessors() * 4);
+        this.shards = novosShards(totalShards);
+
+        // Snapshot único para o agrupamento enxergar um estado só da tabela
+        this.leituraConsistente = new TransactionTemplate(transactionManager);
+        this.leituraConsistente.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.leituraConsistente.setReadOnly(true);
+    }
+
+    // ==========================================
+    // 🔹 CARGA
+    // ==========================================
+    public synchronized void carregar() {
+        if (!habilitado) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pendentesCarga = new ConcurrentLinkedQueue<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ConcurrentHashMap<String, Long>[] novos = novosShards(totalShards);
+        IndiceTrechos novosTrechos = new IndiceTrechos(TAMANHO_MINIMO_BUSCA);
+
+        leituraConsistente.executeWithoutResult(status -> {
+            for (Object[] linha : denunciaRepo.contarPorContatoNormalizado()) {
+                String contato = (String) linha[0];
+                shard(novos, contato).put(contato, ((Number) linha[1]).longValue());
+                novosTrechos.adicionar(contato);
+            }
+        });
+
+        // O snapshot não diz quais denúncias contou (ids IDENTITY não seguem a ordem de
+        // commit), então os contatos gravados durante a carga são recontados no banco.
+        // Cada rodada reconta o que chegou durante a anterior; a última segura a escrita
+        // para que nada chegue entre a recontagem e a troca dos mapas. A transação pega a
+        // conexão antes da escrita: esperar conexão segurando a escrita travaria com os
+        // commits parados em registrar() segurando as suas.
+        for (int rodada = 1; ; rodada++) {
+            boolean ultima = rodada == RODADAS_RECONTAGEM;
+            Boolean trocados = leituraConsistente.execute(status -> {
+                Set<String> contatos = new HashSet<>();
+                lock.writeLock().lock();
+                try {
+                    contatos.addAll(pendentesCarga);
+                    pendentesCarga.clear();
+                    if (contatos.isEmpty() || ultima) {
+                        recontar(novos, novosTrechos, contatos);
+                        shards = novos;
+                        trechos = novosTrechos;
+                        pendentesCarga = null;
+                        pronto = true;
+                        return true;
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                recontar(novos, novosTrechos, contatos);
+                return false;
+            });
+            if (Boolean.TRUE.equals(trocados)) {
+                break;
+            }
+        }
+        log.info("Índice de contatos carregado: {} contatos em {} shards", tamanho(), totalShards);
+    }
+
+    // Substitui o total dos contatos informados pelo valor atual do banco
+    private void recontar(ConcurrentHashMap<String, Long>[] novos, IndiceTrechos novosTrechos, Set<String> contatos) {
+        if (contatos.isEmpty()) {
+            return;
+        }
+        for (Object[] linha : denunciaRepo.contarPorContatosNormalizados(contatos)) {
+            String contato = (String) linha[0];
+            shard(novos, contato).put(contato, ((Number) linha[1]).longValue());
+            novosTrechos.adicionar(contato);
+        }
+    }
+
+    // ==========================================
+    // 🔹 CONSULTA E ATUALIZAÇÃO
+    // ==========================================
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    public long contar(String contatoNormalizado) {
+        Long total = shard(shards, contatoNormalizado).get(contatoNormalizado);
+        return total == null ? 0 : total;
+    }
+
+    // Chamado depois que a denúncia foi gravada
+    public void registrar(String contatoNormalizado) {
+        if (!habilitado || contatoNormalizado == null) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            Queue<String> pendentes = pendentesCarga;
+            if (pendentes != null) {
+                pendentes.add(contatoNormalizado);
+            }
+            Long total = shard(shards, contatoNormalizado).merge(contatoNormalizado, 1L, Long::sum);
+            if (total == 1L) {
+                trechos.adicionar(contatoNormalizado);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Busca contatos denunciados por prefixo ou trecho do contato normalizado,
+    // ordenados pelo total de denúncias
+    public List<ContatoDenunciadoDTO> buscar(String termoNormalizado, boolean somentePrefixo, int limite) {
+        if (!pronto) {
+            throw new IllegalStateException("Índice de contatos indisponível");
+        }
+        if (termoNormalizado.length() < TAMANHO_MINIMO_BUSCA) {
+            throw new IllegalArgumentException(
+                    "Informe pelo menos " + TAMANHO_MINIMO_BUSCA + " caracteres para a busca");
+        }
+        IndiceTrechos atual = trechos;
+        Stream<String> candidatos = somentePrefixo
+                ? atual.buscarPorPrefixo(termoNormalizado)
+                : atual.buscarPorTrecho(termoNormalizado);
+
+        // Só os primeiros MAXIMO_CANDIDATOS entram na disputa (em ordem de contato no modo prefixo);
+        // o heap guarda só os "limite" mais denunciados. Termo mais longo = ranking completo
+        Comparator<ContatoDenunciadoDTO> ordem = Comparator
+                .comparingLong(ContatoDenunciadoDTO::getTotalDenuncias).reversed()
+                .thenComparing(ContatoDenunciadoDTO::getContato);
+        int maximo = Math.max(1, limite);
+        PriorityQueue<ContatoDenunciadoDTO> melhores = new PriorityQueue<>(maximo + 1, ordem.reversed());
+        candidatos.limit(MAXIMO_CANDIDATOS).forEach(c -> {
+            melhores.add(new ContatoDenunciadoDTO(c, contar(c)));
+            if (melhores.size() > maximo) {
+                melhores.poll();
+            }
+        });
+        return melhores.stream().sorted(ordem).toList();
+    }
+
+    public long tamanho() {
+        long total = 0;
+        for (ConcurrentHashMap<String, Long> shard : shards) {
+            total += shard.size();
+        }
+        return total;
+    }
+
+    private static ConcurrentHashMap<String, Long> shard(ConcurrentHashMap<String, Long>[] shards, String contato) {
+        int h = contato.hashCode();
+        h ^= (h >>> 16);
+        return shards[h & (shards.length - 1)];
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static ConcurrentHashMap<String, Long>[] novosShards(int quantidade) {
+        ConcurrentHashMap<String, Long>[] novos = new ConcurrentHashMap[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            novos[i] = new ConcurrentHashMap<>();
+        }
+        return novos;
+    }
+
+    private static int potenciaDeDois(int valor) {
+        int n = Integer.highestOneBit(Math.max(1, valor));
+        return n < valor ? n << 1 : n;
+    }
+}
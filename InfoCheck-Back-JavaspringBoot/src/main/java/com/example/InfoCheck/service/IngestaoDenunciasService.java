@@ -0,0 +1,260 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.dtos.DenunciaDTO;
+import com.example.InfoCheck.dtos.StatusIngestaoDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Ingestão assíncrona (write-behind) de denúncias.
+ *
+ * Com o modo habilitado, o POST só valida e coloca o pedido numa fila limitada,
+ * devolvendo um token. Uma thread grava os pedidos em lotes (INSERT em lote por JDBC
+ * + dados derivados, numa transação por lote). Fila cheia = recusa imediata, para o
+ * chamador tentar de novo. No desligamento a fila para de aceitar e é esvaziada antes
+ * de o pool de conexões fechar; pedidos ainda na fila se perdem só em queda abrupta.
+ *
+ * Verificar se ainda aceita e colocar na fila acontecem sob a trava de leitura, e o
+ * desligamento fecha a fila com a de escrita: depois dele nenhum pedido entra sem um
+ * escritor para gravá-lo.
+ */
+@Service
+public class IngestaoDenunciasService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestaoDenunciasService.class);
+
+    // Tempo que o status de um pedido concluído fica disponível para consulta
+    private static final long RETENCAO_STATUS_MS = TimeUnit.MINUTES.toMillis(30);
+
+    public static final String PENDENTE = "PENDENTE";
+    public static final String GRAVADA = "GRAVADA";
+    public static final String ERRO = "ERRO";
+
+    public record Pedido(String token, DenunciaDTO dto) {
+    }
+
+    private record Status(String estado, Integer idDenuncia, String mensagem, long atualizadoEm) {
+    }
+
+    private final boolean habilitada;
+    private final int tamanhoLote;
+    private final long intervaloMs;
+    private final long esperaDesligamentoMs;
+    private final BlockingQueue<Pedido> fila;
+    private final Map<String, Status> status = new ConcurrentHashMap<>();
+
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    private volatile Consumer<List<Pedido>> gravador;
+    private volatile boolean aceitando = true;
+    private volatile boolean executando = false;
+    private Thread escritor;
+    private long ultimaLimpeza = System.currentTimeMillis();
+
+    private final LongAdder aceitas = new LongAdder();
+    private final LongAdder recusadas = new LongAdder();
+    private final LongAdder gravadas = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+
+    public IngestaoDenunciasService(
+            @Value("${infocheck.denuncias.ingestao.assincrona:false}") boolean habilitada,
+            @Value("${infocheck.denuncias.ingestao.capacidade-fila:10000}") int capacidadeFila,
+            @Value("${infocheck.denuncias.ingestao.lote:200}") int tamanhoLote,
+            @Value("${infocheck.denuncias.ingestao.intervalo-ms:100}") long intervaloMs,
+            @Value("${infocheck.denuncias.ingestao.espera-desligamento-ms:30000}") long esperaDesligamentoMs) {
+        this.habilitada = habilitada;
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+        this.intervaloMs = Math.max(1, intervaloMs);
+        this.esperaDesligamentoMs = esperaDesligamentoMs;
+        this.fila = new ArrayBlockingQueue<>(Math.max(1, capacidadeFila));
+    }
+
+    public boolean isHabilitada() {
+        return habilitada;
+    }
+
+    // Chamado pelo DenunciaService: quem sabe gravar um lote de pedidos
+    public synchronized void iniciar(Consumer<List<Pedido>> gravador) {
+        if (!habilitada || executando) {
+            return;
+        }
+        this.gravador = gravador;
+        executando = true;
+        escritor = new Thread(this::executar, "ingestao-denuncias");
+        escritor.setDaemon(true);
+        escritor.start();
+        log.info("Ingestão assíncrona de denúncias habilitada (fila {}, lote {})", fila.remainingCapacity(), tamanhoLote);
+    }
+
+    // ==========================================
+    // 🔹 ENFILEIRAR E CONSULTAR
+    // ==========================================
+    public StatusIngestaoDTO enfileirar(DenunciaDTO dto) {
+        String token = UUID.randomUUID().toString();
+        trava.readLock().lock();
+        try {
+            if (!aceitando || !executando) {
+                recusadas.increment();
+                throw new IllegalStateException("Ingestão de denúncias indisponível no momento");
+            }
+            status.put(token, new Status(PENDENTE, null, null, System.currentTimeMillis()));
+            if (!fila.offer(new Pedido(token, dto))) {
+                status.remove(token);
+                recusadas.increment();
+                throw new IllegalStateException("Fila de denúncias cheia, tente novamente em instantes");
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+        aceitas.increment();
+        return new StatusIngestaoDTO(token, PENDENTE, null, null);
+    }
+
+    public Optional<StatusIngestaoDTO> consultar(String token) {
+        Status s = status.get(token);
+        return s == null
+                ? Optional.empty()
+                : Optional.of(new StatusIngestaoDTO(token, s.estado(), s.idDenuncia(), s.mensagem()));
+    }
+
+    public void concluir(String token, Integer idDenuncia) {
+        status.put(token, new Status(GRAVADA, idDenuncia, null, System.currentTimeMillis()));
+        gravadas.increment();
+    }
+
+    public void falhar(String token, String mensagem) {
+        status.put(token, new Status(ERRO, null, mensagem, System.currentTimeMillis()));
+        falhas.increment();
+    }
+
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> dados = new LinkedHashMap<>();
+        dados.put("habilitada", habilitada);
+        dados.put("aceitando", aceitando && executando);
+        dados.put("naFila", fila.size());
+        dados.put("capacidadeLivre", fila.remainingCapacity());
+        dados.put("aceitas", aceitas.sum());
+        dados.put("recusadas", recusadas.sum());
+        dados.put("gravadas", gravadas.sum());
+        dados.put("falhas", falhas.sum());
+        dados.put("lotes", lotes.sum());
+        return dados;
+    }
+
+    // ==========================================
+    // 🔹 ESCRITOR
+    // ==========================================
+    private void executar() {
+        List<Pedido> lote = new ArrayList<>(tamanhoLote);
+        try {
+            while (executando || !fila.isEmpty()) {
+                try {
+                    Pedido primeiro = fila.poll(intervaloMs, TimeUnit.MILLISECONDS);
+                    if (primeiro != null) {
+                        lote.add(primeiro);
+                        fila.drainTo(lote, tamanhoLote - 1);
+                        gravar(lote);
+                        lote.clear();
+                    }
+                    limparStatusAntigos();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Throwable e) {
+                    // Erro fora da gravação: o lote corrente falha e o escritor continua
+                    log.error("Erro no escritor de denúncias", e);
+                    falharPendentes(lote);
+                    lote.clear();
+                }
+            }
+        } finally {
+            // Sem escritor a fila fecha (chamadores recebem 503) e o que sobrou nela falha,
+            // em vez de ficar PENDENTE para sempre
+            trava.writeLock().lock();
+            try {
+                executando = false;
+            } finally {
+                trava.writeLock().unlock();
+            }
+            List<Pedido> restantes = new ArrayList<>(lote);
+            fila.drainTo(restantes);
+            falharPendentes(restantes);
+        }
+    }
+
+    private void gravar(List<Pedido> lote) {
+        try {
+            gravador.accept(lote);
+            lotes.increment();
+        } catch (Throwable e) {
+            // Throwable: um Error no lote não pode derrubar a thread com a fila ainda aceitando
+            log.error("Erro ao gravar lote de {} denúncias", lote.size(), e);
+            falharPendentes(lote);
+        }
+    }
+
+    private void falharPendentes(List<Pedido> lote) {
+        for (Pedido p : lote) {
+            Status s = status.get(p.token());
+            if (s != null && PENDENTE.equals(s.estado())) {
+                falhar(p.token(), "Erro ao gravar a denúncia");
+            }
+        }
+    }
+
+    private void limparStatusAntigos() {
+        long agora = System.currentTimeMillis();
+        if (agora - ultimaLimpeza < TimeUnit.MINUTES.toMillis(1)) {
+            return;
+        }
+        ultimaLimpeza = agora;
+        status.values().removeIf(s -> !PENDENTE.equals(s.estado()) && agora - s.atualizadoEm() > RETENCAO_STATUS_MS);
+    }
+
+    // Disparado antes de qualquer bean ser destruído: o pool de conexões ainda está aberto
+    @EventListener(ContextClosedEvent.class)
+    public void encerrar() {
+        // Espera quem está colocando na fila: depois daqui o escritor vê todos os pedidos aceitos
+        trava.writeLock().lock();
+        try {
+            aceitando = false;
+            if (!executando) {
+                return;
+            }
+            executando = false;
+        } finally {
+            trava.writeLock().unlock();
+        }
+        try {
+            escritor.join(esperaDesligamentoMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!fila.isEmpty()) {
+            log.warn("Desligamento com {} denúncias ainda na fila", fila.size());
+        } else {
+            log.info("Fila de ingestão de denúncias esvaziada no desligamento");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.util.CacheLimitado;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Respostas prontas (JSON já serializado e já comprimido em gzip) das listas de
+ * bancos, tipos de golpe e contatos oficiais por banco.
+ *
+ * Cada instantâneo guarda a versão do catálogo em que foi montado (contadores do
+ * {@link CacheReferenciasService}, avançados a cada gravação) e só é remontado
+ * quando essa versão muda. O ETag vem do hash do conteúdo, então continua válido
+ * depois de reiniciar a aplicação se os dados forem os mesmos.
+ */
+@Service
+public class InstantaneosCatalogoService {
+
+    public record Instantaneo(long versao, String etag, byte[] json, byte[] gzip) {
+
+        // Representações diferentes precisam de ETags fortes diferentes
+        public String etagGzip() {
+            return etag.substring(0, etag.length() - 1) + "-gz\"";
+        }
+    }
+
+    private final CacheReferenciasService cache;
+    private final ObjectMapper objectMapper;
+    private final CacheControl cacheControl;
+
+    private final Entrada bancos;
+    private final Entrada tipos;
+    private final CacheLimitado<Integer, Instantaneo> contatosPorBanco;
+
+    // Instantâneo de uma lista inteira, remontado quando a versão do catálogo muda
+    private class Entrada {
+        private final LongSupplier versao;
+        private final Supplier<List<?>> lista;
+        private volatile Instantaneo atual;
+
+        Entrada(LongSupplier versao, Supplier<List<?>> lista) {
+            this.versao = versao;
+            this.lista = lista;
+        }
+
+        Instantaneo obter() {
+            Instantaneo i = atual;
+            if (i != null && i.versao() == versao.getAsLong()) {
+                return i;
+            }
+            // Uma montagem por vez: quem chega junto reaproveita a que acabou de sair
+            synchronized (this) {
+                i = atual;
+                long v = versao.getAsLong();
+                if (i == null || i.versao() != v) {
+                    i = montar(v, lista.get());
+                    atual = i;
+                }
+                return i;
+            }
+        }
+    }
+
+    public InstantaneosCatalogoService(
+            CacheReferenciasService cache,
+            ObjectMapper objectMapper,
+            @Value("${infocheck.catalogo.http.max-age-segundos:60}") long maxAgeSegundos,
+            @Value("${infocheck.catalogo.cache.maximo:1000}") int maximo) {
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        // Depois do max-age o navegador revalida com If-None-Match e recebe 304 se nada mudou
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(Math.max(0, maxAgeSegundos)))
+                .cachePublic()
+                .mustRevalidate();
+        this.bancos = new Entrada(cache::versaoBancos, cache::listarBancos);
+        this.tipos = new Entrada(cache::versaoTipos, cache::listarTipos);
+        this.contatosPorBanco = new CacheLimitado<>(maximo);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        bancos.obter();
+        tipos.obter();
+    }
+
+    // ==========================================
+    // 🔹 INSTANTÂNEOS
+    // ==========================================
+    public Instantaneo bancos() {
+        return bancos.obter();
+    }
+
+    public Instantaneo tipos() {
+        return tipos.obter();
+    }
+
+    public Instantaneo contatosDoBanco(Integer idBanco) {
+        long v = cache.versaoContatos();
+        Instantaneo i = contatosPorBanco.obter(idBanco, k -> montar(v, cache.contatosDoBanco(k)));
+        if (i.versao() != v) {
+            contatosPorBanco.invalidar(idBanco);
+            i = contatosPorBanco.obter(idBanco, k -> montar(v, cache.contatosDoBanco(k)));
+        }
+        return i;
+    }
+
+    public CacheControl cacheControl() {
+        return cacheControl;
+    }
+
+    private Instantaneo montar(long versao, List<?> lista) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(lista);
+            return new Instantaneo(versao, etag(json), json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar catálogo", e);
+        }
+    }
+
+    private static String etag(byte[] conteudo) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(conteudo);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] conteudo) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, conteudo.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(saida)) {
+            gz.write(conteudo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+}
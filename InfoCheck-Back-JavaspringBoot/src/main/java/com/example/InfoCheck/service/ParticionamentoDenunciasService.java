@@ -0,0 +1,298 @@
+package com.example.InfoCheck.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Particionamento mensal da tabela denuncias no PostgreSQL (opcional).
+ *
+ * Quando habilitado, converte a tabela comum em tabela particionada por faixa de
+ * data_denuncia (uma partição por mês + partição padrão), numa única transação.
+ * Consultas por período passam a ler só as partições do intervalo e meses antigos
+ * podem ser desanexados sem DELETE em massa.
+ *
+ * A conversão falha (e a tabela continua comum) se houver denúncias sem data_denuncia
+ * ou índice único sem data_denuncia, que a tabela particionada não aceita.
+ *
+ * Partições futuras são criadas na subida e depois uma vez por dia. Com meses-retidos
+ * configurado, as partições mais antigas são desanexadas no mesmo ciclo.
+ */
+@Service
+public class ParticionamentoDenunciasService {
+
+    private static final Logger log = LoggerFactory.getLogger(ParticionamentoDenunciasService.class);
+
+    private static final String TABELA = "denuncias";
+    private static final String TABELA_LEGADO = "denuncias_legado";
+    private static final String PARTICAO_PADRAO = "denuncias_padrao";
+    private static final DateTimeFormatter SUFIXO = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern NOME_PARTICAO = Pattern.compile("denuncias_p(\\d{4})_(\\d{2})");
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transacao;
+    private final boolean habilitado;
+    private final int mesesFuturos;
+    private final int mesesRetidos;
+
+    private volatile boolean ativo = false;
+
+    // Recalcula agregações e índices depois de desanexar (registrado por DenunciaService)
+    private volatile Runnable aoDesanexar;
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "particoes-denuncias");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ParticionamentoDenunciasService(
+            JdbcTemplate jdbc,
+            PlatformTransactionManager transactionManager,
+            @Value("${infocheck.denuncias.particionamento.habilitado:false}") boolean habilitado,
+            @Value("${infocheck.denuncias.particionamento.meses-futuros:3}") int mesesFuturos,
+            @Value("${infocheck.denuncias.particionamento.meses-retidos:0}") int mesesRetidos) {
+        this.jdbc = jdbc;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.mesesFuturos = Math.max(1, mesesFuturos);
+        this.mesesRetidos = Math.max(0, mesesRetidos);
+    }
+
+    // Roda antes da carga dos índices em memória (DenunciaService.inicializar): o que for
+    // desanexado aqui já fica de fora da carga, que também confere as agregações com a tabela
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void inicializar() {
+        if (!habilitado) {
+            return;
+        }
+        if (!isPostgres()) {
+            log.warn("Particionamento de denúncias ignorado: disponível só no PostgreSQL");
+            return;
+        }
+        try {
+            if (!"p".equals(tipoTabela(TABELA))) {
+                converter();
+            }
+            garantirParticoes();
+            ativo = true;
+        } catch (Exception e) {
+            log.error("Erro ao particionar a tabela de denúncias; mantendo a tabela comum", e);
+            return;
+        }
+        try {
+            aplicarRetencao();
+        } catch (Exception e) {
+            log.error("Erro ao desanexar partições antigas de denúncias", e);
+        }
+        agendador.scheduleAtFixedRate(() -> {
+            try {
+                garantirParticoes();
+                if (!aplicarRetencao().isEmpty() && aoDesanexar != null) {
+                    aoDesanexar.run();
+                }
+            } catch (Exception e) {
+                log.error("Erro na manutenção das partições de denúncias", e);
+            }
+        }, 1, 1, TimeUnit.DAYS);
+    }
+
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    public void aoDesanexar(Runnable acao) {
+        this.aoDesanexar = acao;
+    }
+
+    // ==========================================
+    // 🔹 CONVERSÃO DA TABELA COMUM
+    // ==========================================
+    private void converter() {
+        transacao.executeWithoutResult(status -> {
+            // Bloqueia gravações durante a cópia; tudo é desfeito se algo falhar
+            jdbc.execute("LOCK TABLE " + TABELA + " IN ACCESS EXCLUSIVE MODE");
+
+            List<Map<String, Object>> indices = jdbc.queryForList("""
+                    SELECT i.relname AS nome, pg_get_indexdef(i.oid) AS definicao, x.indisunique AS unico
+                    FROM pg_index x
+                    JOIN pg_class i ON i.oid = x.indexrelid
+                    WHERE x.indrelid = ?::regclass AND NOT x.indisprimary
+                    """, TABELA);
+            List<Map<String, Object>> chavesEstrangeiras = jdbc.queryForList("""
+                    SELECT conname AS nome, pg_get_constraintdef(oid) AS definicao
+                    FROM pg_constraint
+                    WHERE conrelid = ?::regclass AND contype = 'f'
+                    """, TABELA);
+
+            // A chave primária (e todo índice único) da tabela particionada precisa conter a
+            // chave de partição: em vez de inventar datas ou perder unicidade, não converte
+            Integer semData = jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM " + TABELA + " WHERE data_denuncia IS NULL", Integer.class);
+            if (semData != null && semData > 0) {
+                throw new IllegalStateException(semData + " denúncias sem data_denuncia; preencha a data antes de particionar");
+            }
+            for (Map<String, Object> indice : indices) {
+                if (Boolean.TRUE.equals(indice.get("unico")) && !((String) indice.get("definicao")).contains("data_denuncia")) {
+                    throw new IllegalStateException("Índice único " + indice.get("nome")
+                            + " não contém data_denuncia; ajuste-o antes de particionar");
+                }
+            }
+            String sequenciaSerial = jdbc.queryForObject(
+                    "SELECT pg_get_serial_sequence(?, 'id_denuncia')", String.class, TABELA);
+            boolean identidade = Boolean.TRUE.equals(jdbc.queryForObject("""
+                    SELECT attidentity <> '' FROM pg_attribute
+                    WHERE attrelid = ?::regclass AND attname = 'id_denuncia'
+                    """, Boolean.class, TABELA));
+
+            jdbc.execute("ALTER TABLE " + TABELA + " RENAME TO " + TABELA_LEGADO);
+            jdbc.execute("CREATE TABLE " + TABELA + " (LIKE " + TABELA_LEGADO
+                    + " INCLUDING DEFAULTS INCLUDING IDENTITY) PARTITION BY RANGE (data_denuncia)");
+
+            jdbc.execute("ALTER TABLE " + TABELA + " ALTER COLUMN data_denuncia SET NOT NULL");
+            jdbc.execute("ALTER TABLE " + TABELA + " ADD PRIMARY KEY (id_denuncia, data_denuncia)");
+
+            jdbc.execute("CREATE TABLE " + PARTICAO_PADRAO + " PARTITION OF " + TABELA + " DEFAULT");
+            Timestamp menor = jdbc.queryForObject(
+                    "SELECT MIN(data_denuncia) FROM " + TABELA_LEGADO, Timestamp.class);
+            YearMonth inicio = menor == null ? YearMonth.now() : YearMonth.from(menor.toLocalDateTime());
+            for (YearMonth mes = inicio; !mes.isAfter(YearMonth.now().plusMonths(mesesFuturos)); mes = mes.plusMonths(1)) {
+                criarParticao(mes);
+            }
+
+            int copiadas = jdbc.update("INSERT INTO " + TABELA + " SELECT * FROM " + TABELA_LEGADO);
+
+            // Coluna serial: a sequência passa a pertencer à tabela nova antes de apagar a antiga
+            if (!identidade && sequenciaSerial != null) {
+                jdbc.execute("ALTER SEQUENCE " + sequenciaSerial + " OWNED BY " + TABELA + ".id_denuncia");
+            }
+            jdbc.execute("SELECT setval(pg_get_serial_sequence('" + TABELA + "', 'id_denuncia'), "
+                    + "COALESCE((SELECT MAX(id_denuncia) FROM " + TABELA + "), 0) + 1, false)");
+
+            jdbc.execute("DROP TABLE " + TABELA_LEGADO);
+
+            for (Map<String, Object> fk : chavesEstrangeiras) {
+                jdbc.execute("ALTER TABLE " + TABELA + " ADD CONSTRAINT " + fk.get("nome") + " " + fk.get("definicao"));
+            }
+            for (Map<String, Object> indice : indices) {
+                String definicao = (String) indice.get("definicao");
+                jdbc.execute(definicao.replaceFirst(" ON (\\S+\\.)?" + TABELA_LEGADO + " ", " ON " + TABELA + " "));
+            }
+
+            log.info("Tabela {} convertida em particionada por mês: {} denúncias copiadas", TABELA, copiadas);
+        });
+    }
+
+    // ==========================================
+    // 🔹 MANUTENÇÃO DAS PARTIÇÕES
+    // ==========================================
+
+    // Garante as partições do mês atual até mesesFuturos à frente
+    public void garantirParticoes() {
+        List<YearMonth> existentes = listarParticoes();
+        YearMonth fim = YearMonth.now().plusMonths(mesesFuturos);
+        for (YearMonth mes = YearMonth.now(); !mes.isAfter(fim); mes = mes.plusMonths(1)) {
+            if (!existentes.contains(mes)) {
+                YearMonth alvo = mes;
+                transacao.executeWithoutResult(status -> criarParticao(alvo));
+            }
+        }
+    }
+
+    public List<YearMonth> listarParticoes() {
+        List<String> nomes = jdbc.queryForList("""
+                SELECT c.relname FROM pg_inherits h
+                JOIN pg_class c ON c.oid = h.inhrelid
+                WHERE h.inhparent = ?::regclass
+                ORDER BY c.relname
+                """, String.class, TABELA);
+        List<YearMonth> meses = new ArrayList<>();
+        for (String nome : nomes) {
+            Matcher m = NOME_PARTICAO.matcher(nome);
+            if (m.matches()) {
+                meses.add(YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))));
+            }
+        }
+        return meses;
+    }
+
+    // Desanexa as partições anteriores ao mês atual menos "mesesRetidos" (0 = nenhuma).
+    // As tabelas continuam no banco (denuncias_pAAAA_MM) para arquivamento e saem das
+    // consultas da aplicação; agregações e índices em memória ficam com quem chama.
+    private List<String> aplicarRetencao() {
+        List<String> desanexadas = new ArrayList<>();
+        if (mesesRetidos == 0) {
+            return desanexadas;
+        }
+        YearMonth limite = YearMonth.now().minusMonths(mesesRetidos);
+        for (YearMonth mes : listarParticoes()) {
+            if (mes.isBefore(limite)) {
+                String nome = nomeParticao(mes);
+                jdbc.execute("ALTER TABLE " + TABELA + " DETACH PARTITION " + nome);
+                desanexadas.add(nome);
+            }
+        }
+        if (!desanexadas.isEmpty()) {
+            log.info("Partições de denúncias desanexadas: {}", desanexadas);
+        }
+        return desanexadas;
+    }
+
+    // Cria a partição do mês levando junto as linhas que já caíram na partição padrão
+    // (senão o ATTACH falha pela restrição da partição padrão)
+    private void criarParticao(YearMonth mes) {
+        String nome = nomeParticao(mes);
+        String inicio = mes.atDay(1).atStartOfDay().toString();
+        String fim = mes.plusMonths(1).atDay(1).atStartOfDay().toString();
+
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + nome + " (LIKE " + TABELA + " INCLUDING DEFAULTS)");
+        if (tipoTabela(PARTICAO_PADRAO) != null) {
+            jdbc.update("WITH movidas AS (DELETE FROM " + PARTICAO_PADRAO
+                    + " WHERE data_denuncia >= ?::timestamp AND data_denuncia < ?::timestamp RETURNING *)"
+                    + " INSERT INTO " + nome + " SELECT * FROM movidas", inicio, fim);
+        }
+        jdbc.execute("ALTER TABLE " + TABELA + " ATTACH PARTITION " + nome
+                + " FOR VALUES FROM ('" + inicio + "') TO ('" + fim + "')");
+    }
+
+    private static String nomeParticao(YearMonth mes) {
+        return "denuncias_p" + mes.format(SUFIXO);
+    }
+
+    // 'r' = tabela comum, 'p' = particionada, null = inexistente
+    private String tipoTabela(String nome) {
+        return jdbc.queryForObject(
+                "SELECT (SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?))", String.class, nome);
+    }
+
+    private boolean isPostgres() {
+        String produto = jdbc.execute((java.sql.Connection c) -> c.getMetaData().getDatabaseProductName());
+        return produto != null && produto.toLowerCase().contains("postgresql");
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+    }
+}
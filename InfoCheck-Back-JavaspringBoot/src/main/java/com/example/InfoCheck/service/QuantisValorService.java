@@ -0,0 +1,256 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.dtos.QuantisValorDTO;
+import com.example.InfoCheck.entities.Banco;
+import com.example.InfoCheck.entities.Denuncia;
+import com.example.InfoCheck.entities.EsbocoValor;
+import com.example.InfoCheck.entities.EsbocoValorId;
+import com.example.InfoCheck.entities.TipoGolpe;
+import com.example.InfoCheck.repository.AgregacoesJdbc;
+import com.example.InfoCheck.repository.BancoRepository;
+import com.example.InfoCheck.repository.DenunciaRepository;
+import com.example.InfoCheck.repository.EsbocoValorRepository;
+import com.example.InfoCheck.repository.TipoGolpeRepository;
+import com.example.InfoCheck.util.EsbocoQuantis;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Quantis dos valores de prejuízo (p50, p90, p99...) por mês e por dimensão
+ * (global, banco, tipo), guardados como esboços combináveis em denuncias_esboco_valor.
+ *
+ * Cada denúncia com valor atualiza três esboços na mesma transação da gravação.
+ * Uma consulta combina os esboços dos meses pedidos: o custo depende de meses x ids,
+ * nunca do número de denúncias.
+ */
+@Service
+public class QuantisValorService {
+
+    private static final Logger log = LoggerFactory.getLogger(QuantisValorService.class);
+
+    // Denúncias lidas por página na reconstrução
+    private static final int LOTE_RECONSTRUCAO = 1000;
+
+    private static final List<String> DIMENSOES = List.of(EsbocoValorId.GLOBAL, EsbocoValorId.BANCO, EsbocoValorId.TIPO);
+
+    private final EsbocoValorRepository esbocoRepo;
+    private final DenunciaRepository denunciaRepo;
+    private final BancoRepository bancoRepo;
+    private final TipoGolpeRepository tipoGolpeRepo;
+    private final AgregacoesJdbc agregacoes;
+    private final TransactionTemplate transactionTemplate;
+
+    public QuantisValorService(
+            EsbocoValorRepository esbocoRepo,
+            DenunciaRepository denunciaRepo,
+            BancoRepository bancoRepo,
+            TipoGolpeRepository tipoGolpeRepo,
+            AgregacoesJdbc agregacoes,
+            PlatformTransactionManager transactionManager) {
+        this.esbocoRepo = esbocoRepo;
+        this.denunciaRepo = denunciaRepo;
+        this.bancoRepo = bancoRepo;
+        this.tipoGolpeRepo = tipoGolpeRepo;
+        this.agregacoes = agregacoes;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ==========================================
+    // 🔹 CARGA E RECONSTRUÇÃO
+    // ==========================================
+
+    // Reconstrói na subida os esboços que não batem com denuncias: primeira subida,
+    // ou denúncias gravadas por fora da aplicação (data.sql, scripts de carga)
+    public void carregar() {
+        long denuncias = denunciaRepo.contarComValor();
+        Map<String, Long> porDimensao = new HashMap<>();
+        for (Object[] linha : esbocoRepo.somarTotalPorDimensao()) {
+            porDimensao.put((String) linha[0], ((Number) linha[1]).longValue());
+        }
+        for (String dimensao : DIMENSOES) {
+            if (porDimensao.getOrDefault(dimensao, 0L) != denuncias) {
+                reconstruir();
+                return;
+            }
+        }
+    }
+
+    // Recalcula todos os esboços a partir de denuncias (carga inicial ou reparo).
+    // Lê por páginas de id: a memória acompanha o número de esboços, não o de denúncias
+    public int reconstruir() {
+        Integer total = transactionTemplate.execute(status -> {
+            Map<EsbocoValorId, EsbocoQuantis> esbocos = new HashMap<>();
+            int aposId = 0;
+            while (true) {
+                List<Object[]> pagina = denunciaRepo.findValoresPorBancoTipo(aposId, PageRequest.of(0, LOTE_RECONSTRUCAO));
+                for (Object[] linha : pagina) {
+                    LocalDate mes = mes((LocalDateTime) linha[1]);
+                    double valor = ((Number) linha[4]).doubleValue();
+                    for (EsbocoValorId id : chaves(mes, ((Number) linha[2]).intValue(), ((Number) linha[3]).intValue())) {
+                        esbocos.computeIfAbsent(id, k -> new EsbocoQuantis()).adicionar(valor);
+                    }
+                }
+                if (pagina.size() < LOTE_RECONSTRUCAO) {
+                    break;
+                }
+                aposId = (Integer) pagina.get(pagina.size() - 1)[0];
+            }
+            List<EsbocoValor> linhas = new ArrayList<>(esbocos.size());
+            esbocos.forEach((id, esboco) -> linhas.add(new EsbocoValor(id, esboco.getTotal(), esboco.serializar())));
+            esbocoRepo.deleteAllInBatch();
+            esbocoRepo.inserir(linhas);
+            return linhas.size();
+        });
+        log.info("Esboços de quantis de valor recalculados: {} linhas", total);
+        return total == null ? 0 : total;
+    }
+
+    // ==========================================
+    // 🔹 ATUALIZAÇÃO
+    // ==========================================
+
+    // Deve ser chamado dentro da transação que gravou as denúncias
+    public void registrar(List<Denuncia> denuncias) {
+        // Em ordem de chave: lotes concorrentes bloqueiam as linhas na mesma ordem
+        Map<EsbocoValorId, EsbocoQuantis> deltas = new TreeMap<>(Comparator
+                .comparing(EsbocoValorId::getMes)
+                .thenComparing(EsbocoValorId::getDimensao)
+                .thenComparing(EsbocoValorId::getIdReferencia));
+        for (Denuncia d : denuncias) {
+            if (d.getValor() == null) {
+                continue;
+            }
+            LocalDate mes = mes(d.getData_denuncia() != null ? d.getData_denuncia() : LocalDateTime.now());
+            int idBanco = d.getBanco() != null ? d.getBanco().getId_banco() : 0;
+            int idTipo = d.getTipoGolpe() != null ? d.getTipoGolpe().getId_tipo() : 0;
+            for (EsbocoValorId id : chaves(mes, idBanco, idTipo)) {
+                deltas.computeIfAbsent(id, k -> new EsbocoQuantis()).adicionar(d.getValor());
+            }
+        }
+
+        // O esboço não se combina em SQL: garante que a linha existe (esboço vazio) e então
+        // bloqueia, combina e grava. Sem isso a primeira gravação de uma chave não teria o que bloquear
+        byte[] vazio = new EsbocoQuantis().serializar();
+        List<Object[]> iniciais = new ArrayList<>(deltas.size());
+        for (EsbocoValorId id : deltas.keySet()) {
+            iniciais.add(new Object[] { id.getMes(), id.getDimensao(), id.getIdReferencia(), 0L, vazio });
+        }
+        agregacoes.criarSeAusente("denuncias_esboco_valor",
+                List.of("mes", "dimensao", "id_referencia"), List.of("total", "dados"), iniciais);
+
+        // Uma leitura com bloqueio por chave e um UPDATE em lote no fim
+        List<EsbocoValor> atualizados = new ArrayList<>(deltas.size());
+        for (Map.Entry<EsbocoValorId, EsbocoQuantis> delta : deltas.entrySet()) {
+            EsbocoValor linha = esbocoRepo.bloquear(delta.getKey())
+                    .orElseThrow(() -> new IllegalStateException("Esboço de valores não criado: " + delta.getKey().getMes()));
+            EsbocoQuantis esboco = EsbocoQuantis.desserializar(linha.getDados());
+            esboco.combinar(delta.getValue());
+            linha.setTotal(esboco.getTotal());
+            linha.setDados(esboco.serializar());
+            atualizados.add(linha);
+        }
+        esbocoRepo.atualizar(atualizados);
+    }
+
+    // ==========================================
+    // 🔹 CONSULTA
+    // ==========================================
+
+    // Quantis dos meses [inicio, fim] na dimensão; sem id, um resultado por banco/tipo
+    @Transactional(readOnly = true)
+    public List<QuantisValorDTO> consultar(
+            String dimensao,
+            Integer id,
+            YearMonth inicio,
+            YearMonth fim,
+            List<Double> quantis) {
+        if (!DIMENSOES.contains(dimensao)) {
+            throw new IllegalArgumentException("Dimensão inválida: use global, banco ou tipo");
+        }
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("O mês final deve ser igual ou posterior ao inicial");
+        }
+        for (Double q : quantis) {
+            if (q == null || q < 0 || q > 1) {
+                throw new IllegalArgumentException("Quantis devem estar entre 0 e 1");
+            }
+        }
+
+        Map<Integer, EsbocoQuantis> combinados = new TreeMap<>();
+        for (EsbocoValor linha : esbocoRepo.findPorPeriodo(
+                dimensao, inicio.atDay(1), fim.plusMonths(1).atDay(1), EsbocoValorId.GLOBAL.equals(dimensao) ? null : id)) {
+            EsbocoQuantis esboco = EsbocoQuantis.desserializar(linha.getDados());
+            EsbocoQuantis acumulado = combinados.get(linha.getId().getIdReferencia());
+            if (acumulado == null) {
+                combinados.put(linha.getId().getIdReferencia(), esboco);
+            } else {
+                acumulado.combinar(esboco);
+            }
+        }
+
+        Map<Integer, String> nomes = nomes(dimensao, combinados.keySet());
+        List<QuantisValorDTO> resultado = new ArrayList<>(combinados.size());
+        combinados.forEach((idReferencia, esboco) -> {
+            Map<String, Double> valores = new LinkedHashMap<>();
+            for (Double q : quantis) {
+                valores.put(rotulo(q), esboco.quantil(q));
+            }
+            resultado.add(new QuantisValorDTO(
+                    dimensao, idReferencia, nomes.get(idReferencia), esboco.getTotal(), valores));
+        });
+        resultado.sort(Comparator.comparingLong(QuantisValorDTO::getTotalValores).reversed());
+        return resultado;
+    }
+
+    private Map<Integer, String> nomes(String dimensao, Set<Integer> ids) {
+        Map<Integer, String> nomes = new HashMap<>();
+        if (EsbocoValorId.BANCO.equals(dimensao)) {
+            for (Banco b : bancoRepo.findAllById(ids)) {
+                nomes.put(b.getId_banco(), b.getNome_banco());
+            }
+        } else if (EsbocoValorId.TIPO.equals(dimensao)) {
+            for (TipoGolpe t : tipoGolpeRepo.findAllById(ids)) {
+                nomes.put(t.getId_tipo(), t.getNome_tipo());
+            }
+        } else {
+            nomes.put(0, "Todas as denúncias");
+        }
+        nomes.putIfAbsent(0, "Outros");
+        return nomes;
+    }
+
+    // 0.5 -> p50, 0.999 -> p99.9
+    private static String rotulo(double q) {
+        String percentual = Double.toString(Math.round(q * 100_000) / 1000.0);
+        return "p" + (percentual.endsWith(".0") ? percentual.substring(0, percentual.length() - 2) : percentual);
+    }
+
+    private static List<EsbocoValorId> chaves(LocalDate mes, int idBanco, int idTipo) {
+        return List.of(
+                new EsbocoValorId(mes, EsbocoValorId.GLOBAL, 0),
+                new EsbocoValorId(mes, EsbocoValorId.BANCO, idBanco),
+                new EsbocoValorId(mes, EsbocoValorId.TIPO, idTipo));
+    }
+
+    private static LocalDate mes(LocalDateTime quando) {
+        return quando.toLocalDate().withDayOfMonth(1);
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.dtos.RegiaoDTO;
+import com.example.InfoCheck.entities.Denuncia;
+import com.example.InfoCheck.entities.RegiaoDenuncias;
+import com.example.InfoCheck.entities.RegiaoDenunciasId;
+import com.example.InfoCheck.repository.AgregacoesJdbc;
+import com.example.InfoCheck.repository.DenunciaRepository;
+import com.example.InfoCheck.repository.RegiaoDenunciasRepository;
+import com.example.InfoCheck.util.CepRegiao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agregação regional das denúncias pelo prefixo do CEP do denunciante.
+ *
+ * O prefixo (5 dígitos) é gravado na própria denúncia (cep_prefixo) e cada denúncia
+ * soma 1 em cinco linhas de denuncias_regiao, uma por nível (1 a 5 dígitos), no mês
+ * dela. Consultas leem só essa tabela: nenhuma leitura faz JOIN com usuarios.
+ *
+ * Denúncias antigas que recebem o prefixo no preenchimento entram na agregação na
+ * mesma transação; a reconstrução completa fica para quando os totais divergem.
+ */
+@Service
+public class RegiaoDenunciasService {
+
+    private static final Logger log = LoggerFactory.getLogger(RegiaoDenunciasService.class);
+
+    private static final int LOTE_PREENCHIMENTO = 500;
+
+    // Denúncias lidas por página na reconstrução
+    private static final int LOTE_RECONSTRUCAO = 1000;
+
+    private final RegiaoDenunciasRepository regiaoRepo;
+    private final DenunciaRepository denunciaRepo;
+    private final AgregacoesJdbc agregacoes;
+    private final TransactionTemplate transactionTemplate;
+
+    public RegiaoDenunciasService(
+            RegiaoDenunciasRepository regiaoRepo,
+            DenunciaRepository denunciaRepo,
+            AgregacoesJdbc agregacoes,
+            PlatformTransactionManager transactionManager) {
+        this.regiaoRepo = regiaoRepo;
+        this.denunciaRepo = denunciaRepo;
+        this.agregacoes = agregacoes;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ==========================================
+    // 🔹 CARGA E RECONSTRUÇÃO
+    // ==========================================
+
+    // Preenche cep_prefixo das denúncias antigas (já somando na agregação) e só reconstrói
+    // se a agregação não bate com denuncias: primeira subida ou gravações por fora da aplicação
+    public void carregar() {
+        preencherCepPrefixos();
+        if (regiaoRepo.somarTotal() != denunciaRepo.contarComRegiao()) {
+            reconstruir();
+        }
+    }
+
+    // Denúncias gravadas antes da coluna existir recebem o CEP atual do denunciante
+    public int preencherCepPrefixos() {
+        int total = 0;
+        int aposId = 0;
+        // Avança por id: CEPs sem 5 dígitos continuam sem prefixo e não são relidos no mesmo ciclo
+        while (true) {
+            int inicio = aposId;
+            List<Object[]> lote = transactionTemplate.execute(status ->
+                    denunciaRepo.findSemCepPrefixo(inicio, PageRequest.of(0, LOTE_PREENCHIMENTO)));
+            if (lote == null || lote.isEmpty()) {
+                break;
+            }
+            // Prefixo gravado e somado na agregação na mesma transação
+            Integer atualizados = transactionTemplate.execute(status -> {
+                Map<RegiaoDenunciasId, RegiaoDenuncias> deltas = new LinkedHashMap<>();
+                int n = 0;
+                for (Object[] linha : lote) {
+                    String prefixo = CepRegiao.prefixo((String) linha[1]);
+                    if (prefixo == null || denunciaRepo.atualizarCepPrefixo((Integer) linha[0], prefixo) == 0) {
+                        continue;
+                    }
+                    n++;
+                    if (linha[2] != null) {
+                        acumular(deltas, prefixo, (LocalDateTime) linha[2], (Double) linha[3]);
+                    }
+                }
+                somar(deltas);
+                return n;
+            });
+            total += atualizados == null ? 0 : atualizados;
+            aposId = (Integer) lote.get(lote.size() - 1)[0];
+        }
+        if (total > 0) {
+            log.info("cep_prefixo preenchido em {} denúncias", total);
+        }
+        return total;
+    }
+
+    // Recalcula denuncias_regiao a partir de denuncias.cep_prefixo (carga inicial ou reparo).
+    // Lê por páginas de id: a memória acompanha o número de linhas agregadas, não o de denúncias
+    public int reconstruir() {
+        Integer total = transactionTemplate.execute(status -> {
+            Map<RegiaoDenunciasId, RegiaoDenuncias> linhas = new HashMap<>();
+            int aposId = 0;
+            while (true) {
+                List<Object[]> pagina = denunciaRepo.findRegioes(aposId, PageRequest.of(0, LOTE_RECONSTRUCAO));
+                for (Object[] linha : pagina) {
+                    acumular(linhas, (String) linha[1], (LocalDateTime) linha[2], (Double) linha[3]);
+                }
+                if (pagina.size() < LOTE_RECONSTRUCAO) {
+                    break;
+                }
+                aposId = (Integer) pagina.get(pagina.size() - 1)[0];
+            }
+            regiaoRepo.deleteAllInBatch();
+            // Com a tabela vazia o upsert só insere, em lote e fora da sessão JPA
+            somar(linhas);
+            return linhas.size();
+        });
+        log.info("Agregação regional de denúncias recalculada: {} linhas", total);
+        return total == null ? 0 : total;
+    }
+
+    // ==========================================
+    // 🔹 ATUALIZAÇÃO
+    // ==========================================
+
+    // Deve ser chamado dentro da transação que gravou as denúncias
+    public void registrar(List<Denuncia> denuncias) {
+        Map<RegiaoDenunciasId, RegiaoDenuncias> deltas = new LinkedHashMap<>();
+        for (Denuncia d : denuncias) {
+            if (d.getCepPrefixo() != null) {
+                acumular(deltas, d.getCepPrefixo(),
+                        d.getData_denuncia() != null ? d.getData_denuncia() : LocalDateTime.now(), d.getValor());
+            }
+        }
+        somar(deltas);
+    }
+
+    // Uma denúncia soma 1 (e o valor) nas linhas de cada nível do prefixo, no mês dela
+    private static void acumular(Map<RegiaoDenunciasId, RegiaoDenuncias> linhas, String cepPrefixo,
+                                 LocalDateTime quando, Double valor) {
+        for (RegiaoDenunciasId id : chaves(cepPrefixo, mes(quando))) {
+            somar(linhas.computeIfAbsent(id, k -> new RegiaoDenuncias(k, 0L, 0.0)), 1, valor != null ? valor : 0);
+        }
+    }
+
+    // Um upsert por chave: a primeira denúncia da região no mês cria a linha sem disputar com outra
+    private void somar(Map<RegiaoDenunciasId, RegiaoDenuncias> deltas) {
+        List<Object[]> linhas = new ArrayList<>(deltas.size());
+        for (RegiaoDenuncias delta : deltas.values()) {
+            RegiaoDenunciasId id = delta.getId();
+            linhas.add(new Object[] { id.getNivel(), id.getPrefixo(), id.getMes(), delta.getTotal(), delta.getSomaValor() });
+        }
+        agregacoes.somar("denuncias_regiao", List.of("nivel", "prefixo", "mes"), List.of("total", "soma_valor"), linhas);
+    }
+
+    // ==========================================
+    // 🔹 CONSULTA
+    // ==========================================
+
+    // Regiões do nível (1-5 dígitos) com mais denúncias nos meses [inicio, fim],
+    // opcionalmente só dentro de um prefixo mais curto (ex.: nível 3 dentro de "01")
+    @Transactional(readOnly = true)
+    public List<RegiaoDTO> listar(int nivel, String dentroDe, YearMonth inicio, YearMonth fim, int limite) {
+        validarNivel(nivel);
+        validarPeriodo(inicio, fim);
+        String prefixo = dentroDe == null ? "" : dentroDe.trim();
+        if (!prefixo.matches("\\d*") || prefixo.length() >= nivel) {
+            throw new IllegalArgumentException("O prefixo deve ter só dígitos e ser mais curto que o nível");
+        }
+        return regiaoRepo.somarPorPrefixo(
+                nivel,
+                inicio.atDay(1),
+                fim.plusMonths(1).atDay(1),
+                prefixo + "%",
+                PageRequest.of(0, Math.max(1, Math.min(limite, 1000))));
+    }
+
+    // Série mensal de um prefixo (o nível é o tamanho do prefixo); meses sem denúncias vêm zerados
+    @Transactional(readOnly = true)
+    public List<RegiaoDTO> serieMensal(String prefixo, YearMonth inicio, YearMonth fim) {
+        if (prefixo == null || !prefixo.matches("\\d{1,5}")) {
+            throw new IllegalArgumentException("Informe um prefixo de CEP com 1 a 5 dígitos");
+        }
+        validarPeriodo(inicio, fim);
+        Map<YearMonth, RegiaoDTO> meses = new LinkedHashMap<>();
+        for (YearMonth m = inicio; !m.isAfter(fim); m = m.plusMonths(1)) {
+            meses.put(m, new RegiaoDTO(m.toString(), 0, 0));
+        }
+        for (RegiaoDenuncias r : regiaoRepo.findMeses(prefixo.length(), prefixo, inicio.atDay(1), fim.plusMonths(1).atDay(1))) {
+            YearMonth m = YearMonth.from(r.getId().getMes());
+            meses.put(m, new RegiaoDTO(m.toString(), r.getTotal(), r.getSomaValor()));
+        }
+        return new ArrayList<>(meses.values());
+    }
+
+    private static void validarNivel(int nivel) {
+        if (nivel < 1 || nivel > CepRegiao.NIVEL_MAXIMO) {
+            throw new IllegalArgumentException("Nível deve estar entre 1 e " + CepRegiao.NIVEL_MAXIMO);
+        }
+    }
+
+    private static void validarPeriodo(YearMonth inicio, YearMonth fim) {
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("O mês final deve ser igual ou posterior ao inicial");
+        }
+        if (inicio.plusYears(10).isBefore(fim)) {
+            throw new IllegalArgumentException("Período máximo de 10 anos");
+        }
+    }
+
+    private static void somar(RegiaoDenuncias r, long total, double valor) {
+        r.setTotal(r.getTotal() + total);
+        r.setSomaValor(r.getSomaValor() + valor);
+    }
+
+    private static List<RegiaoDenunciasId> chaves(String cepPrefixo, LocalDate mes) {
+        List<RegiaoDenunciasId> chaves = new ArrayList<>(CepRegiao.NIVEL_MAXIMO);
+        for (int nivel = 1; nivel <= cepPrefixo.length(); nivel++) {
+            chaves.add(new RegiaoDenunciasId(nivel, cepPrefixo.substring(0, nivel), mes));
+        }
+        return chaves;
+    }
+
+    private static LocalDate mes(LocalDateTime quando) {
+        return quando.toLocalDate().withDayOfMonth(1);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.entities.Denuncia;
+import com.example.InfoCheck.entities.ResumoDiario;
+import com.example.InfoCheck.entities.ResumoDiarioId;
+import com.example.InfoCheck.repository.AgregacoesJdbc;
+import com.example.InfoCheck.repository.ComoSoubeTotalRepository;
+import com.example.InfoCheck.repository.DenunciaRepository;
+import com.example.InfoCheck.repository.ResumoDiarioRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mantém denuncias_resumo_diario (dia x banco x tipo) e denuncias_como_soube
+ * incrementalmente. Cada lote de denúncias vira no máximo uma atualização por chave,
+ * feita na mesma transação da gravação; a reconstrução recalcula tudo a partir de denuncias.
+ *
+ * Denúncias inseridas por SQL direto não passam por aqui, então a subida compara o
+ * total de cada resumo com o de denuncias e reconstrói o que divergir.
+ */
+@Service
+public class ResumoDiarioService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumoDiarioService.class);
+
+    private final ResumoDiarioRepository resumoRepo;
+    private final ComoSoubeTotalRepository comoSoubeRepo;
+    private final DenunciaRepository denunciaRepo;
+    private final AgregacoesJdbc agregacoes;
+    private final TransactionTemplate transactionTemplate;
+
+    public ResumoDiarioService(
+            ResumoDiarioRepository resumoRepo,
+            ComoSoubeTotalRepository comoSoubeRepo,
+            DenunciaRepository denunciaRepo,
+            AgregacoesJdbc agregacoes,
+            PlatformTransactionManager transactionManager) {
+        this.resumoRepo = resumoRepo;
+        this.comoSoubeRepo = comoSoubeRepo;
+        this.denunciaRepo = denunciaRepo;
+        this.agregacoes = agregacoes;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ==========================================
+    // 🔹 CARGA E RECONSTRUÇÃO
+    // ==========================================
+
+    // Reconstrói na subida os resumos que não batem com denuncias: primeira subida,
+    // ou denúncias gravadas por fora da aplicação (data.sql, scripts de carga)
+    public void carregar() {
+        long denuncias = denunciaRepo.contarComData();
+        if (resumoRepo.somarTotal() != denuncias) {
+            reconstruir();
+        }
+        if (comoSoubeRepo.somarTotal() != denunciaRepo.count()) {
+            reconstruirComoSoube();
+        }
+    }
+
+    // Recalcula o resumo inteiro a partir de denuncias (carga inicial ou reparo)
+    public int reconstruir() {
+        Integer total = transactionTemplate.execute(status -> {
+            List<ResumoDiario> linhas = new ArrayList<>();
+            for (Object[] linha : denunciaRepo.agregarPorDiaBancoTipo()) {
+                ResumoDiarioId id = new ResumoDiarioId(
+                        (LocalDate) linha[0],
+                        ((Number) linha[1]).intValue(),
+                        ((Number) linha[2]).intValue());
+                linhas.add(new ResumoDiario(
+                        id,
+                        ((Number) linha[3]).longValue(),
+                        ((Number) linha[4]).doubleValue(),
+                        ((Number) linha[5]).longValue(),
+                        linha[6] == null ? 0L : ((Number) linha[6]).longValue()));
+            }
+            resumoRepo.deleteAllInBatch();
+            // Com a tabela vazia o upsert só insere, em lote e fora da sessão JPA
+            somarResumos(linhas);
+            return linhas.size();
+        });
+        log.info("Resumo diário de denúncias recalculado: {} linhas", total);
+        reconstruirComoSoube();
+        return total == null ? 0 : total;
+    }
+
+    // Textos que só diferem nos espaços somam na mesma linha, como no índice de facetas
+    private void reconstruirComoSoube() {
+        Integer total = transactionTemplate.execute(status -> {
+            Map<String, Long> porRotulo = new TreeMap<>();
+            for (Object[] linha : denunciaRepo.contarPorComoSoube()) {
+                porRotulo.merge(FacetasDenunciasService.rotuloComoSoube((String) linha[0]),
+                        ((Number) linha[1]).longValue(), Long::sum);
+            }
+            comoSoubeRepo.deleteAllInBatch();
+            somarComoSoube(porRotulo);
+            return porRotulo.size();
+        });
+        log.info("Totais de \"como soube\" recalculados: {} linhas", total);
+    }
+
+    // ==========================================
+    // 🔹 ATUALIZAÇÃO
+    // ==========================================
+
+    // Deve ser chamado dentro da transação que gravou as denúncias
+    public void registrar(List<Denuncia> denuncias) {
+        Map<ResumoDiarioId, ResumoDiario> porChave = new LinkedHashMap<>();
+        Map<String, Long> porComoSoube = new TreeMap<>();
+        for (Denuncia d : denuncias) {
+            porComoSoube.merge(FacetasDenunciasService.rotuloComoSoube(d.getComoSoube()), 1L, Long::sum);
+            LocalDateTime quando = d.getData_denuncia() != null ? d.getData_denuncia() : LocalDateTime.now();
+            ResumoDiarioId id = new ResumoDiarioId(
+                    quando.toLocalDate(),
+                    d.getBanco() != null ? d.getBanco().getId_banco() : ResumoDiarioId.SEM_REFERENCIA,
+                    d.getTipoGolpe() != null ? d.getTipoGolpe().getId_tipo() : ResumoDiarioId.SEM_REFERENCIA);
+            ResumoDiario delta = porChave.computeIfAbsent(id, k -> new ResumoDiario(k, 0L, 0.0, 0L, 0L));
+            somar(delta, 1, d.getValor() != null ? d.getValor() : 0.0, d.getValor() != null ? 1 : 0,
+                    Boolean.TRUE.equals(d.getBoletim()) ? 1 : 0);
+        }
+
+        somarResumos(porChave.values());
+        somarComoSoube(porComoSoube);
+    }
+
+    // Um upsert por chave: a primeira denúncia do dia/banco/tipo cria a linha sem disputar com outra
+    private void somarResumos(Collection<ResumoDiario> deltas) {
+        List<Object[]> linhas = new ArrayList<>(deltas.size());
+        for (ResumoDiario delta : deltas) {
+            ResumoDiarioId id = delta.getId();
+            linhas.add(new Object[] { id.getDia(), id.getIdBanco(), id.getIdTipo(),
+                    delta.getTotal(), delta.getSomaValor(), delta.getTotalComValor(), delta.getTotalBoletim() });
+        }
+        agregacoes.somar("denuncias_resumo_diario",
+                List.of("dia", "id_banco", "id_tipo"),
+                List.of("total", "soma_valor", "total_com_valor", "total_boletim"),
+                linhas);
+    }
+
+    private void somarComoSoube(Map<String, Long> porRotulo) {
+        List<Object[]> linhas = new ArrayList<>(porRotulo.size());
+        porRotulo.forEach((rotulo, total) -> linhas.add(new Object[] { rotulo, total }));
+        agregacoes.somar("denuncias_como_soube", List.of("como_soube"), List.of("total"), linhas);
+    }
+
+    private static void somar(ResumoDiario r, long total, double valor, long comValor, long boletim) {
+        r.setTotal(r.getTotal() + total);
+        r.setSomaValor(r.getSomaValor() + valor);
+        r.setTotalComValor(r.getTotalComValor() + comValor);
+        r.setTotalBoletim(r.getTotalBoletim() + boletim);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.entities.ContatoRisco;
+import com.example.InfoCheck.entities.Denuncia;
+import com.example.InfoCheck.repository.ContatoRiscoRepository;
+import com.example.InfoCheck.repository.DenunciaRepository;
+import com.example.InfoCheck.util.DecaimentoExponencial;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pontuação de risco por contato com decaimento exponencial (meia-vida configurável).
+ * Cada denúncia atualiza a linha do contato em O(1) na mesma transação da gravação,
+ * e a leitura só aplica o decaimento até agora - sem agregar o histórico.
+ * Uma cópia em memória evita ir ao banco na verificação de contato.
+ */
+@Service
+public class RiscoContatoService {
+
+    private static final Logger log = LoggerFactory.getLogger(RiscoContatoService.class);
+
+    // Denúncias lidas por página na reconstrução
+    private static final int LOTE_RECONSTRUCAO = 1000;
+
+    public record Risco(double pontuacao, String nivel) {
+    }
+
+    private record Pontuacao(double valor, LocalDateTime referencia) {
+    }
+
+    private final ContatoRiscoRepository riscoRepo;
+    private final DenunciaRepository denunciaRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration meiaVida;
+    private final double limiteAtencao;
+    private final double limiteRisco;
+    private final double limiteAltoRisco;
+
+    private final Map<String, Pontuacao> pontuacoes = new ConcurrentHashMap<>();
+    private volatile boolean pronto = false;
+
+    public RiscoContatoService(
+            ContatoRiscoRepository riscoRepo,
+            DenunciaRepository denunciaRepo,
+            PlatformTransactionManager transactionManager,
+            @Value("${infocheck.contatos.risco.meia-vida-dias:30}") double meiaVidaDias,
+            @Value("${infocheck.contatos.risco.limite-atencao:0.5}") double limiteAtencao,
+            @Value("${infocheck.contatos.risco.limite-risco:2.5}") double limiteRisco,
+            @Value("${infocheck.contatos.risco.limite-alto-risco:5.5}") double limiteAltoRisco) {
+        this.riscoRepo = riscoRepo;
+        this.denunciaRepo = denunciaRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meiaVida = Duration.ofMillis((long) (meiaVidaDias * Duration.ofDays(1).toMillis()));
+        this.limiteAtencao = limiteAtencao;
+        this.limiteRisco = limiteRisco;
+        this.limiteAltoRisco = limiteAltoRisco;
+    }
+
+    // ==========================================
+    // 🔹 CARGA
+    // ==========================================
+    public void carregar() {
+        // Denúncias inseridas por SQL direto (data.sql, cargas) não pontuaram: recalcula
+        if (riscoRepo.somarDenuncias() != denunciaRepo.contarHistoricoContatos()) {
+            reconstruir();
+        }
+        Map<String, Pontuacao> carregadas = new HashMap<>();
+        for (ContatoRisco risco : riscoRepo.findAll()) {
+            carregadas.put(risco.getContatoNormalizado(), new Pontuacao(risco.getPontuacao(), risco.getAtualizadoEm()));
+        }
+        pontuacoes.clear();
+        pontuacoes.putAll(carregadas);
+        pronto = true;
+        log.info("Pontuações de risco carregadas: {} contatos", carregadas.size());
+    }
+
+    // Recalcula contatos_risco a partir do histórico de denúncias (carga inicial ou reparo).
+    // Lê por páginas de id: a memória acompanha o número de contatos, não o de denúncias
+    public int reconstruir() {
+        Integer total = transactionTemplate.execute(status -> {
+            Map<String, ContatoRisco> recalculados = new HashMap<>();
+            int aposId = 0;
+            while (true) {
+                List<Object[]> pagina = denunciaRepo.findHistoricoContatos(aposId, PageRequest.of(0, LOTE_RECONSTRUCAO));
+                for (Object[] linha : pagina) {
+                    String contato = (String) linha[1];
+                    LocalDateTime quando = (LocalDateTime) linha[2];
+                    aplicar(recalculados.computeIfAbsent(contato, c -> new ContatoRisco(c, 0.0, null, 0L)), quando);
+                }
+                if (pagina.size() < LOTE_RECONSTRUCAO) {
+                    break;
+                }
+                aposId = (Integer) pagina.get(pagina.size() - 1)[0];
+            }
+            riscoRepo.deleteAllInBatch();
+            riscoRepo.inserir(recalculados.values());
+            return recalculados.size();
+        });
+        log.info("Pontuações de risco recalculadas para {} contatos", total);
+        return total == null ? 0 : total;
+    }
+
+    // ==========================================
+    // 🔹 ATUALIZAÇÃO
+    // ==========================================
+
+    // Deve ser chamado dentro da transação que gravou as denúncias.
+    // Devolve as linhas atualizadas para publicar em memória depois do commit.
+    public List<ContatoRisco> registrar(List<Denuncia> denuncias) {
+        // Pontuação do lote por contato, valendo na denúncia mais recente do contato;
+        // o repositório soma com a guardada num comando (ou bloqueando, fora do PostgreSQL)
+        Map<String, ContatoRisco> lote = new HashMap<>();
+        for (Denuncia d : denuncias) {
+            if (d.getContatoNormalizado() != null) {
+                LocalDateTime quando = d.getData_denuncia() != null ? d.getData_denuncia() : LocalDateTime.now();
+                aplicar(lote.computeIfAbsent(d.getContatoNormalizado(), c -> new ContatoRisco(c, 0.0, null, 0L)), quando);
+            }
+        }
+        return riscoRepo.somar(lote.values(), meiaVida);
+    }
+
+    public void publicar(List<ContatoRisco> atualizados) {
+        for (ContatoRisco risco : atualizados) {
+            pontuacoes.put(risco.getContatoNormalizado(), new Pontuacao(risco.getPontuacao(), risco.getAtualizadoEm()));
+        }
+    }
+
+    private void aplicar(ContatoRisco risco, LocalDateTime quando) {
+        double pontuacao = DecaimentoExponencial.somarEvento(risco.getPontuacao(), risco.getAtualizadoEm(), quando, meiaVida);
+        risco.setPontuacao(pontuacao);
+        if (risco.getAtualizadoEm() == null || quando.isAfter(risco.getAtualizadoEm())) {
+            risco.setAtualizadoEm(quando);
+        }
+        risco.setTotalDenuncias(risco.getTotalDenuncias() + 1);
+    }
+
+    // ==========================================
+    // 🔹 CONSULTA
+    // ==========================================
+    public Risco avaliar(String contatoNormalizado) {
+        Pontuacao atual;
+        if (pronto) {
+            atual = pontuacoes.get(contatoNormalizado);
+        } else {
+            atual = riscoRepo.findById(contatoNormalizado)
+                    .map(r -> new Pontuacao(r.getPontuacao(), r.getAtualizadoEm()))
+                    .orElse(null);
+        }
+        double pontuacao = atual == null
+                ? 0
+                : DecaimentoExponencial.decair(atual.valor(), atual.referencia(), LocalDateTime.now(), meiaVida);
+        return new Risco(pontuacao, nivel(pontuacao));
+    }
+
+    public String nivel(double pontuacao) {
+        if (pontuacao >= limiteAltoRisco) {
+            return "Alto risco";
+        } else if (pontuacao >= limiteRisco) {
+            return "Risco";
+        } else if (pontuacao >= limiteAtencao) {
+            return "Atenção";
+        }
+        return "Sem denúncias recentes";
+    }
+}
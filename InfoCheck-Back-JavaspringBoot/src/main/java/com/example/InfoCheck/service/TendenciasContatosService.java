@@ -0,0 +1,96 @@
+package com.example.InfoCheck.service;
+
+import com.example.InfoCheck.dtos.ContatoTendenciaDTO;
+import com.example.InfoCheck.repository.DenunciaRepository;
+import com.example.InfoCheck.util.TopKJanelaDeslizante;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contatos mais denunciados e mais consultados "agora", por janelas deslizantes
+ * de 1h, 24h e 7d. Cada janela usa fatias de Space-Saving com capacidade fixa,
+ * então a memória não cresce com o número de contatos distintos.
+ */
+@Service
+public class TendenciasContatosService {
+
+    private static final Logger log = LoggerFactory.getLogger(TendenciasContatosService.class);
+
+    public static final List<String> JANELAS = List.of("1h", "24h", "7d");
+
+    private final DenunciaRepository denunciaRepo;
+    private final Map<String, TopKJanelaDeslizante> denuncias;
+    private final Map<String, TopKJanelaDeslizante> consultas;
+
+    public TendenciasContatosService(
+            DenunciaRepository denunciaRepo,
+            @Value("${infocheck.contatos.tendencias.capacidade:200}") int capacidade) {
+        this.denunciaRepo = denunciaRepo;
+        this.denuncias = novasJanelas(capacidade);
+        this.consultas = novasJanelas(capacidade);
+    }
+
+    // 1h em fatias de 5 min, 24h em fatias de 1h, 7d em fatias de 6h
+    private static Map<String, TopKJanelaDeslizante> novasJanelas(int capacidade) {
+        return Map.of(
+                "1h", new TopKJanelaDeslizante(Duration.ofHours(1), 12, capacidade),
+                "24h", new TopKJanelaDeslizante(Duration.ofHours(24), 24, capacidade),
+                "7d", new TopKJanelaDeslizante(Duration.ofDays(7), 28, capacidade));
+    }
+
+    // Reaproveita as denúncias dos últimos 7 dias para o ranking não começar vazio
+    public void carregar() {
+        List<Object[]> recentes = denunciaRepo.findContatosDesde(LocalDateTime.now().minusDays(7));
+        for (Object[] linha : recentes) {
+            registrar(denuncias, (String) linha[0], paraMillis((LocalDateTime) linha[1]));
+        }
+        log.info("Tendências de contatos carregadas com {} denúncias recentes", recentes.size());
+    }
+
+    public void registrarDenuncia(String contatoNormalizado) {
+        registrar(denuncias, contatoNormalizado, System.currentTimeMillis());
+    }
+
+    public void registrarConsulta(String contatoNormalizado) {
+        registrar(consultas, contatoNormalizado, System.currentTimeMillis());
+    }
+
+    public List<ContatoTendenciaDTO> top(String janela, String fonte, int limite) {
+        if (!JANELAS.contains(janela)) {
+            throw new IllegalArgumentException("Janela inválida. Use: " + String.join(", ", JANELAS));
+        }
+        Map<String, TopKJanelaDeslizante> origem;
+        if ("denuncias".equalsIgnoreCase(fonte)) {
+            origem = denuncias;
+        } else if ("consultas".equalsIgnoreCase(fonte)) {
+            origem = consultas;
+        } else {
+            throw new IllegalArgumentException("Fonte inválida. Use: denuncias, consultas");
+        }
+        return origem.get(janela).top(limite, System.currentTimeMillis()).stream()
+                .map(i -> new ContatoTendenciaDTO(i.item(), i.contagem(), i.erro()))
+                .toList();
+    }
+
+    private static void registrar(Map<String, TopKJanelaDeslizante> janelas, String contato, long instante) {
+        if (contato == null || contato.isEmpty()) {
+            return;
+        }
+        for (TopKJanelaDeslizante janela : janelas.values()) {
+            janela.adicionar(contato, instante);
+        }
+    }
+
+    private static long paraMillis(LocalDateTime dataHora) {
+        return dataHora.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.InfoCheck.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BK-tree (árvore de Burkhard-Keller) sobre a distância de Levenshtein.
+ * A desigualdade triangular permite descartar subárvores inteiras, então a busca
+ * por termos a distância <= d visita só uma fração dos nós.
+ *
+ * Cada nó guarda os valores associados ao mesmo termo. Não é thread-safe:
+ * quem usa deve sincronizar escrita e leitura.
+ */
+public class ArvoreBK<V> {
+
+    public record Resultado<V>(String termo, V valor, int distancia) {
+    }
+
+    private static class No<V> {
+        final String termo;
+        final List<V> valores = new ArrayList<>(1);
+        final Map<Integer, No<V>> filhos = new HashMap<>();
+
+        No(String termo) {
+            this.termo = termo;
+        }
+    }
+
+    private No<V> raiz;
+    private int tamanho;
+
+    public void adicionar(String termo, V valor) {
+        if (raiz == null) {
+            raiz = new No<>(termo);
+            raiz.valores.add(valor);
+            tamanho++;
+            return;
+        }
+        No<V> atual = raiz;
+        while (true) {
+            int distancia = levenshtein(termo, atual.termo);
+            if (distancia == 0) {
+                atual.valores.add(valor);
+                return;
+            }
+            No<V> filho = atual.filhos.get(distancia);
+            if (filho == null) {
+                No<V> novo = new No<>(termo);
+                novo.valores.add(valor);
+                atual.filhos.put(distancia, novo);
+                tamanho++;
+                return;
+            }
+            atual = filho;
+        }
+    }
+
+    public List<Resultado<V>> buscar(String termo, int distanciaMaxima) {
+        List<Resultado<V>> resultados = new ArrayList<>();
+        if (raiz == null) {
+            return resultados;
+        }
+        Deque<No<V>> pendentes = new ArrayDeque<>();
+        pendentes.push(raiz);
+        while (!pendentes.isEmpty()) {
+            No<V> no = pendentes.pop();
+            int distancia = levenshtein(termo, no.termo);
+            if (distancia <= distanciaMaxima) {
+                for (V valor : no.valores) {
+                    resultados.add(new Resultado<>(no.termo, valor, distancia));
+                }
+            }
+            // Só filhos com aresta em [d - max, d + max] podem conter resultados
+            for (Map.Entry<Integer, No<V>> filho : no.filhos.entrySet()) {
+                int aresta = filho.getKey();
+                if (aresta >= distancia - distanciaMaxima && aresta <= distancia + distanciaMaxima) {
+                    pendentes.push(filho.getValue());
+                }
+            }
+        }
+        return resultados;
+    }
+
+    // Termos distintos na árvore
+    public int tamanho() {
+        return tamanho;
+    }
+
+    // Levenshtein com duas linhas de programação dinâmica
+    public static int levenshtein(String a, String b) {
+        int[] anterior = new int[b.length() + 1];
+        int[] atual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            atual[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int custo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                atual[j] = Math.min(Math.min(atual[j - 1] + 1, anterior[j] + 1), anterior[j - 1] + custo);
+            }
+            int[] troca = anterior;
+            anterior = atual;
+            atual = troca;
+        }
+        return anterior[b.length()];
+    }
+}
@@ -0,0 +1,410 @@
+package com.example.InfoCheck.util;
+
+import java.util.Arrays;
+
+/**
+ * Bitmap comprimido de inteiros não negativos no estilo Roaring.
+ * Os 16 bits altos escolhem um contêiner; cada contêiner guarda os 16 bits baixos
+ * como vetor ordenado (até 4096 valores, 2 bytes cada) ou como mapa de 65536 bits
+ * (8 KB), o que for menor. AND/OR trabalham contêiner a contêiner, pulando faixas
+ * que só existem em um dos lados.
+ *
+ * Não é thread-safe: quem usa deve sincronizar escrita e leitura.
+ */
+public class BitmapComprimido {
+
+    // Acima disso o vetor ocupa mais que o mapa de bits
+    private static final int LIMITE_VETOR = 4096;
+
+    private char[] chaves = new char[4];
+    private Conteiner[] conteineres = new Conteiner[4];
+    private int tamanho;
+
+    public void adicionar(int valor) {
+        if (valor < 0) {
+            throw new IllegalArgumentException("Só valores não negativos");
+        }
+        char chave = (char) (valor >>> 16);
+        int i = buscarChave(chave);
+        if (i >= 0) {
+            conteineres[i] = conteineres[i].adicionar((char) valor);
+        } else {
+            inserir(-i - 1, chave, new ConteinerVetor().adicionar((char) valor));
+        }
+    }
+
+    public boolean contem(int valor) {
+        if (valor < 0) {
+            return false;
+        }
+        int i = buscarChave((char) (valor >>> 16));
+        return i >= 0 && conteineres[i].contem((char) valor);
+    }
+
+    public long cardinalidade() {
+        long total = 0;
+        for (int i = 0; i < tamanho; i++) {
+            total += conteineres[i].cardinalidade();
+        }
+        return total;
+    }
+
+    public boolean isVazio() {
+        return tamanho == 0;
+    }
+
+    public static BitmapComprimido e(BitmapComprimido a, BitmapComprimido b) {
+        BitmapComprimido resultado = new BitmapComprimido();
+        int i = 0;
+        int j = 0;
+        while (i < a.tamanho && j < b.tamanho) {
+            if (a.chaves[i] < b.chaves[j]) {
+                i++;
+            } else if (a.chaves[i] > b.chaves[j]) {
+                j++;
+            } else {
+                Conteiner c = a.conteineres[i].e(b.conteineres[j]);
+                if (c.cardinalidade() > 0) {
+                    resultado.inserir(resultado.tamanho, a.chaves[i], c);
+                }
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    public static BitmapComprimido ou(BitmapComprimido a, BitmapComprimido b) {
+        BitmapComprimido resultado = new BitmapComprimido();
+        int i = 0;
+        int j = 0;
+        while (i < a.tamanho || j < b.tamanho) {
+            if (j >= b.tamanho || (i < a.tamanho && a.chaves[i] < b.chaves[j])) {
+                resultado.inserir(resultado.tamanho, a.chaves[i], a.conteineres[i].copia());
+                i++;
+            } else if (i >= a.tamanho || a.chaves[i] > b.chaves[j]) {
+                resultado.inserir(resultado.tamanho, b.chaves[j], b.conteineres[j].copia());
+                j++;
+            } else {
+                resultado.inserir(resultado.tamanho, a.chaves[i], a.conteineres[i].ou(b.conteineres[j]));
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    // |a AND b| sem montar o bitmap intermediário
+    public static long cardinalidadeE(BitmapComprimido a, BitmapComprimido b) {
+        long total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.tamanho && j < b.tamanho) {
+            if (a.chaves[i] < b.chaves[j]) {
+                i++;
+            } else if (a.chaves[i] > b.chaves[j]) {
+                j++;
+            } else {
+                total += a.conteineres[i].cardinalidadeE(b.conteineres[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    // Bytes ocupados pelos contêineres (aproximado, sem cabeçalhos de objeto)
+    public long tamanhoEmBytes() {
+        long total = tamanho * 2L;
+        for (int i = 0; i < tamanho; i++) {
+            total += conteineres[i].tamanhoEmBytes();
+        }
+        return total;
+    }
+
+    private int buscarChave(char chave) {
+        // Inserções chegam quase sempre na última faixa (ids crescentes)
+        if (tamanho > 0 && chaves[tamanho - 1] == chave) {
+            return tamanho - 1;
+        }
+        return Arrays.binarySearch(chaves, 0, tamanho, chave);
+    }
+
+    private void inserir(int posicao, char chave, Conteiner conteiner) {
+        if (tamanho == chaves.length) {
+            chaves = Arrays.copyOf(chaves, tamanho * 2);
+            conteineres = Arrays.copyOf(conteineres, tamanho * 2);
+        }
+        System.arraycopy(chaves, posicao, chaves, posicao + 1, tamanho - posicao);
+        System.arraycopy(conteineres, posicao, conteineres, posicao + 1, tamanho - posicao);
+        chaves[posicao] = chave;
+        conteineres[posicao] = conteiner;
+        tamanho++;
+    }
+
+    // ==========================================
+    // 🔹 CONTÊINERES
+    // ==========================================
+    private abstract static class Conteiner {
+        abstract Conteiner adicionar(char valor);
+
+        abstract boolean contem(char valor);
+
+        abstract int cardinalidade();
+
+        abstract Conteiner e(Conteiner outro);
+
+        abstract Conteiner ou(Conteiner outro);
+
+        abstract int cardinalidadeE(Conteiner outro);
+
+        abstract Conteiner copia();
+
+        abstract long tamanhoEmBytes();
+    }
+
+    private static final class ConteinerVetor extends Conteiner {
+        char[] valores;
+        int n;
+
+        ConteinerVetor() {
+            this(new char[4], 0);
+        }
+
+        ConteinerVetor(char[] valores, int n) {
+            this.valores = valores;
+            this.n = n;
+        }
+
+        @Override
+        Conteiner adicionar(char valor) {
+            int i = (n > 0 && valores[n - 1] < valor) ? -(n + 1) : Arrays.binarySearch(valores, 0, n, valor);
+            if (i >= 0) {
+                return this;
+            }
+            if (n == LIMITE_VETOR) {
+                return paraMapa().adicionar(valor);
+            }
+            int posicao = -i - 1;
+            if (n == valores.length) {
+                valores = Arrays.copyOf(valores, Math.min(LIMITE_VETOR, Math.max(4, n * 2)));
+            }
+            System.arraycopy(valores, posicao, valores, posicao + 1, n - posicao);
+            valores[posicao] = valor;
+            n++;
+            return this;
+        }
+
+        @Override
+        boolean contem(char valor) {
+            return Arrays.binarySearch(valores, 0, n, valor) >= 0;
+        }
+
+        @Override
+        int cardinalidade() {
+            return n;
+        }
+
+        @Override
+        Conteiner e(Conteiner outro) {
+            char[] resultado = new char[n];
+            int k = 0;
+            if (outro instanceof ConteinerVetor v) {
+                int i = 0;
+                int j = 0;
+                while (i < n && j < v.n) {
+                    if (valores[i] < v.valores[j]) {
+                        i++;
+                    } else if (valores[i] > v.valores[j]) {
+                        j++;
+                    } else {
+                        resultado[k++] = valores[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    if (outro.contem(valores[i])) {
+                        resultado[k++] = valores[i];
+                    }
+                }
+            }
+            return new ConteinerVetor(resultado, k);
+        }
+
+        @Override
+        Conteiner ou(Conteiner outro) {
+            if (outro instanceof ConteinerMapa) {
+                return outro.ou(this);
+            }
+            ConteinerVetor v = (ConteinerVetor) outro;
+            char[] resultado = new char[n + v.n];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < n || j < v.n) {
+                if (j >= v.n || (i < n && valores[i] < v.valores[j])) {
+                    resultado[k++] = valores[i++];
+                } else if (i >= n || valores[i] > v.valores[j]) {
+                    resultado[k++] = v.valores[j++];
+                } else {
+                    resultado[k++] = valores[i];
+                    i++;
+                    j++;
+                }
+            }
+            ConteinerVetor uniao = new ConteinerVetor(resultado, k);
+            return k > LIMITE_VETOR ? uniao.paraMapa() : uniao;
+        }
+
+        @Override
+        int cardinalidadeE(Conteiner outro) {
+            if (outro instanceof ConteinerMapa) {
+                return outro.cardinalidadeE(this);
+            }
+            ConteinerVetor v = (ConteinerVetor) outro;
+            int total = 0;
+            int i = 0;
+            int j = 0;
+            while (i < n && j < v.n) {
+                if (valores[i] < v.valores[j]) {
+                    i++;
+                } else if (valores[i] > v.valores[j]) {
+                    j++;
+                } else {
+                    total++;
+                    i++;
+                    j++;
+                }
+            }
+            return total;
+        }
+
+        @Override
+        Conteiner copia() {
+            return new ConteinerVetor(Arrays.copyOf(valores, Math.max(n, 1)), n);
+        }
+
+        @Override
+        long tamanhoEmBytes() {
+            return valores.length * 2L;
+        }
+
+        ConteinerMapa paraMapa() {
+            ConteinerMapa mapa = new ConteinerMapa();
+            for (int i = 0; i < n; i++) {
+                mapa.ligar(valores[i]);
+            }
+            return mapa;
+        }
+    }
+
+    private static final class ConteinerMapa extends Conteiner {
+        final long[] palavras = new long[1024];
+        int cardinalidade;
+
+        boolean ligar(char valor) {
+            long mascara = 1L << valor;
+            int i = valor >>> 6;
+            if ((palavras[i] & mascara) != 0) {
+                return false;
+            }
+            palavras[i] |= mascara;
+            cardinalidade++;
+            return true;
+        }
+
+        @Override
+        Conteiner adicionar(char valor) {
+            ligar(valor);
+            return this;
+        }
+
+        @Override
+        boolean contem(char valor) {
+            return (palavras[valor >>> 6] & (1L << valor)) != 0;
+        }
+
+        @Override
+        int cardinalidade() {
+            return cardinalidade;
+        }
+
+        @Override
+        Conteiner e(Conteiner outro) {
+            if (outro instanceof ConteinerVetor) {
+                return outro.e(this);
+            }
+            ConteinerMapa m = (ConteinerMapa) outro;
+            ConteinerMapa resultado = new ConteinerMapa();
+            for (int i = 0; i < 1024; i++) {
+                resultado.palavras[i] = palavras[i] & m.palavras[i];
+                resultado.cardinalidade += Long.bitCount(resultado.palavras[i]);
+            }
+            return resultado.cardinalidade <= LIMITE_VETOR ? resultado.paraVetor() : resultado;
+        }
+
+        @Override
+        Conteiner ou(Conteiner outro) {
+            ConteinerMapa resultado = (ConteinerMapa) copia();
+            if (outro instanceof ConteinerVetor v) {
+                for (int i = 0; i < v.n; i++) {
+                    resultado.ligar(v.valores[i]);
+                }
+            } else {
+                ConteinerMapa m = (ConteinerMapa) outro;
+                resultado.cardinalidade = 0;
+                for (int i = 0; i < 1024; i++) {
+                    resultado.palavras[i] |= m.palavras[i];
+                    resultado.cardinalidade += Long.bitCount(resultado.palavras[i]);
+                }
+            }
+            return resultado;
+        }
+
+        @Override
+        int cardinalidadeE(Conteiner outro) {
+            int total = 0;
+            if (outro instanceof ConteinerVetor v) {
+                for (int i = 0; i < v.n; i++) {
+                    if (contem(v.valores[i])) {
+                        total++;
+                    }
+                }
+            } else {
+                ConteinerMapa m = (ConteinerMapa) outro;
+                for (int i = 0; i < 1024; i++) {
+                    total += Long.bitCount(palavras[i] & m.palavras[i]);
+                }
+            }
+            return total;
+        }
+
+        @Override
+        Conteiner copia() {
+            ConteinerMapa copia = new ConteinerMapa();
+            System.arraycopy(palavras, 0, copia.palavras, 0, 1024);
+            copia.cardinalidade = cardinalidade;
+            return copia;
+        }
+
+        @Override
+        long tamanhoEmBytes() {
+            return 8192;
+        }
+
+        ConteinerVetor paraVetor() {
+            char[] valores = new char[Math.max(cardinalidade, 1)];
+            int k = 0;
+            for (int i = 0; i < 1024; i++) {
+                long palavra = palavras[i];
+                while (palavra != 0) {
+                    valores[k++] = (char) ((i << 6) + Long.numberOfTrailingZeros(palavra));
+                    palavra &= palavra - 1;
+                }
+            }
+            return new ConteinerVetor(valores, k);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.InfoCheck.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache em memória com tamanho máximo e remoção do item usado há mais tempo (LRU),
+ * com contadores de acertos, faltas e remoções.
+ *
+ * Valores nulos não são guardados: uma chave inexistente volta a consultar a origem.
+ * A carga roda fora da trava; se a chave for invalidada durante a carga, o valor
+ * carregado é devolvido mas não fica no cache.
+ */
+public class CacheLimitado<K, V> {
+
+    private final int capacidade;
+    private final LinkedHashMap<K, V> itens;
+    private long geracao;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    public CacheLimitado(int capacidade) {
+        this.capacidade = Math.max(1, capacidade);
+        this.itens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> maisAntigo) {
+                if (size() > CacheLimitado.this.capacidade) {
+                    remocoes.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V obter(K chave, Function<K, V> carregar) {
+        long geracaoCarga;
+        synchronized (this) {
+            V valor = itens.get(chave);
+            if (valor != null) {
+                acertos.increment();
+                return valor;
+            }
+            geracaoCarga = geracao;
+        }
+        faltas.increment();
+        V carregado = carregar.apply(chave);
+        if (carregado != null) {
+            synchronized (this) {
+                if (geracao == geracaoCarga) {
+                    itens.put(chave, carregado);
+                }
+            }
+        }
+        return carregado;
+    }
+
+    public synchronized void invalidar(K chave) {
+        geracao++;
+        itens.remove(chave);
+    }
+
+    public synchronized void limpar() {
+        geracao++;
+        itens.clear();
+    }
+
+    public synchronized int tamanho() {
+        return itens.size();
+    }
+
+    public Map<String, Object> estatisticas() {
+        long a = acertos.sum();
+        long f = faltas.sum();
+        Map<String, Object> dados = new LinkedHashMap<>();
+        dados.put("itens", tamanho());
+        dados.put("capacidade", capacidade);
+        dados.put("acertos", a);
+        dados.put("faltas", f);
+        dados.put("remocoes", remocoes.sum());
+        dados.put("taxaAcerto", a + f == 0 ? 0.0 : (double) a / (a + f));
+        return dados;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.InfoCheck.util;
+
+/**
+ * Prefixos de CEP usados na agregação regional.
+ * Nível 1 = região postal (1º dígito) ... nível 5 = setor + subsetor (5 dígitos).
+ */
+public final class CepRegiao {
+
+    public static final int NIVEL_MAXIMO = 5;
+
+    private CepRegiao() {
+    }
+
+    // Primeiros 5 dígitos do CEP; null quando o CEP não tem 5 dígitos
+    public static String prefixo(String cep) {
+        if (cep == null) {
+            return null;
+        }
+        StringBuilder digitos = new StringBuilder(NIVEL_MAXIMO);
+        for (int i = 0; i < cep.length() && digitos.length() < NIVEL_MAXIMO; i++) {
+            char c = cep.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.length() == NIVEL_MAXIMO ? digitos.toString() : null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.InfoCheck.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Regra única de normalização de contatos (telefone, e-mail, site).
+ * Usada na gravação da coluna contato_normalizado e em todas as consultas por contato.
+ */
+public final class ContatoNormalizador {
+
+    // Remove espaços, traços, parênteses e pontos
+    private static final Pattern SEPARADORES = Pattern.compile("[\\s\\-\\(\\)\\.]");
+
+    private ContatoNormalizador() {
+    }
+
+    public static String normalizar(String contato) {
+        if (contato == null) {
+            return "";
+        }
+        return SEPARADORES.matcher(contato.trim()).replaceAll("").toLowerCase();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.InfoCheck.util;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Pontuação com decaimento exponencial: cada evento soma 1 e o total cai pela metade
+ * a cada meia-vida. Guardando (pontuação, instante) a atualização é O(1):
+ * p(t2) = p(t1) * 2^(-(t2 - t1) / meiaVida).
+ */
+public final class DecaimentoExponencial {
+
+    private DecaimentoExponencial() {
+    }
+
+    public static double decair(double pontuacao, LocalDateTime de, LocalDateTime ate, Duration meiaVida) {
+        if (pontuacao == 0 || de == null || ate == null || !ate.isAfter(de)) {
+            return pontuacao;
+        }
+        double meiasVidas = (double) Duration.between(de, ate).toMillis() / meiaVida.toMillis();
+        return pontuacao * Math.pow(2, -meiasVidas);
+    }
+
+    // Soma um evento ocorrido em "quando" a uma pontuação registrada em "referencia".
+    // Eventos fora de ordem (anteriores à referência) entram já decaídos.
+    public static double somarEvento(double pontuacao, LocalDateTime referencia, LocalDateTime quando, Duration meiaVida) {
+        if (referencia == null || !quando.isBefore(referencia)) {
+            return decair(pontuacao, referencia, quando, meiaVida) + 1;
+        }
+        return pontuacao + decair(1, quando, referencia, meiaVida);
+    }
+}
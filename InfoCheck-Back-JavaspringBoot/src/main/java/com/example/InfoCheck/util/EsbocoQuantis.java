@@ -0,0 +1,155 @@
+package com.example.InfoCheck.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Esboço de quantis com erro relativo garantido (no estilo do DDSketch).
+ * Cada valor positivo cai no balde ceil(log_gamma(v)); o quantil devolvido fica a
+ * no máximo "precisao" (relativo) do valor real. Dois esboços com a mesma precisão
+ * se combinam somando os baldes, então meses e dimensões podem ser unidos sem
+ * reler os dados. Valores <= 0 ficam num contador separado.
+ *
+ * O número de baldes cresce com log(max/min), não com a quantidade de valores:
+ * de R$ 1 a R$ 1 bilhão são ~1000 baldes com 1% de precisão.
+ * Não é thread-safe.
+ */
+public class EsbocoQuantis {
+
+    public static final double PRECISAO_PADRAO = 0.01;
+
+    private final double precisao;
+    private final double gamma;
+    private final double logGamma;
+    private final TreeMap<Integer, Long> baldes = new TreeMap<>();
+    private long zeros;
+    private long total;
+
+    public EsbocoQuantis() {
+        this(PRECISAO_PADRAO);
+    }
+
+    public EsbocoQuantis(double precisao) {
+        if (precisao <= 0 || precisao >= 1) {
+            throw new IllegalArgumentException("Precisão deve estar entre 0 e 1");
+        }
+        this.precisao = precisao;
+        this.gamma = (1 + precisao) / (1 - precisao);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void adicionar(double valor) {
+        adicionar(valor, 1);
+    }
+
+    public void adicionar(double valor, long vezes) {
+        if (valor <= 0 || Double.isNaN(valor)) {
+            zeros += vezes;
+        } else {
+            baldes.merge((int) Math.ceil(Math.log(valor) / logGamma), vezes, Long::sum);
+        }
+        total += vezes;
+    }
+
+    public void combinar(EsbocoQuantis outro) {
+        if (outro.precisao != precisao) {
+            throw new IllegalArgumentException("Esboços com precisões diferentes não podem ser combinados");
+        }
+        outro.baldes.forEach((balde, contagem) -> baldes.merge(balde, contagem, Long::sum));
+        zeros += outro.zeros;
+        total += outro.total;
+    }
+
+    // q em [0, 1]; NaN quando o esboço está vazio
+    public double quantil(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantil deve estar entre 0 e 1");
+        }
+        if (total == 0) {
+            return Double.NaN;
+        }
+        long posicao = (long) Math.floor(q * (total - 1));
+        if (posicao < zeros) {
+            return 0;
+        }
+        long acumulado = zeros;
+        for (Map.Entry<Integer, Long> balde : baldes.entrySet()) {
+            acumulado += balde.getValue();
+            if (acumulado > posicao) {
+                // Ponto do balde (gamma^(i-1), gamma^i] com erro relativo <= precisao
+                return 2 * Math.pow(gamma, balde.getKey()) / (gamma + 1);
+            }
+        }
+        return 2 * Math.pow(gamma, baldes.lastKey()) / (gamma + 1);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public double getPrecisao() {
+        return precisao;
+    }
+
+    // ==========================================
+    // 🔹 SERIALIZAÇÃO
+    // ==========================================
+
+    // Formato: precisao (double), zeros (varint), nº de baldes (varint) e, por balde,
+    // a diferença para o índice anterior (varint zigzag) e a contagem (varint)
+    public byte[] serializar() {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(16 + baldes.size() * 3);
+        byte[] cabecalho = ByteBuffer.allocate(8).putDouble(precisao).array();
+        saida.writeBytes(cabecalho);
+        escreverVarint(saida, zeros);
+        escreverVarint(saida, baldes.size());
+        int anterior = 0;
+        for (Map.Entry<Integer, Long> balde : baldes.entrySet()) {
+            int delta = balde.getKey() - anterior;
+            escreverVarint(saida, (delta << 1) ^ (delta >> 31));
+            escreverVarint(saida, balde.getValue());
+            anterior = balde.getKey();
+        }
+        return saida.toByteArray();
+    }
+
+    public static EsbocoQuantis desserializar(byte[] dados) {
+        ByteBuffer entrada = ByteBuffer.wrap(dados);
+        EsbocoQuantis esboco = new EsbocoQuantis(entrada.getDouble());
+        esboco.zeros = lerVarint(entrada);
+        esboco.total = esboco.zeros;
+        long quantidade = lerVarint(entrada);
+        int anterior = 0;
+        for (long i = 0; i < quantidade; i++) {
+            int zigzag = (int) lerVarint(entrada);
+            int balde = anterior + ((zigzag >>> 1) ^ -(zigzag & 1));
+            long contagem = lerVarint(entrada);
+            esboco.baldes.put(balde, contagem);
+            esboco.total += contagem;
+            anterior = balde;
+        }
+        return esboco;
+    }
+
+    private static void escreverVarint(ByteArrayOutputStream saida, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            saida.write((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        saida.write((int) valor);
+    }
+
+    private static long lerVarint(ByteBuffer entrada) {
+        long valor = 0;
+        int deslocamento = 0;
+        byte b;
+        do {
+            b = entrada.get();
+            valor |= (long) (b & 0x7F) << deslocamento;
+            deslocamento += 7;
+        } while ((b & 0x80) != 0);
+        return valor;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.InfoCheck.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom thread-safe para strings.
+ * "Não contém" é sempre correto; "talvez contenha" erra com a taxa configurada
+ * enquanto o número de inserções não passar da capacidade.
+ */
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long totalBits;
+    private final int totalHashes;
+    private final long capacidade;
+    private final AtomicLong insercoes = new AtomicLong();
+    private final AtomicLong bitsLigados = new AtomicLong();
+
+    public FiltroBloom(long capacidade, double taxaFalsoPositivo) {
+        if (capacidade <= 0 || taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva e a taxa entre 0 e 1");
+        }
+        // m = -n ln p / (ln 2)^2 ; k = m/n ln 2
+        long m = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, ((m + 63) / 64) * 64);
+        this.capacidade = capacidade;
+        this.totalBits = m;
+        this.totalHashes = Math.max(1, (int) Math.round((double) m / capacidade * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (m / 64));
+    }
+
+    public void adicionar(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= totalHashes; i++) {
+            ligar(indice(h1, h2, i));
+        }
+        insercoes.incrementAndGet();
+    }
+
+    public boolean podeConter(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= totalHashes; i++) {
+            long bit = indice(h1, h2, i);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getTotalBits() {
+        return totalBits;
+    }
+
+    public int getTotalHashes() {
+        return totalHashes;
+    }
+
+    public long getCapacidade() {
+        return capacidade;
+    }
+
+    public long getInsercoes() {
+        return insercoes.get();
+    }
+
+    public double getTaxaOcupacao() {
+        return (double) bitsLigados.get() / totalBits;
+    }
+
+    // Taxa de falso positivo esperada com a ocupação atual: ocupacao^k
+    public double getTaxaFalsoPositivoEstimada() {
+        return Math.pow(getTaxaOcupacao(), totalHashes);
+    }
+
+    public boolean isSaturado() {
+        return insercoes.get() > capacidade;
+    }
+
+    private long indice(int h1, int h2, int i) {
+        int combinado = h1 + i * h2;
+        if (combinado < 0) {
+            combinado = ~combinado;
+        }
+        return combinado % totalBits;
+    }
+
+    private void ligar(long bit) {
+        int posicao = (int) (bit >>> 6);
+        long mascara = 1L << bit;
+        while (true) {
+            long atual = bits.get(posicao);
+            if ((atual & mascara) != 0) {
+                return;
+            }
+            if (bits.compareAndSet(posicao, atual, atual | mascara)) {
+                bitsLigados.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    // FNV-1a 64 bits seguido do finalizador do MurmurHash3 para espalhar os bits
+    private static long hash64(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.InfoCheck.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de autocomplete imutável: termos (nome e apelidos de cada item) sem acento
+ * e em minúsculas, com um mapa ordenado de palavras (busca por prefixo de palavra)
+ * e trigramas (busca por trecho).
+ *
+ * Ordem do resultado: termo que começa com a busca, depois palavra que começa com
+ * a busca, depois trecho; nome antes de apelido, termo mais curto primeiro.
+ * Para atualizar, monte outro índice e troque a referência.
+ */
+public class IndiceAutocomplete<T> {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private static final int PREFIXO = 3;
+    private static final int PALAVRA = 2;
+    private static final int TRECHO = 1;
+
+    private record Termo(int item, String texto, String[] palavras, boolean apelido) {
+    }
+
+    private record Resultado(int item, int nivel, boolean apelido, int tamanho, String texto) {
+    }
+
+    private final List<T> itens = new ArrayList<>();
+    private final List<Termo> termos = new ArrayList<>();
+    private final NavigableMap<String, BitSet> palavras = new TreeMap<>();
+    private final Map<String, BitSet> trigramas = new HashMap<>();
+
+    // ==========================================
+    // 🔹 MONTAGEM
+    // ==========================================
+
+    // nomes e apelidos já podem vir com acento e maiúsculas: são dobrados aqui
+    public void adicionar(T item, List<String> nomes, List<String> apelidos) {
+        int indice = itens.size();
+        itens.add(item);
+        nomes.forEach(n -> adicionarTermo(indice, n, false));
+        apelidos.forEach(a -> adicionarTermo(indice, a, true));
+    }
+
+    private void adicionarTermo(int item, String original, boolean apelido) {
+        String texto = dobrar(original);
+        if (texto.isEmpty()) {
+            return;
+        }
+        int id = termos.size();
+        String[] partes = texto.split(" ");
+        termos.add(new Termo(item, texto, partes, apelido));
+        for (String palavra : partes) {
+            palavras.computeIfAbsent(palavra, k -> new BitSet()).set(id);
+        }
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            trigramas.computeIfAbsent(texto.substring(i, i + 3), k -> new BitSet()).set(id);
+        }
+    }
+
+    // ==========================================
+    // 🔹 BUSCA
+    // ==========================================
+    public List<T> buscar(String consulta, int limite) {
+        String q = dobrar(consulta);
+        if (q.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        String[] tokens = q.split(" ");
+
+        // Candidatos: termos com palavra começando pelo primeiro token, mais os que contêm
+        // todos os trigramas da busca (busca curta demais para trigramas fica só no prefixo)
+        BitSet candidatos = new BitSet();
+        palavras.subMap(tokens[0], true, tokens[0] + Character.MAX_VALUE, false)
+                .values().forEach(candidatos::or);
+        if (q.length() >= 3) {
+            BitSet comTrigramas = null;
+            for (int i = 0; i + 3 <= q.length(); i++) {
+                BitSet termosDoTrigrama = trigramas.get(q.substring(i, i + 3));
+                if (termosDoTrigrama == null) {
+                    comTrigramas = new BitSet();
+                    break;
+                }
+                if (comTrigramas == null) {
+                    comTrigramas = (BitSet) termosDoTrigrama.clone();
+                } else {
+                    comTrigramas.and(termosDoTrigrama);
+                }
+            }
+            candidatos.or(comTrigramas);
+        }
+
+        // Melhor termo de cada item
+        Map<Integer, Resultado> melhores = new HashMap<>();
+        for (int id = candidatos.nextSetBit(0); id >= 0; id = candidatos.nextSetBit(id + 1)) {
+            Termo termo = termos.get(id);
+            int nivel = nivel(termo, q, tokens);
+            if (nivel == 0) {
+                continue;
+            }
+            Resultado r = new Resultado(termo.item(), nivel, termo.apelido(), termo.texto().length(), termo.texto());
+            melhores.merge(termo.item(), r, (a, b) -> ORDEM.compare(a, b) <= 0 ? a : b);
+        }
+
+        return melhores.values().stream()
+                .sorted(ORDEM)
+                .limit(limite)
+                .map(r -> itens.get(r.item()))
+                .toList();
+    }
+
+    private static final Comparator<Resultado> ORDEM = Comparator
+            .comparingInt(Resultado::nivel).reversed()
+            .thenComparing(Resultado::apelido)
+            .thenComparingInt(Resultado::tamanho)
+            .thenComparing(Resultado::texto);
+
+    private static int nivel(Termo termo, String q, String[] tokens) {
+        if (termo.texto().startsWith(q)) {
+            return PREFIXO;
+        }
+        // Cada palavra da busca começa alguma palavra do termo ("banc bras" -> "banco do brasil")
+        boolean todasPalavras = true;
+        for (String token : tokens) {
+            boolean achou = false;
+            for (String palavra : termo.palavras()) {
+                if (palavra.startsWith(token)) {
+                    achou = true;
+                    break;
+                }
+            }
+            if (!achou) {
+                todasPalavras = false;
+                break;
+            }
+        }
+        if (todasPalavras) {
+            return PALAVRA;
+        }
+        return termo.texto().contains(q) ? TRECHO : 0;
+    }
+
+    public int tamanho() {
+        return itens.size();
+    }
+
+    // "Itaú Unibanco S.A." -> "itau unibanco s a"
+    public static String dobrar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcento = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcento.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // Iniciais das palavras, sem preposições: "Caixa Econômica Federal" -> "cef"
+    public static String sigla(String nome) {
+        String[] partes = dobrar(nome).split(" ");
+        if (partes.length < 2) {
+            return "";
+        }
+        StringBuilder sigla = new StringBuilder();
+        Arrays.stream(partes)
+                .filter(p -> !p.isEmpty() && !List.of("de", "do", "da", "dos", "das", "e").contains(p))
+                .forEach(p -> sigla.append(p.charAt(0)));
+        return sigla.length() >= 2 ? sigla.toString() : "";
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.InfoCheck.util;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Índice de termos para busca por prefixo e por trecho.
+ * Prefixo = faixa no conjunto ordenado de termos.
+ * Trecho = listas invertidas de n-gramas (n = tamanho mínimo da busca): cada n-grama
+ * aponta para os termos que o contêm; a busca percorre só a menor lista entre os
+ * n-gramas do trecho e confirma cada termo com contains.
+ *
+ * Cada termo ocupa uma entrada por posição (O(L)), sem guardar cópias dos seus sufixos.
+ */
+public class IndiceTrechos {
+
+    private final int tamanhoMinimo;
+    private final ConcurrentSkipListSet<String> termos = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<String, Set<String>> ngramas = new ConcurrentHashMap<>();
+
+    // Termos e buscas menores que tamanhoMinimo não são indexados (buscas curtas demais são recusadas)
+    public IndiceTrechos(int tamanhoMinimo) {
+        this.tamanhoMinimo = Math.max(1, tamanhoMinimo);
+    }
+
+    public void adicionar(String termo) {
+        if (termo == null || termo.length() < tamanhoMinimo || !termos.add(termo)) {
+            return;
+        }
+        for (int i = 0; i + tamanhoMinimo <= termo.length(); i++) {
+            ngramas.computeIfAbsent(termo.substring(i, i + tamanhoMinimo), k -> ConcurrentHashMap.newKeySet()).add(termo);
+        }
+    }
+
+    public int getTamanhoMinimo() {
+        return tamanhoMinimo;
+    }
+
+    public int tamanho() {
+        return termos.size();
+    }
+
+    // Todos os termos que começam com o prefixo, em ordem alfabética
+    public Stream<String> buscarPorPrefixo(String prefixo) {
+        return termos.subSet(prefixo, true, prefixo + Character.MAX_VALUE, false).stream();
+    }
+
+    // Todos os termos que contêm o trecho, sem ordem definida
+    public Stream<String> buscarPorTrecho(String trecho) {
+        if (trecho.length() < tamanhoMinimo) {
+            return Stream.empty();
+        }
+        Set<String> menor = null;
+        for (int i = 0; i + tamanhoMinimo <= trecho.length(); i++) {
+            Set<String> lista = ngramas.get(trecho.substring(i, i + tamanhoMinimo));
+            if (lista == null) {
+                return Stream.empty();
+            }
+            if (menor == null || lista.size() < menor.size()) {
+                menor = lista;
+            }
+        }
+        if (trecho.length() == tamanhoMinimo) {
+            return menor.stream();
+        }
+        return menor.stream().filter(termo -> termo.contains(trecho));
+    }
+}
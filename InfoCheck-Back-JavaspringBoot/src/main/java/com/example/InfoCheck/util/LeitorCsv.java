@@ -0,0 +1,125 @@
+package com.example.InfoCheck.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) registro a registro, sem carregar o arquivo inteiro.
+ * Aceita campos entre aspas com separador, quebra de linha e aspas duplicadas ("")
+ * dentro deles. O separador é escolhido por quem cria o leitor (',' ou ';').
+ *
+ * Não é thread-safe.
+ */
+public class LeitorCsv {
+
+    private final Reader entrada;
+    private final char separador;
+    private final char[] buffer = new char[8192];
+    private int posicao;
+    private int limite;
+    private int linhaAtual = 1;
+    private int linhaRegistro;
+    private boolean fim;
+
+    public LeitorCsv(Reader entrada, char separador) {
+        this.entrada = entrada;
+        this.separador = separador;
+    }
+
+    // Próximo registro ou null no fim da entrada; linhas em branco são puladas
+    public List<String> proximo() throws IOException {
+        while (true) {
+            if (fim) {
+                return null;
+            }
+            linhaRegistro = linhaAtual;
+            List<String> campos = lerRegistro();
+            if (campos != null && !(campos.size() == 1 && campos.get(0).isEmpty())) {
+                return campos;
+            }
+        }
+    }
+
+    // Linha (a partir de 1) em que começa o último registro devolvido
+    public int getLinha() {
+        return linhaRegistro;
+    }
+
+    private List<String> lerRegistro() throws IOException {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        boolean leuAlgo = false;
+        while (true) {
+            int c = ler();
+            if (c < 0) {
+                fim = true;
+                if (!leuAlgo) {
+                    return null;
+                }
+                if (entreAspas) {
+                    throw new IllegalArgumentException("Aspas não fechadas no registro da linha " + linhaRegistro);
+                }
+                campos.add(campo.toString());
+                return campos;
+            }
+            leuAlgo = true;
+            char ch = (char) c;
+            if (entreAspas) {
+                if (ch == '"') {
+                    if (espiar() == '"') {
+                        ler();
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                    }
+                } else {
+                    if (ch == '\n') {
+                        linhaAtual++;
+                    }
+                    campo.append(ch);
+                }
+            } else if (ch == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (ch == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r' && espiar() == '\n') {
+                    ler();
+                }
+                linhaAtual++;
+                campos.add(campo.toString());
+                return campos;
+            } else {
+                campo.append(ch);
+            }
+        }
+    }
+
+    private int ler() throws IOException {
+        if (posicao == limite && !preencher()) {
+            return -1;
+        }
+        return buffer[posicao++];
+    }
+
+    private int espiar() throws IOException {
+        if (posicao == limite && !preencher()) {
+            return -1;
+        }
+        return buffer[posicao];
+    }
+
+    private boolean preencher() throws IOException {
+        int lidos = entrada.read(buffer, 0, buffer.length);
+        if (lidos <= 0) {
+            return false;
+        }
+        posicao = 0;
+        limite = lidos;
+        return true;
+    }
+}
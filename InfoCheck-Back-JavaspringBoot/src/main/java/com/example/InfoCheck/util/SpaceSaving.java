@@ -0,0 +1,67 @@
+package com.example.InfoCheck.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Algoritmo Space-Saving (Metwally et al.) para itens mais frequentes de um fluxo.
+ * Guarda no máximo "capacidade" contadores; quando cheio, o item novo herda o menor
+ * contador (que vira seu erro máximo). Itens com frequência > total/capacidade
+ * nunca são perdidos. Não é thread-safe.
+ */
+public class SpaceSaving {
+
+    public record Contador(long contagem, long erro) {
+    }
+
+    private final int capacidade;
+    private final Map<String, Contador> contadores;
+
+    public SpaceSaving(int capacidade) {
+        this.capacidade = Math.max(1, capacidade);
+        this.contadores = new HashMap<>(this.capacidade * 2);
+    }
+
+    public void adicionar(String item, long peso) {
+        Contador atual = contadores.get(item);
+        if (atual != null) {
+            contadores.put(item, new Contador(atual.contagem() + peso, atual.erro()));
+            return;
+        }
+        if (contadores.size() < capacidade) {
+            contadores.put(item, new Contador(peso, 0));
+            return;
+        }
+        // Substitui o menor contador (capacidade pequena: busca linear é suficiente)
+        String menor = null;
+        long menorContagem = Long.MAX_VALUE;
+        for (Map.Entry<String, Contador> entrada : contadores.entrySet()) {
+            if (entrada.getValue().contagem() < menorContagem) {
+                menorContagem = entrada.getValue().contagem();
+                menor = entrada.getKey();
+            }
+        }
+        contadores.remove(menor);
+        contadores.put(item, new Contador(menorContagem + peso, menorContagem));
+    }
+
+    // Maior contagem que um item ausente pode ter tido: o menor contador quando cheio, senão 0
+    public long getMinimo() {
+        if (contadores.size() < capacidade) {
+            return 0;
+        }
+        long minimo = Long.MAX_VALUE;
+        for (Contador c : contadores.values()) {
+            minimo = Math.min(minimo, c.contagem());
+        }
+        return minimo;
+    }
+
+    public Map<String, Contador> getContadores() {
+        return contadores;
+    }
+
+    public void limpar() {
+        contadores.clear();
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.InfoCheck.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Itens mais frequentes numa janela deslizante: a janela é dividida em fatias
+ * circulares, cada uma com seu próprio Space-Saving. Fatias vencidas são zeradas
+ * na reutilização e a consulta soma as fatias ainda dentro da janela.
+ * Memória: fatias x capacidade, independente do número de itens distintos.
+ *
+ * adicionar() normalmente não bloqueia: só soma 1 num mapa concorrente de pendentes
+ * por fatia. Os pendentes entram nos Space-Saving (já agregados por item) na consulta
+ * ou a cada INTERVALO_CONSOLIDACAO adições, por quem conseguir a trava sem esperar.
+ * Se passarem de MAXIMO_PENDENTES adições sem consolidar, a adição espera a trava,
+ * então a memória dos pendentes fica limitada mesmo sem consultas.
+ */
+public class TopKJanelaDeslizante {
+
+    public record Item(String item, long contagem, long erro) {
+    }
+
+    // Tenta consolidar (sem esperar a trava) a partir de tantas adições pendentes...
+    private static final int INTERVALO_CONSOLIDACAO = 1024;
+    // ...e consolida esperando a trava a partir destas
+    private static final int MAXIMO_PENDENTES = 16 * INTERVALO_CONSOLIDACAO;
+
+    private final long duracaoFatia;
+    private final SpaceSaving[] fatias;
+    private final long[] periodoDaFatia;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<String, Long>> pendentes = new ConcurrentHashMap<>();
+    private final AtomicInteger naoConsolidadas = new AtomicInteger();
+
+    public TopKJanelaDeslizante(Duration janela, int totalFatias, int capacidadePorFatia) {
+        this.duracaoFatia = Math.max(1, janela.toMillis() / totalFatias);
+        this.fatias = new SpaceSaving[totalFatias];
+        this.periodoDaFatia = new long[totalFatias];
+        for (int i = 0; i < totalFatias; i++) {
+            fatias[i] = new SpaceSaving(capacidadePorFatia);
+            periodoDaFatia[i] = -1;
+        }
+    }
+
+    public void adicionar(String item, long instanteMillis) {
+        long periodo = instanteMillis / duracaoFatia;
+        if (periodo < maisAntigoValido(System.currentTimeMillis())) {
+            return;
+        }
+        pendentes.computeIfAbsent(periodo, p -> new ConcurrentHashMap<>()).merge(item, 1L, Long::sum);
+        int total = naoConsolidadas.incrementAndGet();
+        if (total >= MAXIMO_PENDENTES) {
+            lock.lock();
+        } else if (total < INTERVALO_CONSOLIDACAO || !lock.tryLock()) {
+            return;
+        }
+        try {
+            consolidar();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Item> top(int limite, long agoraMillis) {
+        long periodoAtual = agoraMillis / duracaoFatia;
+        Map<String, long[]> somados = new HashMap<>();
+        List<SpaceSaving> validas = new ArrayList<>(fatias.length);
+        List<Long> minimos = new ArrayList<>(fatias.length);
+        lock.lock();
+        try {
+            consolidar();
+            for (int i = 0; i < fatias.length; i++) {
+                long periodo = periodoDaFatia[i];
+                if (periodo < 0 || periodo <= periodoAtual - fatias.length || periodo > periodoAtual) {
+                    continue;
+                }
+                validas.add(fatias[i]);
+                minimos.add(fatias[i].getMinimo());
+                for (Map.Entry<String, SpaceSaving.Contador> entrada : fatias[i].getContadores().entrySet()) {
+                    long[] soma = somados.computeIfAbsent(entrada.getKey(), k -> new long[2]);
+                    soma[0] += entrada.getValue().contagem();
+                    soma[1] += entrada.getValue().erro();
+                }
+            }
+
+            // Numa fatia cheia, um item ausente pode ter tido até o menor contador dela:
+            // soma esse mínimo à estimativa e ao erro, para a contagem real ficar sempre
+            // entre contagem - erro e contagem
+            for (int i = 0; i < validas.size(); i++) {
+                long minimo = minimos.get(i);
+                if (minimo == 0) {
+                    continue;
+                }
+                Map<String, SpaceSaving.Contador> presentes = validas.get(i).getContadores();
+                for (Map.Entry<String, long[]> entrada : somados.entrySet()) {
+                    if (!presentes.containsKey(entrada.getKey())) {
+                        entrada.getValue()[0] += minimo;
+                        entrada.getValue()[1] += minimo;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        List<Item> itens = new ArrayList<>(somados.size());
+        somados.forEach((item, soma) -> itens.add(new Item(item, soma[0], soma[1])));
+        itens.sort(Comparator.comparingLong(Item::contagem).reversed().thenComparing(Item::item));
+        return itens.size() > limite ? new ArrayList<>(itens.subList(0, limite)) : itens;
+    }
+
+    // Passa os pendentes para as fatias; chamado com a trava. O contador zera antes de
+    // esvaziar: uma adição já somada no mapa é consolidada aqui ou conta para a próxima vez
+    private void consolidar() {
+        naoConsolidadas.set(0);
+        long maisAntigo = maisAntigoValido(System.currentTimeMillis());
+        for (Map.Entry<Long, ConcurrentHashMap<String, Long>> porPeriodo : pendentes.entrySet()) {
+            long periodo = porPeriodo.getKey();
+            ConcurrentHashMap<String, Long> contagens = porPeriodo.getValue();
+            if (periodo < maisAntigo) {
+                // Fatia já fora da janela: ninguém mais grava nela
+                pendentes.remove(periodo);
+                continue;
+            }
+            SpaceSaving fatia = fatia(periodo);
+            // remove() é atômico por item: uma soma concorrente cai numa entrada nova, consolidada depois
+            for (String item : contagens.keySet()) {
+                Long quantidade = contagens.remove(item);
+                if (quantidade != null && fatia != null) {
+                    fatia.adicionar(item, quantidade);
+                }
+            }
+        }
+    }
+
+    // Fatia do período, zerada se ainda guardava um período mais antigo; null se já foi reaproveitada
+    private SpaceSaving fatia(long periodo) {
+        int posicao = (int) Math.floorMod(periodo, (long) fatias.length);
+        if (periodoDaFatia[posicao] != periodo) {
+            if (periodoDaFatia[posicao] > periodo) {
+                return null;
+            }
+            fatias[posicao].limpar();
+            periodoDaFatia[posicao] = periodo;
+        }
+        return fatias[posicao];
+    }
+
+    private long maisAntigoValido(long agoraMillis) {
+        return (agoraMillis / duracaoFatia) - fatias.length + 1;
+    }
+}
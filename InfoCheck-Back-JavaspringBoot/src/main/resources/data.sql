@@ -24,24 +24,50 @@ INSERT INTO bancos (nome_banco, cnpj, site_oficial, descricao, data_cadastro) VA
 ON CONFLICT (nome_banco) DO NOTHING;
 
 -- Usuario demo para evitar erro de id inexistente nas denuncias
+-- (só na primeira subida: o data.sql roda a cada inicialização)
 INSERT INTO usuarios (nome, cpf, data_nascimento, senha, cep)
-VALUES ('Usuario Demo','12345678901','1990-01-01','1234','01001000');
+SELECT 'Usuario Demo', '12345678901', DATE '1990-01-01', '1234', '01001000'
+WHERE NOT EXISTS (SELECT 1 FROM usuarios WHERE cpf = '12345678901');
 
--- Tipos de golpe base
-INSERT INTO tipos_golpe (nome_tipo, descricao) VALUES
-('Phishing', 'E-mails ou mensagens falsas para capturar dados pessoais/financeiros'),
-('Golpe do WhatsApp', 'Perfis falsos ou clonados pedindo dinheiro'),
-('Falso boleto', 'Boletos adulterados para desviar pagamento'),
-('Clonagem de cartão', 'Uso indevido dos dados do cartão para compras');
+-- Tipos de golpe base, só os que ainda não existem (o data.sql roda a cada inicialização)
+INSERT INTO tipos_golpe (nome_tipo, descricao)
+SELECT 'Phishing', 'E-mails ou mensagens falsas para capturar dados pessoais/financeiros'
+WHERE NOT EXISTS (SELECT 1 FROM tipos_golpe WHERE nome_tipo = 'Phishing');
+
+INSERT INTO tipos_golpe (nome_tipo, descricao)
+SELECT 'Golpe do WhatsApp', 'Perfis falsos ou clonados pedindo dinheiro'
+WHERE NOT EXISTS (SELECT 1 FROM tipos_golpe WHERE nome_tipo = 'Golpe do WhatsApp');
+
+INSERT INTO tipos_golpe (nome_tipo, descricao)
+SELECT 'Falso boleto', 'Boletos adulterados para desviar pagamento'
+WHERE NOT EXISTS (SELECT 1 FROM tipos_golpe WHERE nome_tipo = 'Falso boleto');
+
+INSERT INTO tipos_golpe (nome_tipo, descricao)
+SELECT 'Clonagem de cartão', 'Uso indevido dos dados do cartão para compras'
+WHERE NOT EXISTS (SELECT 1 FROM tipos_golpe WHERE nome_tipo = 'Clonagem de cartão');
+
+-- Denúncias de exemplo (persistentes), inseridas uma única vez: os resumos só recebem
+-- as denúncias gravadas pela aplicação e são conferidos contra a tabela na subida
+INSERT INTO denuncias (
+  id_usuario, id_banco, id_tipo, contato_denunciado, descricao, valor, boletim,
+  data_golpe_ocorrido, como_soube, tipo_golpe_outro, nome_banco_outro, data_denuncia
+)
+SELECT 1, 1, 1, '+55 11 99999-1111', 'Ligação se passando pelo banco pedindo dados pessoais.', 1500.00, TRUE,
+ DATE '2025-11-01', 'Confirmei no app do banco', NULL, NULL, CURRENT_TIMESTAMP
+WHERE NOT EXISTS (SELECT 1 FROM denuncias WHERE contato_denunciado = '+55 11 99999-1111');
+
+INSERT INTO denuncias (
+  id_usuario, id_banco, id_tipo, contato_denunciado, descricao, valor, boletim,
+  data_golpe_ocorrido, como_soube, tipo_golpe_outro, nome_banco_outro, data_denuncia
+)
+SELECT 1, 3, 2, '+55 11 98888-2222', 'WhatsApp clonado pedindo transferência urgente.', 800.00, FALSE,
+ DATE '2025-10-28', 'Aviso de segurança do banco', NULL, NULL, CURRENT_TIMESTAMP
+WHERE NOT EXISTS (SELECT 1 FROM denuncias WHERE contato_denunciado = '+55 11 98888-2222');
 
--- Denúncias de exemplo (persistentes)
 INSERT INTO denuncias (
   id_usuario, id_banco, id_tipo, contato_denunciado, descricao, valor, boletim,
   data_golpe_ocorrido, como_soube, tipo_golpe_outro, nome_banco_outro, data_denuncia
-) VALUES
-(1, 1, 1, '+55 11 99999-1111', 'Ligação se passando pelo banco pedindo dados pessoais.', 1500.00, TRUE,
- '2025-11-01', 'Confirmei no app do banco', NULL, NULL, CURRENT_TIMESTAMP),
-(1, 3, 2, '+55 11 98888-2222', 'WhatsApp clonado pedindo transferência urgente.', 800.00, FALSE,
- '2025-10-28', 'Aviso de segurança do banco', NULL, NULL, CURRENT_TIMESTAMP),
-(1, 4, 3, 'boleto@falso.com', 'Boleto adulterado enviado por e-mail.', 2300.50, TRUE,
- '2025-09-15', 'Conferi o código de barras com o banco', NULL, NULL, CURRENT_TIMESTAMP);
+)
+SELECT 1, 4, 3, 'boleto@falso.com', 'Boleto adulterado enviado por e-mail.', 2300.50, TRUE,
+ DATE '2025-09-15', 'Conferi o código de barras com o banco', NULL, NULL, CURRENT_TIMESTAMP
+WHERE NOT EXISTS (SELECT 1 FROM denuncias WHERE contato_denunciado = 'boleto@falso.com');
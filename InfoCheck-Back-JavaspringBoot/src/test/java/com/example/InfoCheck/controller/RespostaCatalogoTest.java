@@ -0,0 +1,72 @@
+package com.example.InfoCheck.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.example.InfoCheck.service.InstantaneosCatalogoService.Instantaneo;
+
+class RespostaCatalogoTest {
+
+	private static final byte[] JSON = "[]".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] GZIP = { 0x1f, (byte) 0x8b };
+	private static final Instantaneo INST = new Instantaneo(1, "\"abc\"", JSON, GZIP);
+
+	private static ResponseEntity<byte[]> responder(String seNenhumCasar, String aceitaCodificacao) {
+		return RespostaCatalogo.responder(INST, CacheControl.noCache(), seNenhumCasar, aceitaCodificacao);
+	}
+
+	@Test
+	void semIfNoneMatchDevolveOsBytes() {
+		ResponseEntity<byte[]> r = responder(null, null);
+		assertEquals(HttpStatus.OK, r.getStatusCode());
+		assertEquals("\"abc\"", r.getHeaders().getETag());
+		assertArrayEquals(JSON, r.getBody());
+	}
+
+	@Test
+	void etagIgualOuFracaDevolve304() {
+		assertEquals(HttpStatus.NOT_MODIFIED, responder("\"abc\"", null).getStatusCode());
+		assertEquals(HttpStatus.NOT_MODIFIED, responder("W/\"abc\"", null).getStatusCode());
+		assertEquals(HttpStatus.NOT_MODIFIED, responder("\"velha\", W/\"abc\"", null).getStatusCode());
+		assertEquals(HttpStatus.OK, responder("\"velha\"", null).getStatusCode());
+		assertEquals(HttpStatus.OK, responder("  ", null).getStatusCode());
+	}
+
+	@Test
+	void asteriscoCasaComQualquerVersao() {
+		assertEquals(HttpStatus.NOT_MODIFIED, responder("*", null).getStatusCode());
+		assertEquals(HttpStatus.NOT_MODIFIED, responder("*", "gzip").getStatusCode());
+	}
+
+	@Test
+	void gzipAceitoUsaOutraEtag() {
+		ResponseEntity<byte[]> r = responder(null, "br, GZIP;q=0.8");
+		assertEquals(HttpStatus.OK, r.getStatusCode());
+		assertEquals("gzip", r.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+		assertEquals("\"abc-gz\"", r.getHeaders().getETag());
+		assertArrayEquals(GZIP, r.getBody());
+
+		// A ETag sem gzip não vale para a representação comprimida
+		assertEquals(HttpStatus.OK, responder("\"abc\"", "gzip").getStatusCode());
+		assertEquals(HttpStatus.NOT_MODIFIED, responder("\"abc-gz\"", "gzip").getStatusCode());
+	}
+
+	@Test
+	void gzipComQZeroNaoEhAceito() {
+		for (String cabecalho : new String[] { "gzip;q=0", "gzip; q=0.0", "deflate, gzip;q=0.000", "br" }) {
+			ResponseEntity<byte[]> r = responder(null, cabecalho);
+			assertNull(r.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), cabecalho);
+			assertArrayEquals(JSON, r.getBody(), cabecalho);
+		}
+		assertEquals("gzip", responder(null, "gzip;q=0.5").getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+	}
+}
@@ -0,0 +1,84 @@
+package com.example.InfoCheck.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class ArvoreBKTest {
+
+	@Test
+	void levenshteinCasosConhecidos() {
+		assertEquals(0, ArvoreBK.levenshtein("banco", "banco"));
+		assertEquals(3, ArvoreBK.levenshtein("kitten", "sitting"));
+		assertEquals(5, ArvoreBK.levenshtein("", "itauu"));
+		assertEquals(1, ArvoreBK.levenshtein("nubank", "nubanc"));
+		assertEquals(ArvoreBK.levenshtein("santander", "satnader"), ArvoreBK.levenshtein("satnader", "santander"));
+	}
+
+	@Test
+	void buscaPorRaioIgualAForcaBruta() {
+		Random aleatorio = new Random(42);
+		List<String> termos = new ArrayList<>();
+		ArvoreBK<Integer> arvore = new ArvoreBK<>();
+		for (int i = 0; i < 2_000; i++) {
+			String termo = aleatorio(aleatorio, 3 + aleatorio.nextInt(6));
+			termos.add(termo);
+			arvore.adicionar(termo, i);
+		}
+
+		for (int consulta = 0; consulta < 200; consulta++) {
+			String alvo = aleatorio(aleatorio, 3 + aleatorio.nextInt(6));
+			for (int raio = 0; raio <= 3; raio++) {
+				Set<Integer> esperado = new HashSet<>();
+				for (int i = 0; i < termos.size(); i++) {
+					if (ArvoreBK.levenshtein(alvo, termos.get(i)) <= raio) {
+						esperado.add(i);
+					}
+				}
+				List<ArvoreBK.Resultado<Integer>> resultados = arvore.buscar(alvo, raio);
+				Set<Integer> obtido = resultados.stream().map(ArvoreBK.Resultado::valor).collect(Collectors.toSet());
+				assertEquals(esperado, obtido, "alvo " + alvo + " raio " + raio);
+				for (ArvoreBK.Resultado<Integer> r : resultados) {
+					assertEquals(ArvoreBK.levenshtein(alvo, r.termo()), r.distancia());
+					assertTrue(r.distancia() <= raio);
+				}
+			}
+		}
+	}
+
+	@Test
+	void termoRepetidoGuardaTodosOsValores() {
+		ArvoreBK<String> arvore = new ArvoreBK<>();
+		arvore.adicionar("bradesco", "a");
+		arvore.adicionar("bradesco", "b");
+		arvore.adicionar("bradesko", "c");
+
+		assertEquals(2, arvore.tamanho());
+		Set<String> exatos = arvore.buscar("bradesco", 0).stream()
+				.map(ArvoreBK.Resultado::valor).collect(Collectors.toSet());
+		assertEquals(Set.of("a", "b"), exatos);
+		assertEquals(3, arvore.buscar("bradesco", 1).size());
+	}
+
+	@Test
+	void arvoreVaziaNaoDevolveNada() {
+		assertTrue(new ArvoreBK<Integer>().buscar("itau", 2).isEmpty());
+	}
+
+	// Alfabeto pequeno para gerar muitos termos próximos entre si
+	private static String aleatorio(Random aleatorio, int tamanho) {
+		StringBuilder sb = new StringBuilder(tamanho);
+		for (int i = 0; i < tamanho; i++) {
+			sb.append((char) ('a' + aleatorio.nextInt(4)));
+		}
+		return sb.toString();
+	}
+}
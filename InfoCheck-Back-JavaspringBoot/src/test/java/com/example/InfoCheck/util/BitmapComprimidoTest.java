@@ -0,0 +1,176 @@
+package com.example.InfoCheck.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class BitmapComprimidoTest {
+
+	// Contêineres de 65536 valores; acima de 4096 valores o vetor vira mapa de bits
+	private static final int FAIXA = 1 << 16;
+
+	@Test
+	void adicionarEContemNosDoisTiposDeConteiner() {
+		BitmapComprimido bitmap = new BitmapComprimido();
+		BitSet esperado = new BitSet();
+		// Faixa 0 esparsa, faixa 1 densa (vira mapa), faixa 3 com um valor só
+		for (int i = 0; i < 1_000; i++) {
+			adicionar(bitmap, esperado, i * 37);
+		}
+		for (int i = 0; i < 10_000; i++) {
+			adicionar(bitmap, esperado, FAIXA + i * 3);
+		}
+		adicionar(bitmap, esperado, 3 * FAIXA + 5);
+		// Repetidos não mudam a cardinalidade
+		adicionar(bitmap, esperado, 37);
+		adicionar(bitmap, esperado, FAIXA + 3);
+
+		conferir(esperado, bitmap);
+		assertFalse(bitmap.contem(-1));
+		assertFalse(bitmap.contem(2 * FAIXA));
+	}
+
+	@Test
+	void vetorViraMapaExatamenteNoLimite() {
+		BitmapComprimido bitmap = new BitmapComprimido();
+		BitSet esperado = new BitSet();
+		for (int i = 0; i < 4_096; i++) {
+			adicionar(bitmap, esperado, i * 2);
+		}
+		// Vetor cheio: 4096 x 2 bytes, o mesmo que o mapa
+		assertEquals(8192 + 2, bitmap.tamanhoEmBytes());
+		adicionar(bitmap, esperado, 1);
+		adicionar(bitmap, esperado, 3);
+
+		conferir(esperado, bitmap);
+		assertEquals(8192 + 2, bitmap.tamanhoEmBytes());
+	}
+
+	@Test
+	void eDeDoisMapasComResultadoEsparsoVoltaAVetor() {
+		BitmapComprimido pares = new BitmapComprimido();
+		BitmapComprimido multiplosDeTres = new BitmapComprimido();
+		BitSet a = new BitSet();
+		BitSet b = new BitSet();
+		for (int i = 0; i < FAIXA; i += 2) {
+			adicionar(pares, a, i);
+		}
+		for (int i = 0; i < 20_000; i += 3) {
+			adicionar(multiplosDeTres, b, i);
+		}
+		// Pares só até 20000 em comum com a segunda: ~3334 valores, abaixo do limite do vetor
+		BitmapComprimido resultado = BitmapComprimido.e(pares, multiplosDeTres);
+		BitSet esperado = (BitSet) a.clone();
+		esperado.and(b);
+
+		conferir(esperado, resultado);
+		assertTrue(resultado.tamanhoEmBytes() < 8192);
+		assertEquals(esperado.cardinality(), BitmapComprimido.cardinalidadeE(pares, multiplosDeTres));
+	}
+
+	@Test
+	void ouDeDoisVetoresQuePassaDoLimiteViraMapa() {
+		BitmapComprimido a = new BitmapComprimido();
+		BitmapComprimido b = new BitmapComprimido();
+		BitSet ea = new BitSet();
+		BitSet eb = new BitSet();
+		for (int i = 0; i < 3_000; i++) {
+			adicionar(a, ea, i * 2);
+			adicionar(b, eb, i * 2 + 1);
+		}
+		BitmapComprimido resultado = BitmapComprimido.ou(a, b);
+		BitSet esperado = (BitSet) ea.clone();
+		esperado.or(eb);
+
+		conferir(esperado, resultado);
+		assertEquals(6_000, resultado.cardinalidade());
+		assertEquals(8192 + 2, resultado.tamanhoEmBytes());
+		// Operandos intactos
+		conferir(ea, a);
+		conferir(eb, b);
+	}
+
+	@Test
+	void operacoesAleatoriasIguaisAoBitSet() {
+		Random aleatorio = new Random(13);
+		for (int rodada = 0; rodada < 30; rodada++) {
+			BitSet ea = new BitSet();
+			BitSet eb = new BitSet();
+			BitmapComprimido a = aleatorio(aleatorio, ea);
+			BitmapComprimido b = aleatorio(aleatorio, eb);
+
+			BitSet e = (BitSet) ea.clone();
+			e.and(eb);
+			BitSet ou = (BitSet) ea.clone();
+			ou.or(eb);
+
+			conferir(e, BitmapComprimido.e(a, b));
+			conferir(ou, BitmapComprimido.ou(a, b));
+			assertEquals(e.cardinality(), BitmapComprimido.cardinalidadeE(a, b));
+			assertEquals(e.cardinality(), BitmapComprimido.cardinalidadeE(b, a));
+		}
+	}
+
+	@Test
+	void operacoesComBitmapVazio() {
+		BitmapComprimido vazio = new BitmapComprimido();
+		BitmapComprimido cheio = new BitmapComprimido();
+		BitSet esperado = new BitSet();
+		for (int i = 0; i < 5_000; i++) {
+			adicionar(cheio, esperado, i);
+		}
+
+		assertTrue(BitmapComprimido.e(vazio, cheio).isVazio());
+		assertEquals(0, BitmapComprimido.cardinalidadeE(cheio, vazio));
+		conferir(esperado, BitmapComprimido.ou(vazio, cheio));
+		conferir(esperado, BitmapComprimido.ou(cheio, vazio));
+	}
+
+	@Test
+	void rejeitaNegativos() {
+		assertThrows(IllegalArgumentException.class, () -> new BitmapComprimido().adicionar(-1));
+	}
+
+	// Cada faixa sorteia vazia, esparsa, perto do limite ou densa
+	private static BitmapComprimido aleatorio(Random aleatorio, BitSet espelho) {
+		BitmapComprimido bitmap = new BitmapComprimido();
+		for (int faixa = 0; faixa < 6; faixa++) {
+			int quantidade = switch (aleatorio.nextInt(4)) {
+				case 0 -> 0;
+				case 1 -> aleatorio.nextInt(200);
+				case 2 -> 4_000 + aleatorio.nextInt(200);
+				default -> 20_000 + aleatorio.nextInt(30_000);
+			};
+			for (int i = 0; i < quantidade; i++) {
+				adicionar(bitmap, espelho, faixa * FAIXA + aleatorio.nextInt(FAIXA));
+			}
+		}
+		return bitmap;
+	}
+
+	private static void adicionar(BitmapComprimido bitmap, BitSet espelho, int valor) {
+		bitmap.adicionar(valor);
+		espelho.set(valor);
+	}
+
+	private static void conferir(BitSet esperado, BitmapComprimido bitmap) {
+		assertEquals(esperado.cardinality(), bitmap.cardinalidade());
+		assertEquals(esperado.isEmpty(), bitmap.isVazio());
+		for (int v = esperado.nextSetBit(0); v >= 0; v = esperado.nextSetBit(v + 1)) {
+			assertTrue(bitmap.contem(v), "faltou " + v);
+		}
+		// Vizinhos dos valores e alguns fora de qualquer faixa não podem aparecer
+		for (int v = esperado.nextSetBit(0); v >= 0; v = esperado.nextSetBit(v + 1)) {
+			if (!esperado.get(v + 1)) {
+				assertFalse(bitmap.contem(v + 1), "sobrou " + (v + 1));
+			}
+		}
+		assertFalse(bitmap.contem(100 * FAIXA));
+	}
+}
@@ -0,0 +1,101 @@
+package com.example.InfoCheck.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class EsbocoQuantisTest {
+
+	private static final double[] QUANTIS = { 0, 0.01, 0.25, 0.5, 0.75, 0.9, 0.99, 1 };
+
+	@Test
+	void quantisDentroDaPrecisaoRelativa() {
+		Random aleatorio = new Random(3);
+		double[] valores = new double[20_000];
+		EsbocoQuantis esboco = new EsbocoQuantis();
+		for (int i = 0; i < valores.length; i++) {
+			// Log-normal: de centavos a milhões, como os valores das denúncias
+			valores[i] = Math.exp(aleatorio.nextGaussian() * 3 + 6);
+			esboco.adicionar(valores[i]);
+		}
+		Arrays.sort(valores);
+
+		for (double q : QUANTIS) {
+			double real = valores[(int) Math.floor(q * (valores.length - 1))];
+			double estimado = esboco.quantil(q);
+			assertTrue(Math.abs(estimado - real) <= real * EsbocoQuantis.PRECISAO_PADRAO * 1.0001,
+					"q=" + q + " real=" + real + " estimado=" + estimado);
+		}
+	}
+
+	@Test
+	void serializacaoPreservaOEsboco() {
+		EsbocoQuantis esboco = new EsbocoQuantis(0.02);
+		esboco.adicionar(0, 3);
+		esboco.adicionar(-5);
+		esboco.adicionar(0.25);
+		esboco.adicionar(1);
+		esboco.adicionar(1500.0, 4);
+		esboco.adicionar(2_300_000.5);
+
+		byte[] dados = esboco.serializar();
+		EsbocoQuantis lido = EsbocoQuantis.desserializar(dados);
+
+		assertEquals(esboco.getTotal(), lido.getTotal());
+		assertEquals(esboco.getPrecisao(), lido.getPrecisao());
+		for (double q : QUANTIS) {
+			assertEquals(esboco.quantil(q), lido.quantil(q), "q=" + q);
+		}
+		assertArrayEquals(dados, lido.serializar());
+	}
+
+	@Test
+	void esbocoVazioIdaEVolta() {
+		EsbocoQuantis lido = EsbocoQuantis.desserializar(new EsbocoQuantis().serializar());
+		assertEquals(0, lido.getTotal());
+		assertTrue(Double.isNaN(lido.quantil(0.5)));
+	}
+
+	@Test
+	void combinarEquivaleAAdicionarTudoNoMesmo() {
+		Random aleatorio = new Random(5);
+		EsbocoQuantis janeiro = new EsbocoQuantis();
+		EsbocoQuantis fevereiro = new EsbocoQuantis();
+		EsbocoQuantis unico = new EsbocoQuantis();
+		for (int i = 0; i < 5_000; i++) {
+			double valor = aleatorio.nextInt(10) == 0 ? 0 : aleatorio.nextDouble() * 10_000;
+			(i % 3 == 0 ? janeiro : fevereiro).adicionar(valor);
+			unico.adicionar(valor);
+		}
+
+		// Combina as cópias lidas do banco, como na consulta por intervalo de meses
+		EsbocoQuantis combinado = EsbocoQuantis.desserializar(janeiro.serializar());
+		combinado.combinar(EsbocoQuantis.desserializar(fevereiro.serializar()));
+
+		assertEquals(unico.getTotal(), combinado.getTotal());
+		assertArrayEquals(unico.serializar(), combinado.serializar());
+		for (double q : QUANTIS) {
+			assertEquals(unico.quantil(q), combinado.quantil(q), "q=" + q);
+		}
+	}
+
+	@Test
+	void naoCombinaPrecisoesDiferentes() {
+		EsbocoQuantis a = new EsbocoQuantis(0.01);
+		EsbocoQuantis b = new EsbocoQuantis(0.02);
+		assertThrows(IllegalArgumentException.class, () -> a.combinar(b));
+	}
+
+	@Test
+	void rejeitaParametrosInvalidos() {
+		assertThrows(IllegalArgumentException.class, () -> new EsbocoQuantis(0));
+		assertThrows(IllegalArgumentException.class, () -> new EsbocoQuantis(1));
+		assertThrows(IllegalArgumentException.class, () -> new EsbocoQuantis().quantil(1.5));
+	}
+}
@@ -0,0 +1,83 @@
+package com.example.InfoCheck.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class FiltroBloomTest {
+
+	@Test
+	void semFalsoNegativoDentroDaCapacidade() {
+		FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filtro.adicionar("+55119" + i);
+		}
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(filtro.podeConter("+55119" + i), "falso negativo para " + i);
+		}
+		assertEquals(10_000, filtro.getInsercoes());
+		assertFalse(filtro.isSaturado());
+	}
+
+	@Test
+	void semFalsoNegativoDepoisDeSaturar() {
+		FiltroBloom filtro = new FiltroBloom(100, 0.01);
+		for (int i = 0; i < 5_000; i++) {
+			filtro.adicionar("contato" + i);
+		}
+		assertTrue(filtro.isSaturado());
+		for (int i = 0; i < 5_000; i++) {
+			assertTrue(filtro.podeConter("contato" + i));
+		}
+	}
+
+	@Test
+	void taxaDeFalsoPositivoProximaDaConfigurada() {
+		FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filtro.adicionar("presente" + i);
+		}
+		int falsos = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filtro.podeConter("ausente" + i)) {
+				falsos++;
+			}
+		}
+		assertTrue(falsos < 2_000, "falsos positivos: " + falsos);
+		assertTrue(filtro.getTaxaFalsoPositivoEstimada() < 0.02);
+	}
+
+	@Test
+	void insercoesConcorrentesNaoPerdemBits() throws InterruptedException {
+		FiltroBloom filtro = new FiltroBloom(40_000, 0.01);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			int base = t * 10_000;
+			threads.add(Thread.ofPlatform().start(() -> {
+				for (int i = base; i < base + 10_000; i++) {
+					filtro.adicionar("c" + i);
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (int i = 0; i < 40_000; i++) {
+			assertTrue(filtro.podeConter("c" + i));
+		}
+		assertEquals(40_000, filtro.getInsercoes());
+	}
+
+	@Test
+	void rejeitaParametrosInvalidos() {
+		assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, 0.01));
+		assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(100, 0));
+		assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(100, 1));
+	}
+}
@@ -0,0 +1,59 @@
+package com.example.InfoCheck.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IndiceAutocompleteTest {
+
+	@Test
+	void dobraAcentosMaiusculasESeparadores() {
+		assertEquals("itau unibanco s a", IndiceAutocomplete.dobrar("Itaú Unibanco S.A."));
+		assertEquals("cef", IndiceAutocomplete.sigla("Caixa Econômica Federal"));
+	}
+
+	@Test
+	void buscaIgnoraAcentosNosDoisLados() {
+		IndiceAutocomplete<String> indice = new IndiceAutocomplete<>();
+		indice.adicionar("itau", List.of("Itaú Unibanco"), List.of());
+		indice.adicionar("caixa", List.of("Caixa Economica Federal"), List.of());
+
+		assertEquals(List.of("itau"), indice.buscar("ITAU", 10));
+		assertEquals(List.of("itau"), indice.buscar("itaú", 10));
+		assertEquals(List.of("caixa"), indice.buscar("Econômica", 10));
+	}
+
+	@Test
+	void prefixoAntesDePalavraAntesDeTrecho() {
+		IndiceAutocomplete<String> indice = new IndiceAutocomplete<>();
+		// Inseridos na ordem inversa da esperada
+		indice.adicionar("trecho", List.of("Pinterest Pagamentos"), List.of());
+		indice.adicionar("palavra", List.of("Banco Inter"), List.of());
+		indice.adicionar("prefixo", List.of("Inter Digital"), List.of());
+
+		assertEquals(List.of("prefixo", "palavra", "trecho"), indice.buscar("inter", 10));
+		assertEquals(List.of("prefixo", "palavra"), indice.buscar("inter", 2));
+	}
+
+	@Test
+	void nomeAntesDeApelidoNoMesmoNivel() {
+		IndiceAutocomplete<String> indice = new IndiceAutocomplete<>();
+		indice.adicionar("apelido", List.of("Banco Digital"), List.of("Nubank"));
+		indice.adicionar("nome", List.of("Nubank"), List.of());
+
+		assertEquals(List.of("nome", "apelido"), indice.buscar("nubank", 10));
+	}
+
+	@Test
+	void palavrasDaBuscaCasamComPalavrasDoTermo() {
+		IndiceAutocomplete<String> indice = new IndiceAutocomplete<>();
+		indice.adicionar("bb", List.of("Banco do Brasil"), List.of());
+		indice.adicionar("outro", List.of("Banco Safra"), List.of());
+
+		assertEquals(List.of("bb"), indice.buscar("banc bras", 10));
+		assertTrue(indice.buscar("xyz", 10).isEmpty());
+	}
+}
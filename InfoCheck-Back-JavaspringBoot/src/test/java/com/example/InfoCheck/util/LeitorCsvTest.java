@@ -0,0 +1,64 @@
+package com.example.InfoCheck.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LeitorCsvTest {
+
+	@Test
+	void separadorEntreAspasFicaNoCampo() throws IOException {
+		LeitorCsv leitor = new LeitorCsv(new StringReader("a;\"b;c\";d\n"), ';');
+		assertEquals(List.of("a", "b;c", "d"), leitor.proximo());
+		assertNull(leitor.proximo());
+	}
+
+	@Test
+	void quebraDeLinhaEntreAspasFicaNoCampoEContaALinha() throws IOException {
+		LeitorCsv leitor = new LeitorCsv(new StringReader("1,\"linha um\nlinha dois\"\n2,fim\n"), ',');
+		assertEquals(List.of("1", "linha um\nlinha dois"), leitor.proximo());
+		assertEquals(1, leitor.getLinha());
+		assertEquals(List.of("2", "fim"), leitor.proximo());
+		assertEquals(3, leitor.getLinha());
+	}
+
+	@Test
+	void aspasDuplicadasViramUmaAspa() throws IOException {
+		LeitorCsv leitor = new LeitorCsv(new StringReader("\"disse \"\"oi\"\"\",\"\"\n"), ',');
+		assertEquals(List.of("disse \"oi\"", ""), leitor.proximo());
+	}
+
+	@Test
+	void aspasDuplicadasNaFronteiraDoBuffer() throws IOException {
+		// O par "" cai entre duas leituras do buffer de 8192 caracteres
+		String longo = "x".repeat(8190);
+		LeitorCsv leitor = new LeitorCsv(new StringReader("\"" + longo + "\"\"y\"\n"), ',');
+		assertEquals(List.of(longo + "\"y"), leitor.proximo());
+	}
+
+	@Test
+	void crlfSeparaRegistrosSemSobrarCampoVazio() throws IOException {
+		LeitorCsv leitor = new LeitorCsv(new StringReader("a,b\r\nc,d\r\n\r\ne,f"), ',');
+		assertEquals(List.of("a", "b"), leitor.proximo());
+		assertEquals(List.of("c", "d"), leitor.proximo());
+		assertEquals(2, leitor.getLinha());
+		assertEquals(List.of("e", "f"), leitor.proximo());
+		assertEquals(4, leitor.getLinha());
+		assertNull(leitor.proximo());
+	}
+
+	@Test
+	void aspasNaoFechadasIndicamALinhaDoRegistro() throws IOException {
+		LeitorCsv leitor = new LeitorCsv(new StringReader("ok,1\n\"aberto,2\nresto\n"), ',');
+		assertEquals(List.of("ok", "1"), leitor.proximo());
+		IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, leitor::proximo);
+		assertTrue(erro.getMessage().contains("linha 2"), erro.getMessage());
+	}
+}
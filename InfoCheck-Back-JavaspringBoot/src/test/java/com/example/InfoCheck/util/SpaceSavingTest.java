@@ -0,0 +1,126 @@
+package com.example.InfoCheck.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SpaceSavingTest {
+
+	@Test
+	void exatoAbaixoDaCapacidade() {
+		SpaceSaving esboco = new SpaceSaving(10);
+		esboco.adicionar("a", 3);
+		esboco.adicionar("b", 1);
+		esboco.adicionar("a", 2);
+
+		assertEquals(new SpaceSaving.Contador(5, 0), esboco.getContadores().get("a"));
+		assertEquals(new SpaceSaving.Contador(1, 0), esboco.getContadores().get("b"));
+		assertEquals(0, esboco.getMinimo());
+	}
+
+	@Test
+	void contagemRealFicaEntreEstimativaMenosErroEEstimativa() {
+		Random aleatorio = new Random(7);
+		SpaceSaving esboco = new SpaceSaving(20);
+		Map<String, Long> reais = new HashMap<>();
+		long total = 0;
+		for (int i = 0; i < 50_000; i++) {
+			// Poucos itens muito frequentes no meio de uma cauda longa
+			String item = aleatorio.nextInt(4) == 0 ? "quente" + aleatorio.nextInt(5) : "frio" + aleatorio.nextInt(5_000);
+			esboco.adicionar(item, 1);
+			reais.merge(item, 1L, Long::sum);
+			total++;
+		}
+
+		for (Map.Entry<String, SpaceSaving.Contador> e : esboco.getContadores().entrySet()) {
+			long real = reais.get(e.getKey());
+			assertTrue(e.getValue().contagem() - e.getValue().erro() <= real, e.getKey());
+			assertTrue(real <= e.getValue().contagem(), e.getKey());
+		}
+		// Ausentes nunca passaram do menor contador
+		long minimo = esboco.getMinimo();
+		for (Map.Entry<String, Long> e : reais.entrySet()) {
+			if (!esboco.getContadores().containsKey(e.getKey())) {
+				assertTrue(e.getValue() <= minimo, e.getKey());
+			}
+		}
+		// Frequência acima de total/capacidade nunca se perde
+		for (Map.Entry<String, Long> e : reais.entrySet()) {
+			if (e.getValue() > total / 20) {
+				assertTrue(esboco.getContadores().containsKey(e.getKey()), e.getKey());
+			}
+		}
+	}
+
+	@Test
+	void janelaSomaAsFatiasComLimiteDeErroValido() {
+		long agora = System.currentTimeMillis();
+		TopKJanelaDeslizante janela = new TopKJanelaDeslizante(Duration.ofMinutes(10), 5, 10);
+		Random aleatorio = new Random(11);
+		Map<String, Long> reais = new HashMap<>();
+		for (int i = 0; i < 20_000; i++) {
+			String item = aleatorio.nextInt(3) == 0 ? "q" + aleatorio.nextInt(3) : "f" + aleatorio.nextInt(500);
+			// Espalha pelas fatias ainda dentro da janela
+			long instante = agora - aleatorio.nextInt(4) * Duration.ofMinutes(2).toMillis();
+			janela.adicionar(item, instante);
+			reais.merge(item, 1L, Long::sum);
+		}
+
+		List<TopKJanelaDeslizante.Item> top = janela.top(50, agora);
+		assertEquals(List.of("q0", "q1", "q2"), List.of(top.get(0).item(), top.get(1).item(), top.get(2).item())
+				.stream().sorted().toList());
+		for (TopKJanelaDeslizante.Item item : top) {
+			long real = reais.get(item.item());
+			assertTrue(item.contagem() - item.erro() <= real, item.item());
+			assertTrue(real <= item.contagem(), item.item());
+		}
+	}
+
+	@Test
+	void janelaIgnoraInstantesForaDela() {
+		long agora = System.currentTimeMillis();
+		TopKJanelaDeslizante janela = new TopKJanelaDeslizante(Duration.ofMinutes(10), 5, 10);
+		janela.adicionar("antigo", agora - Duration.ofHours(1).toMillis());
+		janela.adicionar("recente", agora);
+
+		List<TopKJanelaDeslizante.Item> top = janela.top(10, agora);
+		assertEquals(1, top.size());
+		assertEquals(new TopKJanelaDeslizante.Item("recente", 1, 0), top.get(0));
+	}
+
+	@Test
+	void janelaNaoPerdeAdicoesConcorrentes() throws InterruptedException {
+		long agora = System.currentTimeMillis();
+		TopKJanelaDeslizante janela = new TopKJanelaDeslizante(Duration.ofMinutes(10), 5, 100);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			threads.add(Thread.ofPlatform().start(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					janela.adicionar("c" + (i % 10), agora);
+				}
+			}));
+		}
+		// Consultas no meio das adições forçam consolidações concorrentes
+		for (int i = 0; i < 20; i++) {
+			janela.top(10, agora);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		List<TopKJanelaDeslizante.Item> top = janela.top(10, agora);
+		assertEquals(10, top.size());
+		for (TopKJanelaDeslizante.Item item : top) {
+			assertEquals(8_000, item.contagem(), item.item());
+			assertEquals(0, item.erro(), item.item());
+		}
+	}
+}
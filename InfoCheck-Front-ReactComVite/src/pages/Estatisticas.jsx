@@ -6,17 +6,18 @@ import "../styles/Estatisticas.css";
 
 function Estatisticas() {
   const navigate = useNavigate();
-  const [denuncias, setDenuncias] = useState([]);
+  const [dados, setDados] = useState(null);
   const [loading, setLoading] = useState(true);
 
   useEffect(() => {
     const carregar = async () => {
       try {
-        const data = await apiGet("/api/denuncias");
-        setDenuncias(Array.isArray(data) ? data : []);
+        // Agregados calculados no servidor (não baixa todas as denúncias)
+        const data = await apiGet("/api/denuncias/estatisticas");
+        setDados(data);
       } catch (err) {
         console.error("Erro ao carregar estatisticas:", err);
-        setDenuncias([]);
+        setDados(null);
       } finally {
         setLoading(false);
       }
@@ -25,53 +26,19 @@ function Estatisticas() {
   }, []);
 
   const stats = useMemo(() => {
-    const totalDenuncias = denuncias.length;
-
-    const hoje = new Date().toISOString().split("T")[0];
-    const denunciasHoje = denuncias.filter((d) =>
-      d.data_denuncia ? d.data_denuncia.startsWith(hoje) : false
-    ).length;
-
-    const porBanco = new Map();
-    const porTipo = new Map();
-    const porMes = Array(12).fill(0);
-
-    denuncias.forEach((d) => {
-      const bancoNome = d.banco?.nome_banco || d.nomeBancoOutro || "Não informado";
-      porBanco.set(bancoNome, (porBanco.get(bancoNome) || 0) + 1);
-
-      const tipoNome = d.tipoGolpe?.nome_tipo || d.tipoGolpeOutro || "Não informado";
-      porTipo.set(tipoNome, (porTipo.get(tipoNome) || 0) + 1);
-
-      if (d.data_denuncia) {
-        const data = new Date(d.data_denuncia);
-        if (!Number.isNaN(data.getTime())) {
-          porMes[data.getMonth()] += 1;
-        }
-      }
-    });
-
-    const bancoMaisDenunciado =
-      [...porBanco.entries()].sort((a, b) => b[1] - a[1])[0]?.[0] || "N/A";
-    const tipoMaisComum =
-      [...porTipo.entries()].sort((a, b) => b[1] - a[1])[0]?.[0] || "N/A";
-
-    const topBancos = [...porBanco.entries()]
-      .sort((a, b) => b[1] - a[1])
-      .slice(0, 5);
-
-    const tiposDistrib = [...porTipo.entries()].sort((a, b) => b[1] - a[1]);
+    const porBanco = dados?.porBanco || [];
+    const porTipo = dados?.porTipo || [];
 
     return {
-      totalDenuncias,
-      denunciasHoje,
-      bancoMaisDenunciado,
-      tipoMaisComum,
-      porMes,
-      topBancos,
-      tiposDistrib,
+      totalDenuncias: dados?.totalDenuncias || 0,
+      denunciasHoje: dados?.denunciasHoje || 0,
+      bancoMaisDenunciado: porBanco[0]?.nome || "N/A",
+      tipoMaisComum: porTipo[0]?.nome || "N/A",
+      porMes: dados?.porMes || Array(12).fill(0),
+      topBancos: porBanco.slice(0, 5).map((c) => [c.nome, c.total]),
+      tiposDistrib: porTipo.map((c) => [c.nome, c.total]),
     };
-  }, [denuncias]);
+  }, [dados]);
 
   return (
     <div className="estatisticas-container">